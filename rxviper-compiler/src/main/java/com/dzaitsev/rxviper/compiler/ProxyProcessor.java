@@ -0,0 +1,273 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper.compiler;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.TypeVariableName;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+import static java.lang.String.format;
+
+/**
+ * Generates a null-safe delegate for every interface that extends {@code ViewCallbacks} or {@code Router} and is annotated with
+ * {@code GenerateProxy}.
+ * <p>
+ * For an interface {@code com.example.MainViewCallbacks} it generates {@code com.example.MainViewCallbacks_Proxy} that is picked up by
+ * presenters instead of a {@link java.lang.reflect.Proxy dynamic proxy}.
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+@SupportedAnnotationTypes(ProxyProcessor.ANNOTATION)
+public final class ProxyProcessor extends AbstractProcessor {
+  static final String SUFFIX     = "_Proxy";
+  static final String ANNOTATION = "com.dzaitsev.rxviper.GenerateProxy";
+
+  private static final String    PACKAGE         = "com.dzaitsev.rxviper";
+  private static final ClassName GENERATED_PROXY = ClassName.get(PACKAGE, "GeneratedProxy");
+  private static final String    TARGET          = "target";
+
+  private Elements elements;
+  private Types    types;
+  private Filer    filer;
+  private Messager messager;
+
+  @Override
+  public synchronized void init(ProcessingEnvironment processingEnv) {
+    super.init(processingEnv);
+    elements = processingEnv.getElementUtils();
+    types = processingEnv.getTypeUtils();
+    filer = processingEnv.getFiler();
+    messager = processingEnv.getMessager();
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    final TypeElement annotation = elements.getTypeElement(ANNOTATION);
+    if (annotation == null) {
+      return false;
+    }
+    final List<TypeMirror> baseTypes = new ArrayList<>(2);
+    addBaseType(baseTypes, PACKAGE + ".ViewCallbacks");
+    addBaseType(baseTypes, PACKAGE + ".Router");
+    for (TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+      processType(type, baseTypes);
+    }
+    return true;
+  }
+
+  private void addBaseType(List<TypeMirror> baseTypes, String name) {
+    final TypeElement element = elements.getTypeElement(name);
+    if (element != null) {
+      baseTypes.add(types.erasure(element.asType()));
+    }
+  }
+
+  private void processType(TypeElement type, List<TypeMirror> baseTypes) {
+    if (type.getKind() != ElementKind.INTERFACE || !isDelegatable(type, baseTypes)) {
+      messager.printMessage(Diagnostic.Kind.ERROR,
+          format("@GenerateProxy can only be applied to interfaces extending ViewCallbacks or Router, but %s is not one.", type), type);
+      return;
+    }
+    for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+      if (element.getModifiers()
+          .contains(Modifier.PRIVATE)) {
+        messager.printMessage(Diagnostic.Kind.ERROR, format("@GenerateProxy can't be applied to private %s.", type), type);
+        return;
+      }
+    }
+    try {
+      generate(type);
+    } catch (IOException e) {
+      messager.printMessage(Diagnostic.Kind.ERROR, format("Unable to write delegate for %s: %s", type, e.getMessage()), type);
+    }
+  }
+
+  private boolean isDelegatable(TypeElement type, List<TypeMirror> baseTypes) {
+    final TypeMirror erasure = types.erasure(type.asType());
+    for (TypeMirror baseType : baseTypes) {
+      if (!types.isSameType(erasure, baseType) && types.isSubtype(erasure, baseType)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void generate(TypeElement type) throws IOException {
+    final String packageName = elements.getPackageOf(type)
+        .getQualifiedName()
+        .toString();
+    final ClassName interfaceName = ClassName.get(type);
+    final TypeName interfaceType = TypeName.get(type.asType());
+    final TypeSpec.Builder builder = TypeSpec.classBuilder(generatedName(interfaceName))
+        .addOriginatingElement(type)
+        .addModifiers(Modifier.FINAL)
+        .superclass(ParameterizedTypeName.get(GENERATED_PROXY, interfaceType))
+        .addSuperinterface(interfaceType);
+    if (type.getModifiers().contains(Modifier.PUBLIC)) {
+      builder.addModifiers(Modifier.PUBLIC);
+    }
+    for (TypeParameterElement typeParameter : type.getTypeParameters()) {
+      builder.addTypeVariable(TypeVariableName.get(typeParameter));
+    }
+
+    final DeclaredType declaredType = (DeclaredType) type.asType();
+    final Set<String> signatures = new HashSet<>();
+    boolean valid = true;
+    int index = 0;
+    for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+      if (!method.getModifiers().contains(Modifier.ABSTRACT) || isObjectMethod(method) || !signatures.add(signature(method))) {
+        continue;
+      }
+      if (method.getReturnType().getKind() != TypeKind.VOID) {
+        messager.printMessage(Diagnostic.Kind.ERROR,
+            format("Method %s must be void, but returns %s.", method.getSimpleName(), method.getReturnType()), method);
+        valid = false;
+        continue;
+      }
+      final String field = "METHOD_" + index++;
+      builder.addField(methodField(field, interfaceName, method));
+      builder.addMethod(delegateMethod(field, interfaceType, declaredType, method));
+    }
+
+    if (valid) {
+      JavaFile.builder(packageName, builder.build())
+          .addFileComment("Generated code from RxViper. Do not modify!")
+          .skipJavaLangImports(true)
+          .build()
+          .writeTo(filer);
+    }
+  }
+
+  private FieldSpec methodField(String field, ClassName interfaceName, ExecutableElement method) {
+    final CodeBlock.Builder initializer = CodeBlock.builder()
+        .add("method($T.class, $S", interfaceName, method.getSimpleName());
+    for (VariableElement parameter : method.getParameters()) {
+      initializer.add(", $T.class", TypeName.get(types.erasure(parameter.asType())));
+    }
+    return FieldSpec.builder(Method.class, field, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .initializer(initializer.add(")")
+            .build())
+        .build();
+  }
+
+  private MethodSpec delegateMethod(String field, TypeName interfaceType, DeclaredType declaredType, ExecutableElement method) {
+    final List<String> parameters = new ArrayList<>();
+    for (VariableElement parameter : method.getParameters()) {
+      parameters.add(parameter.getSimpleName()
+          .toString());
+    }
+    String target = TARGET;
+    while (parameters.contains(target)) {
+      target += '_';
+    }
+    final String arguments = join(parameters);
+    final CodeBlock dispatch = parameters.isEmpty()
+        ? CodeBlock.of("dispatch($N)", field)
+        : CodeBlock.of("dispatch($N, new Object[] { $L })", field, arguments);
+    return MethodSpec.overriding(method, declaredType, types)
+        .addStatement("final $T $N = target()", interfaceType, target)
+        .beginControlFlow("if ($N != null)", target)
+        .addStatement("$N.$N($L)", target, method.getSimpleName()
+            .toString(), arguments)
+        .nextControlFlow("else")
+        .addStatement(dispatch)
+        .endControlFlow()
+        .build();
+  }
+
+  private boolean isObjectMethod(ExecutableElement method) {
+    final TypeElement object = elements.getTypeElement(Object.class.getCanonicalName());
+    for (ExecutableElement objectMethod : ElementFilter.methodsIn(object.getEnclosedElements())) {
+      if (objectMethod.getModifiers().contains(Modifier.PUBLIC) && signature(objectMethod).equals(signature(method))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private String signature(ExecutableElement method) {
+    final StringBuilder signature = new StringBuilder(method.getSimpleName()).append('(');
+    for (VariableElement parameter : method.getParameters()) {
+      signature.append(types.erasure(parameter.asType()))
+          .append(';');
+    }
+    return signature.append(')')
+        .toString();
+  }
+
+  static String generatedName(ClassName interfaceName) {
+    final StringBuilder name = new StringBuilder();
+    for (String simpleName : interfaceName.simpleNames()) {
+      if (name.length() > 0) {
+        name.append('_');
+      }
+      name.append(simpleName);
+    }
+    return name.append(SUFFIX)
+        .toString();
+  }
+
+  private static String join(List<String> parameters) {
+    final StringBuilder result = new StringBuilder();
+    for (String parameter : parameters) {
+      if (result.length() > 0) {
+        result.append(", ");
+      }
+      result.append(parameter);
+    }
+    return result.toString();
+  }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper.compiler;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+import com.squareup.javapoet.ClassName;
+import javax.tools.JavaFileObject;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static com.google.testing.compile.Compiler.javac;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-21, 16:02
+ */
+public final class ProxyProcessorTest {
+  @Test
+  public void shouldGenerateViewProxy() {
+    final JavaFileObject source = JavaFileObjects.forSourceLines("test.TestViewCallbacks",
+        "package test;",
+        "",
+        "import com.dzaitsev.rxviper.GenerateProxy;",
+        "import com.dzaitsev.rxviper.ViewCallbacks;",
+        "import java.util.List;",
+        "",
+        "@GenerateProxy",
+        "public interface TestViewCallbacks extends ViewCallbacks {",
+        "  void showProgress();",
+        "",
+        "  void showItems(List<String> items, int count);",
+        "}");
+    final JavaFileObject expected = JavaFileObjects.forSourceLines("test.TestViewCallbacks_Proxy",
+        "package test;",
+        "",
+        "import com.dzaitsev.rxviper.GeneratedProxy;",
+        "import java.lang.reflect.Method;",
+        "import java.util.List;",
+        "",
+        "public final class TestViewCallbacks_Proxy extends GeneratedProxy<TestViewCallbacks> implements TestViewCallbacks {",
+        "  private static final Method METHOD_0 = method(TestViewCallbacks.class, \"showProgress\");",
+        "",
+        "  private static final Method METHOD_1 = method(TestViewCallbacks.class, \"showItems\", List.class, int.class);",
+        "",
+        "  @Override",
+        "  public void showProgress() {",
+        "    final TestViewCallbacks target = target();",
+        "    if (target != null) {",
+        "      target.showProgress();",
+        "    } else {",
+        "      dispatch(METHOD_0);",
+        "    }",
+        "  }",
+        "",
+        "  @Override",
+        "  public void showItems(List<String> items, int count) {",
+        "    final TestViewCallbacks target = target();",
+        "    if (target != null) {",
+        "      target.showItems(items, count);",
+        "    } else {",
+        "      dispatch(METHOD_1, new Object[] { items, count });",
+        "    }",
+        "  }",
+        "}");
+
+    final Compilation compilation = javac().withProcessors(new ProxyProcessor())
+        .compile(source);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.TestViewCallbacks_Proxy")
+        .hasSourceEquivalentTo(expected);
+  }
+
+  @Test
+  public void shouldGenerateRouterProxyForInheritedMethods() {
+    final JavaFileObject base = JavaFileObjects.forSourceLines("test.BaseRouter",
+        "package test;",
+        "",
+        "import com.dzaitsev.rxviper.Router;",
+        "",
+        "interface BaseRouter extends Router {",
+        "  void back();",
+        "}");
+    final JavaFileObject source = JavaFileObjects.forSourceLines("test.TestRouter",
+        "package test;",
+        "",
+        "import com.dzaitsev.rxviper.GenerateProxy;",
+        "",
+        "@GenerateProxy",
+        "interface TestRouter extends BaseRouter {",
+        "  void open(String target);",
+        "}");
+    final JavaFileObject expected = JavaFileObjects.forSourceLines("test.TestRouter_Proxy",
+        "package test;",
+        "",
+        "import com.dzaitsev.rxviper.GeneratedProxy;",
+        "import java.lang.reflect.Method;",
+        "",
+        "final class TestRouter_Proxy extends GeneratedProxy<TestRouter> implements TestRouter {",
+        "  private static final Method METHOD_0 = method(TestRouter.class, \"back\");",
+        "",
+        "  private static final Method METHOD_1 = method(TestRouter.class, \"open\", String.class);",
+        "",
+        "  @Override",
+        "  public void back() {",
+        "    final TestRouter target = target();",
+        "    if (target != null) {",
+        "      target.back();",
+        "    } else {",
+        "      dispatch(METHOD_0);",
+        "    }",
+        "  }",
+        "",
+        "  @Override",
+        "  public void open(String target) {",
+        "    final TestRouter target_ = target();",
+        "    if (target_ != null) {",
+        "      target_.open(target);",
+        "    } else {",
+        "      dispatch(METHOD_1, new Object[] { target });",
+        "    }",
+        "  }",
+        "}");
+
+    final Compilation compilation = javac().withProcessors(new ProxyProcessor())
+        .compile(base, source);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.TestRouter_Proxy")
+        .hasSourceEquivalentTo(expected);
+    assertThat(compilation.generatedSourceFiles()).hasSize(1);
+  }
+
+  @Test
+  public void shouldGenerateNestedGenericProxy() {
+    final JavaFileObject source = JavaFileObjects.forSourceLines("test.Screen",
+        "package test;",
+        "",
+        "import com.dzaitsev.rxviper.GenerateProxy;",
+        "import com.dzaitsev.rxviper.ViewCallbacks;",
+        "",
+        "public final class Screen {",
+        "  @GenerateProxy",
+        "  public interface View<T> extends ViewCallbacks {",
+        "    void show(T item, String... tags);",
+        "  }",
+        "",
+        "  public interface Other extends ViewCallbacks {",
+        "    void hide();",
+        "  }",
+        "}");
+    final JavaFileObject expected = JavaFileObjects.forSourceLines("test.Screen_View_Proxy",
+        "package test;",
+        "",
+        "import com.dzaitsev.rxviper.GeneratedProxy;",
+        "import java.lang.reflect.Method;",
+        "",
+        "public final class Screen_View_Proxy<T> extends GeneratedProxy<Screen.View<T>> implements Screen.View<T> {",
+        "  private static final Method METHOD_0 = method(Screen.View.class, \"show\", Object.class, String[].class);",
+        "",
+        "  @Override",
+        "  public void show(T item, String... tags) {",
+        "    final Screen.View<T> target = target();",
+        "    if (target != null) {",
+        "      target.show(item, tags);",
+        "    } else {",
+        "      dispatch(METHOD_0, new Object[] { item, tags });",
+        "    }",
+        "  }",
+        "}");
+
+    final Compilation compilation = javac().withProcessors(new ProxyProcessor())
+        .compile(source);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.Screen_View_Proxy")
+        .hasSourceEquivalentTo(expected);
+    assertThat(compilation.generatedSourceFiles()).hasSize(1);
+  }
+
+  @Test
+  public void shouldIgnoreNotAnnotatedInterfaces() {
+    final JavaFileObject source = JavaFileObjects.forSourceLines("test.TestViewCallbacks",
+        "package test;",
+        "",
+        "import com.dzaitsev.rxviper.ViewCallbacks;",
+        "",
+        "public interface TestViewCallbacks extends ViewCallbacks {",
+        "  void showProgress();",
+        "}");
+
+    final Compilation compilation = javac().withProcessors(new ProxyProcessor())
+        .compile(source);
+    assertThat(compilation).succeeded();
+    assertThat(compilation.generatedSourceFiles()).isEmpty();
+  }
+
+  @Test
+  public void shouldFailOnOtherInterfaces() {
+    final JavaFileObject source = JavaFileObjects.forSourceLines("test.Listener",
+        "package test;",
+        "",
+        "import com.dzaitsev.rxviper.GenerateProxy;",
+        "",
+        "@GenerateProxy",
+        "public interface Listener {",
+        "  void onEvent();",
+        "}");
+
+    final Compilation compilation = javac().withProcessors(new ProxyProcessor())
+        .compile(source);
+    assertThat(compilation).failed();
+    assertThat(compilation).hadErrorContaining(
+        "@GenerateProxy can only be applied to interfaces extending ViewCallbacks or Router, but test.Listener is not one.");
+  }
+
+  @Test
+  public void shouldFailOnPrivateInterfaces() {
+    final JavaFileObject source = JavaFileObjects.forSourceLines("test.Screen",
+        "package test;",
+        "",
+        "import com.dzaitsev.rxviper.GenerateProxy;",
+        "import com.dzaitsev.rxviper.ViewCallbacks;",
+        "",
+        "public final class Screen {",
+        "  @GenerateProxy",
+        "  private interface Hidden extends ViewCallbacks {",
+        "    void hide();",
+        "  }",
+        "}");
+
+    final Compilation compilation = javac().withProcessors(new ProxyProcessor())
+        .compile(source);
+    assertThat(compilation).failed();
+    assertThat(compilation).hadErrorContaining("@GenerateProxy can't be applied to private test.Screen.Hidden.");
+  }
+
+  @Test
+  public void shouldFailOnNonVoidMethod() {
+    final JavaFileObject source = JavaFileObjects.forSourceLines("test.TestViewCallbacks",
+        "package test;",
+        "",
+        "import com.dzaitsev.rxviper.GenerateProxy;",
+        "import com.dzaitsev.rxviper.ViewCallbacks;",
+        "",
+        "@GenerateProxy",
+        "public interface TestViewCallbacks extends ViewCallbacks {",
+        "  Object getObject();",
+        "}");
+
+    final Compilation compilation = javac().withProcessors(new ProxyProcessor())
+        .compile(source);
+    assertThat(compilation).failed();
+    assertThat(compilation).hadErrorContaining("Method getObject must be void, but returns java.lang.Object.");
+  }
+
+  @Test
+  public void shouldJoinNestedNames() {
+    assertThat(ProxyProcessor.generatedName(ClassName.get("test", "Outer", "Inner"))).isEqualTo("Outer_Inner_Proxy");
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import rx.Observable;
+import rx.Scheduler;
+import rx.functions.Action1;
+import rx.observers.Subscribers;
+import rx.schedulers.Schedulers;
+
+/**
+ * Measures the cost of a single {@link Interactor#execute} call. With {@code executor} schedulers both run their actions on the calling
+ * thread without being recognized as immediate by RxJava, so the whole {@code subscribeOn}/{@code observeOn} pipeline is built and
+ * completes synchronously. With {@code immediate} schedulers the interactor is set up as {@link BlockingInteractor} sets up its parent.
+ * Run it with {@code -prof gc} to see allocated bytes per call.
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-25, 11:20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InteractorBenchmark {
+  private static final Executor DIRECT = new Executor() {
+    @Override
+    public void execute(Runnable command) {
+      command.run();
+    }
+  };
+
+  @Param({ "executor", "immediate" }) public String schedulers;
+
+  private BenchmarkInteractor interactor;
+  private Action1<Integer>    onNext;
+
+  @Setup
+  public void setUp(final Blackhole blackhole) {
+    if ("immediate".equals(schedulers)) {
+      interactor = new BenchmarkInteractor(Schedulers.immediate(), Schedulers.trampoline());
+    } else {
+      final Scheduler scheduler = Schedulers.from(DIRECT);
+      interactor = new BenchmarkInteractor(scheduler, scheduler);
+    }
+    onNext = new Action1<Integer>() {
+      @Override
+      public void call(Integer value) {
+        blackhole.consume(value);
+      }
+    };
+  }
+
+  @Benchmark
+  public void executeAction() {
+    interactor.execute(42, onNext);
+  }
+
+  @Benchmark
+  public void executeSubscriber() {
+    interactor.execute(42, Subscribers.create(onNext));
+  }
+
+  static final class BenchmarkInteractor extends Interactor<Integer, Integer> {
+    // not a scalar, RxJava would optimize scheduling of Observable.just()
+    private final Observable<Integer> response = Observable.fromCallable(new Callable<Integer>() {
+      @Override
+      public Integer call() {
+        return 42;
+      }
+    });
+
+    BenchmarkInteractor(Scheduler subscribeScheduler, Scheduler observeScheduler) {
+      super(subscribeScheduler, observeScheduler);
+    }
+
+    @Override
+    protected Observable<Integer> createObservable(Integer integer) {
+      return response;
+    }
+  }
+}
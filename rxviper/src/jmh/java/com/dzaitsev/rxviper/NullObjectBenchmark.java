@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares view dispatch through {@link NullObject} against the plain {@link Method#invoke} based dispatch it used before invokers were
+ * cached.
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-22, 14:05
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NullObjectBenchmark {
+  private BenchmarkView                view;
+  private WeakReference<BenchmarkView> viewRef;
+  private BenchmarkView                proxy;
+  private NullObject<BenchmarkView>    nullObject;
+  private Method                       method;
+  private Object[]                     args;
+
+  @Setup
+  public void setUp(Blackhole blackhole) throws NoSuchMethodException {
+    view = new BlackholeView(blackhole);
+    viewRef = new WeakReference<>(view);
+    nullObject = new NullObject<>(view, Invokers.forType(BenchmarkView.class));
+    proxy = (BenchmarkView) Proxy.newProxyInstance(BenchmarkView.class.getClassLoader(), new Class[] { BenchmarkView.class }, nullObject);
+    method = BenchmarkView.class.getMethod("onValue", int.class);
+    args = new Object[] { 42 };
+  }
+
+  @Benchmark
+  public Object legacyInvoke() throws Exception {
+    // NullObject.invoke before invokers were cached
+    final BenchmarkView target = viewRef.get();
+    if (target == null) {
+      return null;
+    } else {
+      if (!method.isAccessible()) {
+        method.setAccessible(true);
+      }
+      return method.invoke(target, args);
+    }
+  }
+
+  @Benchmark
+  public Object nullObjectInvoke() throws Throwable {
+    return nullObject.invoke(proxy, method, args);
+  }
+
+  @Benchmark
+  public void proxyCall() {
+    proxy.onValue(42);
+  }
+
+  @Benchmark
+  public void directCall() {
+    view.onValue(42);
+  }
+
+  public interface BenchmarkView extends ViewCallbacks {
+    void onValue(int value);
+  }
+
+  static final class BlackholeView implements BenchmarkView {
+    private final Blackhole blackhole;
+
+    BlackholeView(Blackhole blackhole) {
+      this.blackhole = blackhole;
+    }
+
+    @Override
+    public void onValue(int value) {
+      blackhole.consume(value);
+    }
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures cold time to the first presenter with and without {@link RxViper#preload preloading}. Every measurement runs in a fresh JVM.
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-23, 15:30
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class PreloadBenchmark {
+  @Benchmark
+  public Object firstPresenter() {
+    return new ColdPresenter();
+  }
+
+  @Benchmark
+  public Object firstPreloadedPresenter(Preloaded preloaded) {
+    return new ColdPresenter();
+  }
+
+  @State(Scope.Benchmark)
+  public static class Preloaded {
+    @Setup
+    public void setUp() {
+      final Throwable error = RxViper.preload(ColdPresenter.class)
+          .get();
+      if (error != null) {
+        throw new AssertionError(error);
+      }
+    }
+  }
+
+  public interface ColdView extends ViewCallbacks {
+    void showProgress();
+
+    void hideProgress();
+
+    void onValue(String value);
+  }
+
+  public interface ColdRouter extends Router {
+    void navigateBack();
+  }
+
+  static final class ColdPresenter extends ViperPresenter<ColdView, ColdRouter> {
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import rx.Observable;
+import rx.Scheduler;
+import rx.Subscriber;
+import rx.schedulers.Schedulers;
+
+/**
+ * Measures the time from {@link Interactor#execute} to the completion of a source that emits on the subscribe scheduler, when responses
+ * are moved to another thread by {@code observeOn}, when both schedulers are the same one and when the same-thread delivery is enabled on
+ * both of those.
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-27, 16:10
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SameThreadDeliveryBenchmark {
+  @Param({ "observeOn", "equalSchedulers", "sameThread", "equalSchedulersSameThread" }) public String delivery;
+  @Param({ "1", "128" }) public int emissions;
+
+  private ExecutorService subscribeExecutor;
+  private ExecutorService observeExecutor;
+  private RangeInteractor interactor;
+
+  @Setup
+  public void setUp() {
+    subscribeExecutor = Executors.newSingleThreadExecutor();
+    observeExecutor = Executors.newSingleThreadExecutor();
+    final Scheduler subscribeScheduler = Schedulers.from(subscribeExecutor);
+    switch (delivery) {
+      case "equalSchedulers":
+        interactor = new RangeInteractor(subscribeScheduler, subscribeScheduler, emissions);
+        break;
+      case "equalSchedulersSameThread":
+        interactor = new RangeInteractor(subscribeScheduler, subscribeScheduler, emissions);
+        interactor.setSameThreadDelivery(true);
+        break;
+      case "sameThread":
+        interactor = new RangeInteractor(subscribeScheduler, Schedulers.from(observeExecutor), emissions);
+        interactor.setSameThreadDelivery(true);
+        break;
+      default:
+        interactor = new RangeInteractor(subscribeScheduler, Schedulers.from(observeExecutor), emissions);
+        break;
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    subscribeExecutor.shutdown();
+    observeExecutor.shutdown();
+  }
+
+  @Benchmark
+  public void execute(final Blackhole blackhole) throws InterruptedException {
+    final CountDownLatch latch = new CountDownLatch(1);
+    interactor.execute(new Subscriber<Integer>() {
+      @Override
+      public void onCompleted() {
+        latch.countDown();
+      }
+
+      @Override
+      public void onError(Throwable e) {
+        latch.countDown();
+      }
+
+      @Override
+      public void onNext(Integer value) {
+        blackhole.consume(value);
+      }
+    });
+    latch.await();
+  }
+
+  static final class RangeInteractor extends Interactor<Void, Integer> {
+    private final Observable<Integer> range;
+
+    RangeInteractor(Scheduler subscribeScheduler, Scheduler observeScheduler, int emissions) {
+      super(subscribeScheduler, observeScheduler);
+      range = Observable.range(0, emissions);
+    }
+
+    @Override
+    protected Observable<Integer> createObservable(Void request) {
+      return range;
+    }
+  }
+}
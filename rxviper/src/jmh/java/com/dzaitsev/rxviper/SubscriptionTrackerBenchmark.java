@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import rx.Subscriber;
+import rx.Subscription;
+import rx.observers.Subscribers;
+import rx.subscriptions.CompositeSubscription;
+
+/**
+ * Compares tracking of executions in flight by {@link SubscriptionTracker} against the {@link CompositeSubscription} it used before,
+ * with all threads sharing one tracker as they share one interactor. Run it with {@code -t} from 1 to 64 to see how throughput scales.
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-28, 15:40
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubscriptionTrackerBenchmark {
+  private final SubscriptionTracker tracker   = new SubscriptionTracker();
+  private final CompositeTracker    composite = new CompositeTracker();
+
+  @Benchmark
+  public void tracker() {
+    final Subscriber<Object> subscriber = Subscribers.empty();
+    tracker.track(subscriber);
+    subscriber.unsubscribe();
+  }
+
+  @Benchmark
+  public void composite() {
+    final Subscriber<Object> subscriber = Subscribers.empty();
+    composite.track(subscriber);
+    subscriber.unsubscribe();
+  }
+
+  /**
+   * {@link SubscriptionTracker} before it dropped {@link CompositeSubscription}.
+   */
+  static final class CompositeTracker {
+    private final CompositeSubscription subscriptions = new CompositeSubscription();
+
+    void track(final Subscriber<?> subscriber) {
+      subscriptions.add(subscriber);
+      subscriber.add(new Subscription() {
+        private volatile boolean unsubscribed;
+
+        @Override
+        public void unsubscribe() {
+          if (!unsubscribed) {
+            unsubscribed = true;
+            subscriptions.remove(subscriber);
+          }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+          return unsubscribed;
+        }
+      });
+    }
+  }
+}
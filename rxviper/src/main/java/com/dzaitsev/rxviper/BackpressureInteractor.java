@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import rx.Observable;
+import rx.Scheduler;
+import rx.functions.Action1;
+
+import static com.dzaitsev.rxviper.RxViper.requireNotNull;
+
+/**
+ * An {@link Interactor} for streams of responses that may be emitted faster than they are consumed.
+ * <p>
+ * Responses are moved to the observe scheduler in batches of at most {@code bufferSize} and are requested from the source only as fast as
+ * they are consumed there. Responses that the consumer has not asked for yet are handled according to the {@link BackpressureStrategy}, so
+ * an execution needs bounded memory regardless of the speed of its source. Subscribe a {@link DemandSubscriber} to signal the demand of
+ * the consumer itself.
+ *
+ * @param <RequestModel> the type of request message
+ * @param <ResponseModel> the type of response message
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+public abstract class BackpressureInteractor<RequestModel, ResponseModel> extends Interactor<RequestModel, ResponseModel> {
+  @Nonnull private final BackpressureStrategy strategy;
+  private final          int                  bufferSize;
+  @Nonnull private final AtomicLong           dropped = new AtomicLong();
+
+  /**
+   * @param subscribeScheduler the {@code Scheduler} that modifies source {@code Observable} returned from {@link #createObservable}
+   *     to perform its emissions on.
+   * @param observeScheduler the {@code Scheduler} that modifies source {@code Observable} returned from {@link #createObservable} to
+   *     notify its {@code Observer}s on.
+   * @param strategy the strategy of handling responses emitted while there is no demand
+   * @param bufferSize the maximum number of responses requested from the source ahead of the demand, also the capacity of the buffer of
+   *     {@link BackpressureStrategy#BUFFER}
+   *
+   * @throws IllegalArgumentException if {@code bufferSize} is not positive, or any of the schedulers or {@code strategy} is {@code null}
+   * @since 1.0.0
+   */
+  protected BackpressureInteractor(@Nonnull Scheduler subscribeScheduler, @Nonnull Scheduler observeScheduler,
+      @Nonnull BackpressureStrategy strategy, int bufferSize) {
+    super(subscribeScheduler, observeScheduler);
+    requireNotNull(strategy);
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("bufferSize <= 0: " + bufferSize);
+    }
+
+    this.strategy = strategy;
+    this.bufferSize = bufferSize;
+  }
+
+  /**
+   * Returns how many responses were dropped by {@link BackpressureStrategy#DROP}.
+   *
+   * @return the number of dropped responses
+   *
+   * @since 1.0.0
+   */
+  public final long getDroppedResponses() {
+    return dropped.get();
+  }
+
+  @Nonnull
+  @Override
+  final Observable<ResponseModel> observe(@Nonnull Observable<ResponseModel> source, @Nonnull Scheduler observeScheduler) {
+    final Observable<ResponseModel> bounded;
+    switch (strategy) {
+      case BUFFER:
+        bounded = source.onBackpressureBuffer(bufferSize);
+        break;
+      case DROP:
+        bounded = source.onBackpressureDrop(new Action1<ResponseModel>() {
+          @Override
+          public void call(ResponseModel responseModel) {
+            dropped.incrementAndGet();
+          }
+        });
+        break;
+      default:
+        bounded = source.onBackpressureLatest();
+        break;
+    }
+    return isObserveOnSkipped() ? bounded : bounded.observeOn(observeScheduler, bufferSize);
+  }
+}
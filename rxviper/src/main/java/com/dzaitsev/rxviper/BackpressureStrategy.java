@@ -0,0 +1,40 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+/**
+ * Strategies of handling responses that are emitted faster than they are requested by a {@link DemandSubscriber}.
+ *
+ * @author Dmytro Zaitsev
+ * @see BackpressureInteractor
+ * @since 1.0.0
+ */
+public enum BackpressureStrategy {
+  /**
+   * Keep responses in a bounded buffer until they are requested, and fail with {@link rx.exceptions.MissingBackpressureException} when the
+   * buffer overflows.
+   */
+  BUFFER,
+  /**
+   * Drop responses that are emitted while there is no demand.
+   */
+  DROP,
+  /**
+   * Keep only the latest response emitted while there is no demand, and deliver it when it is requested.
+   */
+  LATEST
+}
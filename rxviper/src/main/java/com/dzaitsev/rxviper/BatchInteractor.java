@@ -0,0 +1,255 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import rx.Observable;
+import rx.Scheduler;
+import rx.Subscriber;
+import rx.functions.Action0;
+import rx.subscriptions.Subscriptions;
+
+import static com.dzaitsev.rxviper.RxViper.requireNotNull;
+
+/**
+ * An {@link Interactor} that collects executions within a time window and makes a single bulk request for all of them.
+ * <p>
+ * An execution is added to the current batch when it is subscribed on the subscribe scheduler. A batch is started by
+ * {@link #createBatchObservable} as soon as it contains {@code maxBatchSize} distinct requests or when {@code window} has passed since its
+ * first execution, whichever comes first. Each response of the bulk request is then delivered to the executions of its request. Equal
+ * requests within a batch are requested once, so request messages must implement {@code equals()} and {@code hashCode()}.
+ *
+ * @param <RequestModel> the type of request message
+ * @param <ResponseModel> the type of response message
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+public abstract class BatchInteractor<RequestModel, ResponseModel> extends Interactor<RequestModel, ResponseModel> {
+  @Nonnull private final Scheduler scheduler;
+  private final          int       maxBatchSize;
+  private final          long      window;
+  @Nonnull private final TimeUnit  unit;
+  private                Batch     pending;
+
+  /**
+   * @param subscribeScheduler the {@code Scheduler} to collect executions and to subscribe to the {@code Observable} returned from
+   *     {@link #createBatchObservable} on.
+   * @param observeScheduler the {@code Scheduler} to notify {@code Observer}s of executions on.
+   * @param maxBatchSize the maximum number of distinct requests in a batch
+   * @param window the maximum time to wait for more executions after the first execution of a batch
+   * @param unit the time unit of {@code window}
+   *
+   * @throws IllegalArgumentException if {@code maxBatchSize} is not positive, {@code window} is negative, or any of the schedulers or
+   *     {@code unit} is {@code null}
+   * @since 1.0.0
+   */
+  protected BatchInteractor(@Nonnull Scheduler subscribeScheduler, @Nonnull Scheduler observeScheduler, int maxBatchSize, long window,
+      @Nonnull TimeUnit unit) {
+    super(subscribeScheduler, observeScheduler);
+    if (maxBatchSize <= 0) {
+      throw new IllegalArgumentException("maxBatchSize <= 0: " + maxBatchSize);
+    }
+    if (window < 0) {
+      throw new IllegalArgumentException("window < 0: " + window);
+    }
+    requireNotNull(unit);
+
+    this.scheduler = subscribeScheduler;
+    this.maxBatchSize = maxBatchSize;
+    this.window = window;
+    this.unit = unit;
+  }
+
+  /**
+   * Adds the execution to the current batch.
+   *
+   * @param requestModel the request message
+   *
+   * @return {@code Observable} that emits the responses to the request from the bulk request
+   *
+   * @since 1.0.0
+   */
+  @Nonnull
+  @Override
+  protected final Observable<ResponseModel> createObservable(@Nullable final RequestModel requestModel) {
+    return Observable.unsafeCreate(new Observable.OnSubscribe<ResponseModel>() {
+      @Override
+      public void call(Subscriber<? super ResponseModel> subscriber) {
+        add(requestModel, subscriber);
+      }
+    });
+  }
+
+  /**
+   * Creates a bulk request for a batch of requests.
+   * <p>
+   * The {@code Observable} emits maps of requests to their responses. A response is delivered to every execution of its request. Requests
+   * that have no response in any of the maps just complete.
+   *
+   * @param requestModels the distinct requests of the batch in the order of their first executions
+   *
+   * @return {@code Observable} of responses by their requests
+   *
+   * @since 1.0.0
+   */
+  @Nonnull
+  protected abstract Observable<Map<RequestModel, ResponseModel>> createBatchObservable(@Nonnull List<RequestModel> requestModels);
+
+  private void add(@Nullable RequestModel requestModel, @Nonnull Subscriber<? super ResponseModel> subscriber) {
+    final Batch batch;
+    boolean full = false;
+    boolean first = false;
+    synchronized (this) {
+      if (pending == null) {
+        pending = new Batch();
+        first = true;
+      }
+      batch = pending;
+      if (batch.add(requestModel, subscriber) >= maxBatchSize) {
+        pending = null;
+        full = true;
+      }
+    }
+    if (full) {
+      batch.start();
+    } else if (first) {
+      batch.schedule();
+    }
+  }
+
+  private synchronized boolean complete(@Nonnull Batch batch) {
+    if (pending != batch) {
+      return false;
+    }
+    pending = null;
+    return true;
+  }
+
+  private final class Batch extends Subscriber<Map<RequestModel, ResponseModel>> implements Action0 {
+    @Nonnull private final Map<RequestModel, List<Subscriber<? super ResponseModel>>> executions = new LinkedHashMap<>();
+    @Nonnull private final Scheduler.Worker                                            timer      = scheduler.createWorker();
+    private                boolean                                                     started;
+
+    synchronized int add(@Nullable final RequestModel requestModel, @Nonnull final Subscriber<? super ResponseModel> subscriber) {
+      List<Subscriber<? super ResponseModel>> subscribers = executions.get(requestModel);
+      if (subscribers == null) {
+        subscribers = new ArrayList<>(1);
+        executions.put(requestModel, subscribers);
+      }
+      subscribers.add(subscriber);
+      subscriber.add(Subscriptions.create(new Action0() {
+        @Override
+        public void call() {
+          remove(requestModel, subscriber);
+        }
+      }));
+      return executions.size();
+    }
+
+    void schedule() {
+      timer.schedule(this, window, unit);
+    }
+
+    @Override
+    public void call() {
+      if (complete(this)) {
+        start();
+      }
+    }
+
+    void start() {
+      timer.unsubscribe();
+      final List<RequestModel> requestModels;
+      synchronized (this) {
+        started = true;
+        requestModels = new ArrayList<>(executions.keySet());
+      }
+      if (requestModels.isEmpty()) {
+        return;
+      }
+      final Observable<Map<RequestModel, ResponseModel>> source;
+      try {
+        source = createBatchObservable(requestModels);
+      } catch (Throwable t) {
+        onError(t);
+        return;
+      }
+      source.unsafeSubscribe(this);
+    }
+
+    @Override
+    public void onNext(Map<RequestModel, ResponseModel> responses) {
+      for (Map.Entry<RequestModel, ResponseModel> response : responses.entrySet()) {
+        for (Subscriber<? super ResponseModel> subscriber : subscribers(response.getKey())) {
+          subscriber.onNext(response.getValue());
+        }
+      }
+    }
+
+    @Override
+    public void onError(Throwable e) {
+      for (Subscriber<? super ResponseModel> subscriber : subscribers()) {
+        subscriber.onError(e);
+      }
+    }
+
+    @Override
+    public void onCompleted() {
+      for (Subscriber<? super ResponseModel> subscriber : subscribers()) {
+        subscriber.onCompleted();
+      }
+    }
+
+    private synchronized List<Subscriber<? super ResponseModel>> subscribers(@Nullable RequestModel requestModel) {
+      final List<Subscriber<? super ResponseModel>> subscribers = executions.get(requestModel);
+      return subscribers == null ? new ArrayList<Subscriber<? super ResponseModel>>(0) : new ArrayList<>(subscribers);
+    }
+
+    private synchronized List<Subscriber<? super ResponseModel>> subscribers() {
+      final List<Subscriber<? super ResponseModel>> subscribers = new ArrayList<>();
+      for (List<Subscriber<? super ResponseModel>> requestSubscribers : executions.values()) {
+        subscribers.addAll(requestSubscribers);
+      }
+      return subscribers;
+    }
+
+    private void remove(@Nullable RequestModel requestModel, @Nonnull Subscriber<? super ResponseModel> subscriber) {
+      final boolean empty;
+      synchronized (this) {
+        final List<Subscriber<? super ResponseModel>> subscribers = executions.get(requestModel);
+        if (subscribers == null || !subscribers.remove(subscriber)) {
+          return;
+        }
+        if (subscribers.isEmpty()) {
+          executions.remove(requestModel);
+        }
+        empty = started && executions.isEmpty();
+      }
+      if (empty) {
+        // nobody is interested in the bulk request anymore
+        unsubscribe();
+      }
+    }
+  }
+}
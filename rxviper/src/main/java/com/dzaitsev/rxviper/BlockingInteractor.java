@@ -0,0 +1,214 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import rx.Observable;
+import rx.Scheduler;
+import rx.Subscriber;
+import rx.functions.Action0;
+import rx.schedulers.Schedulers;
+import rx.subscriptions.Subscriptions;
+
+import static com.dzaitsev.rxviper.RxViper.requireNotNull;
+
+/**
+ * An {@link Interactor} for use cases that block, such as synchronous I/O.
+ * <p>
+ * Every execution calls {@link #executeBlocking} on its own thread of the executor. By default it is a virtual thread where the runtime
+ * supports them (Java 21 and newer), so that thousands of executions can block at the same time without sizing a thread pool. Elsewhere
+ * a cached pool of daemon threads is used instead. Responses are delivered on the observe scheduler. Unsubscribing from an execution that
+ * is still running interrupts its thread.
+ *
+ * @param <RequestModel> the type of request message
+ * @param <ResponseModel> the type of response message
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+public abstract class BlockingInteractor<RequestModel, ResponseModel> extends Interactor<RequestModel, ResponseModel> {
+  @Nonnull private final Executor executor;
+
+  /**
+   * Creates an interactor that runs executions on virtual threads if they are supported, or on a shared cached thread pool otherwise.
+   *
+   * @param observeScheduler the {@code Scheduler} to notify {@code Observer}s of executions on.
+   *
+   * @since 1.0.0
+   */
+  protected BlockingInteractor(@Nonnull Scheduler observeScheduler) {
+    this(DefaultExecutor.INSTANCE, observeScheduler);
+  }
+
+  /**
+   * @param executor the {@code Executor} to run every execution on. It should start a task right away, because waiting tasks
+   *     can't be interrupted.
+   * @param observeScheduler the {@code Scheduler} to notify {@code Observer}s of executions on.
+   *
+   * @throws IllegalArgumentException if {@code executor} or {@code observeScheduler} is {@code null}
+   * @since 1.0.0
+   */
+  protected BlockingInteractor(@Nonnull Executor executor, @Nonnull Scheduler observeScheduler) {
+    super(Schedulers.immediate(), observeScheduler);
+    requireNotNull(executor);
+
+    this.executor = executor;
+  }
+
+  /**
+   * Runs {@link #executeBlocking} on a thread of the executor.
+   *
+   * @param requestModel the request message
+   *
+   * @return {@code Observable} that emits the response
+   *
+   * @since 1.0.0
+   */
+  @Nonnull
+  @Override
+  protected final Observable<ResponseModel> createObservable(@Nullable final RequestModel requestModel) {
+    return Observable.unsafeCreate(new Observable.OnSubscribe<ResponseModel>() {
+      @Override
+      public void call(Subscriber<? super ResponseModel> subscriber) {
+        final BlockingCall call = new BlockingCall(requestModel, subscriber);
+        subscriber.add(Subscriptions.create(call));
+        executor.execute(call);
+      }
+    });
+  }
+
+  /**
+   * Executes the request, blocking the calling thread until the response is ready.
+   * <p>
+   * The thread is interrupted when the execution is unsubscribed, so blocking calls should respond to interruption.
+   *
+   * @param requestModel the request message to a replier system which receives and processes the request
+   *
+   * @return the response, or {@code null} to emit nothing
+   *
+   * @throws Exception if the request fails, it is delivered to {@code onError}
+   * @since 1.0.0
+   */
+  @Nullable
+  protected abstract ResponseModel executeBlocking(@Nullable RequestModel requestModel) throws Exception;
+
+  /**
+   * Checks whether the runtime supports virtual threads.
+   */
+  static boolean isVirtualThreadsSupported() {
+    return DefaultExecutor.VIRTUAL;
+  }
+
+  private static final class DefaultExecutor {
+    static final boolean         VIRTUAL;
+    static final ExecutorService INSTANCE;
+
+    static {
+      ExecutorService executor = null;
+      try {
+        // Java 21, looked up reflectively to stay compatible with Java 7 and Android
+        executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+            .invoke(null);
+      } catch (Exception ignored) {
+        // not supported
+      }
+      VIRTUAL = executor != null;
+      INSTANCE = VIRTUAL ? executor : Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(@Nonnull Runnable runnable) {
+          final Thread thread = new Thread(runnable, "RxViper-Blocking-" + count.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    }
+
+    private DefaultExecutor() {
+      throw new AssertionError("No instances please!");
+    }
+  }
+
+  /**
+   * A single execution. It is either waiting, running on a thread, finished, or cancelled.
+   */
+  private final class BlockingCall implements Runnable, Action0 {
+    private final          RequestModel                    requestModel;
+    @Nonnull private final Subscriber<? super ResponseModel> subscriber;
+    private                Thread                          thread;
+    private                boolean                         done;
+
+    BlockingCall(@Nullable RequestModel requestModel, @Nonnull Subscriber<? super ResponseModel> subscriber) {
+      this.requestModel = requestModel;
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void run() {
+      synchronized (this) {
+        if (done) {
+          return;
+        }
+        thread = Thread.currentThread();
+      }
+      ResponseModel response = null;
+      Throwable error = null;
+      try {
+        response = executeBlocking(requestModel);
+      } catch (Throwable t) {
+        error = t;
+      }
+      synchronized (this) {
+        thread = null;
+        if (done) {
+          // cancelled, don't leak the interrupt to the next task of a pooled thread
+          Thread.interrupted();
+          return;
+        }
+        done = true;
+      }
+      if (error != null) {
+        subscriber.onError(error);
+      } else {
+        if (response != null) {
+          subscriber.onNext(response);
+        }
+        subscriber.onCompleted();
+      }
+    }
+
+    /**
+     * Cancels the execution.
+     */
+    @Override
+    public synchronized void call() {
+      if (!done) {
+        done = true;
+        if (thread != null) {
+          thread.interrupt();
+        }
+      }
+    }
+  }
+}
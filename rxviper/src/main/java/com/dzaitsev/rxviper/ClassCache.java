@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nonnull;
+
+/**
+ * Lazily computed value associated with a class.
+ * <p>
+ * Backed by {@link ClassValue} where it is available, so cached values don't prevent classes from being unloaded, and by a concurrent map
+ * otherwise (Android).
+ *
+ * @param <T> the type of the cached value
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+abstract class ClassCache<T> {
+  private static final boolean CLASS_VALUE = isClassValueSupported();
+
+  @Nonnull private final Store<T> store = CLASS_VALUE ? new ClassValueStore<>(this) : new MapStore<>(this);
+
+  /**
+   * Computes the value for the given class. Exceptions are propagated to the caller of {@link #get} and the value is not cached.
+   */
+  @Nonnull
+  abstract T compute(@Nonnull Class<?> type);
+
+  @Nonnull
+  final T get(@Nonnull Class<?> type) {
+    return store.get(type);
+  }
+
+  private static boolean isClassValueSupported() {
+    try {
+      Class.forName("java.lang.ClassValue");
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
+  private abstract static class Store<T> {
+    abstract T get(Class<?> type);
+  }
+
+  private static final class ClassValueStore<T> extends Store<T> {
+    private final ClassValue<T> values;
+
+    ClassValueStore(final ClassCache<T> cache) {
+      values = new ClassValue<T>() {
+        @Override
+        protected T computeValue(Class<?> type) {
+          return cache.compute(type);
+        }
+      };
+    }
+
+    @Override
+    T get(Class<?> type) {
+      return values.get(type);
+    }
+  }
+
+  private static final class MapStore<T> extends Store<T> {
+    private final ClassCache<T>              cache;
+    private final ConcurrentMap<Class<?>, T> values = new ConcurrentHashMap<>();
+
+    MapStore(ClassCache<T> cache) {
+      this.cache = cache;
+    }
+
+    @Override
+    T get(Class<?> type) {
+      T value = values.get(type);
+      if (value == null) {
+        final T newValue = cache.compute(type);
+        value = values.putIfAbsent(type, newValue);
+        if (value == null) {
+          value = newValue;
+        }
+      }
+      return value;
+    }
+  }
+}
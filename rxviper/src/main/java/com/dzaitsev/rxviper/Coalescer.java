@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import rx.Scheduler;
+import rx.functions.Action0;
+
+/**
+ * Collapses calls to the same method made within a tick, so that only the latest arguments are delivered once per tick.
+ * <p>
+ * The first call of a tick schedules delivery on the given {@link Scheduler}. Calls are delivered in the order of their latest occurrence
+ * within the tick. The worker of the scheduler is created by the first call and held until {@link #release()}.
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+final class Coalescer implements Action0 {
+  @Nonnull private final NullObject<?>         nullObject;
+  @Nonnull private final Scheduler             scheduler;
+  private final          long                  tick;
+  @Nonnull private final TimeUnit              unit;
+  @Nonnull private final AtomicLong            collapsed = new AtomicLong();
+  private                Map<Method, Object[]> pending   = new LinkedHashMap<>();
+  private                Scheduler.Worker      worker;
+
+  Coalescer(@Nonnull NullObject<?> nullObject, long tick, @Nonnull TimeUnit unit, @Nonnull Scheduler scheduler) {
+    this.nullObject = nullObject;
+    this.tick = tick;
+    this.unit = unit;
+    this.scheduler = scheduler;
+  }
+
+  void submit(@Nonnull Method method, Object[] args) {
+    Scheduler.Worker worker = null;
+    synchronized (this) {
+      if (pending.isEmpty()) {
+        if (this.worker == null) {
+          this.worker = scheduler.createWorker();
+        }
+        worker = this.worker;
+      }
+      // re-inserted, so that the call moves to the end of the tick
+      if (pending.remove(method) != null) {
+        collapsed.incrementAndGet();
+      }
+      pending.put(method, args);
+    }
+    if (worker != null) {
+      worker.schedule(this, tick, unit);
+    }
+  }
+
+  @Override
+  public void call() {
+    flush();
+  }
+
+  /**
+   * Delivers pending calls right away.
+   */
+  void flush() {
+    final Map<Method, Object[]> calls;
+    synchronized (this) {
+      if (pending.isEmpty()) {
+        return;
+      }
+      calls = pending;
+      pending = new LinkedHashMap<>();
+    }
+    for (Map.Entry<Method, Object[]> call : calls.entrySet()) {
+      nullObject.deliver(call.getKey(), call.getValue());
+    }
+  }
+
+  /**
+   * Releases the worker and delivers pending calls right away. The next call creates a new worker.
+   */
+  void release() {
+    final Scheduler.Worker worker;
+    synchronized (this) {
+      worker = this.worker;
+      this.worker = null;
+    }
+    if (worker != null) {
+      worker.unsubscribe();
+    }
+    flush();
+  }
+
+  /**
+   * Returns the number of calls that were replaced by a later call to the same method within a tick.
+   */
+  long collapsed() {
+    return collapsed.get();
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import javax.annotation.Nonnull;
+
+/**
+ * Bounded queue of calls made while no target is attached.
+ * <p>
+ * The oldest call is dropped when the queue is full. A new call of a method annotated with {@link KeepLatest} replaces the buffered one.
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+final class CommandBuffer {
+  private final int                 maxSize;
+  private final ArrayDeque<Command> commands;
+
+  CommandBuffer(int maxSize) {
+    this.maxSize = maxSize;
+    commands = new ArrayDeque<>(Math.min(maxSize, 16));
+  }
+
+  synchronized void add(@Nonnull Method method, Object[] args) {
+    if (method.isAnnotationPresent(KeepLatest.class)) {
+      final Iterator<Command> iterator = commands.iterator();
+      while (iterator.hasNext()) {
+        if (iterator.next().method.equals(method)) {
+          iterator.remove();
+        }
+      }
+    }
+    if (commands.size() == maxSize) {
+      commands.pollFirst();
+    }
+    commands.addLast(new Command(method, args));
+  }
+
+  /**
+   * Removes and returns all buffered calls in the order they were made.
+   */
+  @Nonnull
+  synchronized List<Command> drain() {
+    final List<Command> drained = new ArrayList<>(commands);
+    commands.clear();
+    return drained;
+  }
+
+  synchronized int size() {
+    return commands.size();
+  }
+
+  static final class Command {
+    @Nonnull final Method   method;
+    final          Object[] args;
+
+    Command(@Nonnull Method method, Object[] args) {
+      this.method = method;
+      this.args = args;
+    }
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import rx.Subscriber;
+
+/**
+ * A {@code Subscriber} that requests responses in batches as it consumes them, instead of requesting all of them at once.
+ * <p>
+ * It requests {@code batchSize} responses when it starts and another {@code batchSize} as soon as the previous batch has been consumed,
+ * so that at most {@code batchSize} responses are outstanding at a time.
+ *
+ * @param <T> the type of responses
+ *
+ * @author Dmytro Zaitsev
+ * @see BackpressureInteractor
+ * @since 1.0.0
+ */
+public abstract class DemandSubscriber<T> extends Subscriber<T> {
+  private final int batchSize;
+  private       int remaining;
+
+  /**
+   * @param batchSize the number of responses to request at a time
+   *
+   * @throws IllegalArgumentException if {@code batchSize} is not positive
+   * @since 1.0.0
+   */
+  protected DemandSubscriber(int batchSize) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("batchSize <= 0: " + batchSize);
+    }
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Handles a requested response.
+   *
+   * @param response the response
+   *
+   * @since 1.0.0
+   */
+  protected abstract void onResponse(T response);
+
+  @Override
+  public void onStart() {
+    remaining = batchSize;
+    request(batchSize);
+  }
+
+  @Override
+  public final void onNext(T response) {
+    onResponse(response);
+    if (--remaining == 0) {
+      remaining = batchSize;
+      request(batchSize);
+    }
+  }
+}
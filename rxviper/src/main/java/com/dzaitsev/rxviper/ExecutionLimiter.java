@@ -0,0 +1,215 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nonnull;
+import rx.Observable;
+import rx.Scheduler;
+import rx.Subscriber;
+import rx.functions.Action0;
+import rx.subscriptions.Subscriptions;
+
+/**
+ * Limits the number of subscriptions in flight. Subscriptions beyond the limit wait in a bounded FIFO queue.
+ * <p>
+ * The limits can be changed while subscriptions are in flight, they keep counting against the new limits.
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+final class ExecutionLimiter {
+  @Nonnull private final Scheduler              clock;
+  @Nonnull private final ArrayDeque<Pending<?>> queue = new ArrayDeque<>();
+  private                int                    maxInFlight;
+  private                int                    maxQueued;
+  @Nonnull private       QueueOverflow          overflow;
+  private                int                    inFlight;
+  private                long                   waits;
+  private                long                   totalWaitMillis;
+  private                long                   maxWaitMillis;
+
+  ExecutionLimiter(int maxInFlight, int maxQueued, @Nonnull QueueOverflow overflow, @Nonnull Scheduler clock) {
+    this.maxInFlight = maxInFlight;
+    this.maxQueued = maxQueued;
+    this.overflow = overflow;
+    this.clock = clock;
+  }
+
+  /**
+   * Changes the limits. Waiting subscriptions are started if the new limit allows more in flight. Subscriptions already waiting beyond
+   * the new queue size keep waiting.
+   */
+  void configure(int maxInFlight, int maxQueued, @Nonnull QueueOverflow overflow) {
+    final List<Pending<?>> started = new ArrayList<>();
+    synchronized (this) {
+      this.maxInFlight = maxInFlight;
+      this.maxQueued = maxQueued;
+      this.overflow = overflow;
+      Pending<?> next;
+      while (inFlight < maxInFlight && (next = poll()) != null) {
+        inFlight++;
+        started.add(next);
+      }
+    }
+    for (Pending<?> pending : started) {
+      pending.start();
+    }
+  }
+
+  @Nonnull
+  <T> Observable<T> limit(@Nonnull final Observable<T> source) {
+    return Observable.unsafeCreate(new Observable.OnSubscribe<T>() {
+      @Override
+      public void call(Subscriber<? super T> subscriber) {
+        submit(new Pending<>(source, subscriber));
+      }
+    });
+  }
+
+  private void submit(@Nonnull final Pending<?> pending) {
+    Pending<?> dropped = null;
+    boolean start = false;
+    String reject = null;
+    synchronized (this) {
+      if (inFlight < maxInFlight) {
+        inFlight++;
+        start = true;
+      } else if (queue.size() < maxQueued) {
+        enqueue(pending);
+      } else {
+        switch (overflow) {
+          case DROP_OLDEST:
+            dropped = queue.poll();
+            if (dropped == null) {
+              dropped = pending;
+            } else {
+              enqueue(pending);
+            }
+            break;
+          case DROP_NEWEST:
+            dropped = pending;
+            break;
+          default:
+            reject = "Too many executions: " + maxInFlight + " in flight and " + maxQueued + " queued.";
+            break;
+        }
+      }
+    }
+    if (start) {
+      pending.start();
+    } else if (reject != null) {
+      pending.subscriber.onError(new RejectedExecutionException(reject));
+    } else {
+      if (dropped != null) {
+        dropped.subscriber.onCompleted();
+      }
+      if (dropped != pending) {
+        pending.subscriber.add(Subscriptions.create(new Action0() {
+          @Override
+          public void call() {
+            cancel(pending);
+          }
+        }));
+      }
+    }
+  }
+
+  private void enqueue(@Nonnull Pending<?> pending) {
+    pending.enqueuedAt = clock.now();
+    queue.add(pending);
+  }
+
+  private synchronized void cancel(@Nonnull Pending<?> pending) {
+    queue.remove(pending);
+  }
+
+  void release() {
+    final Pending<?> next;
+    synchronized (this) {
+      // the slot is handed over to the next waiting subscription, unless the limit has been lowered meanwhile
+      next = inFlight <= maxInFlight ? poll() : null;
+      if (next == null) {
+        inFlight--;
+        return;
+      }
+    }
+    next.start();
+  }
+
+  /**
+   * Takes the next waiting subscription that is still subscribed, and records its wait time. Must be called holding the lock.
+   */
+  private Pending<?> poll() {
+    Pending<?> next;
+    do {
+      next = queue.poll();
+    } while (next != null && next.subscriber.isUnsubscribed());
+    if (next != null) {
+      final long wait = clock.now() - next.enqueuedAt;
+      waits++;
+      totalWaitMillis += wait;
+      maxWaitMillis = Math.max(maxWaitMillis, wait);
+    }
+    return next;
+  }
+
+  synchronized int inFlight() {
+    return inFlight;
+  }
+
+  synchronized int queueDepth() {
+    return queue.size();
+  }
+
+  synchronized long averageWaitMillis() {
+    return waits == 0 ? 0 : totalWaitMillis / waits;
+  }
+
+  synchronized long maxWaitMillis() {
+    return maxWaitMillis;
+  }
+
+  private final class Pending<T> implements Action0 {
+    @Nonnull final Observable<T>         source;
+    @Nonnull final Subscriber<? super T> subscriber;
+    @Nonnull final AtomicBoolean         released = new AtomicBoolean();
+    long                                 enqueuedAt;
+
+    Pending(@Nonnull Observable<T> source, @Nonnull Subscriber<? super T> subscriber) {
+      this.source = source;
+      this.subscriber = subscriber;
+    }
+
+    void start() {
+      source.doAfterTerminate(this)
+          .doOnUnsubscribe(this)
+          .unsafeSubscribe(subscriber);
+    }
+
+    @Override
+    public void call() {
+      if (released.compareAndSet(false, true)) {
+        release();
+      }
+    }
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Receives the start and the end of every {@link Interactor} execution, to feed metrics of interactors into a monitoring system.
+ * <p>
+ * Methods are called on the threads executions are started and finished on, so they must be thread-safe and fast. {@link
+ * InteractorMetrics} is a ready-made listener that aggregates executions per interactor class.
+ *
+ * @author Dmytro Zaitsev
+ * @see RxViper#setExecutionListener(ExecutionListener)
+ * @since 1.0.0
+ */
+public interface ExecutionListener {
+  /**
+   * Called when an execution is started by {@code Interactor.execute}.
+   *
+   * @param interactorClass the class of the executing interactor
+   *
+   * @since 1.0.0
+   */
+  void onExecutionStarted(@Nonnull Class<?> interactorClass);
+
+  /**
+   * Called once when an execution has terminated or has been unsubscribed. All times are measured from the start of the execution.
+   *
+   * @param interactorClass the class of the executing interactor
+   * @param outcome how the execution has finished
+   * @param queueTimeNanos the time until the {@code Observable} returned from {@code createObservable} was subscribed to on the subscribe
+   *     scheduler, or {@code -1} if the execution didn't subscribe to one of its own (it got a cached response or joined a coalesced
+   *     execution, or it was cancelled before)
+   * @param firstEmissionNanos the time until the first response was delivered, or {@code -1} if there was none
+   * @param durationNanos the time until the execution finished
+   * @param emissions the number of delivered responses
+   *
+   * @since 1.0.0
+   */
+  void onExecutionFinished(@Nonnull Class<?> interactorClass, @Nonnull ExecutionOutcome outcome, long queueTimeNanos,
+      long firstEmissionNanos, long durationNanos, long emissions);
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+/**
+ * How an {@link Interactor} execution has finished.
+ *
+ * @author Dmytro Zaitsev
+ * @see ExecutionListener
+ * @since 1.0.0
+ */
+public enum ExecutionOutcome {
+  /**
+   * The execution has completed.
+   */
+  SUCCESS,
+  /**
+   * The execution has failed.
+   */
+  ERROR,
+  /**
+   * The execution has been unsubscribed before it terminated.
+   */
+  CANCEL
+}
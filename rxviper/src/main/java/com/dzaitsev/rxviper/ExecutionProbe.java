@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import rx.Subscriber;
+import rx.functions.Action0;
+import rx.subscriptions.Subscriptions;
+
+/**
+ * Measures a single {@link Interactor} execution for the {@link ExecutionListener}.
+ * <p>
+ * The probe wraps the subscriber of the execution to observe what is delivered to it, and marks the subscription to the source on the
+ * subscribe scheduler as an action of {@code doOnSubscribe}. Executions aren't probed at all while no listener is set.
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+final class ExecutionProbe<T> implements Action0 {
+  private static volatile ExecutionListener listener;
+
+  @Nonnull private final ExecutionListener executionListener;
+  @Nonnull private final Class<?>          interactorClass;
+  @Nonnull private final AtomicBoolean     finished           = new AtomicBoolean();
+  private final          long              startNanos;
+  private volatile       long              queueTimeNanos     = -1;
+  private volatile       long              firstEmissionNanos = -1;
+  // written by the thread responses are delivered on only
+  private volatile       long              emissions;
+
+  private ExecutionProbe(@Nonnull ExecutionListener executionListener, @Nonnull Class<?> interactorClass) {
+    this.executionListener = executionListener;
+    this.interactorClass = interactorClass;
+    startNanos = System.nanoTime();
+  }
+
+  static void setListener(@Nullable ExecutionListener newListener) {
+    listener = newListener;
+  }
+
+  /**
+   * Starts measuring an execution.
+   *
+   * @return the probe of the execution, or {@code null} if no listener is set
+   */
+  @Nullable
+  static <T> ExecutionProbe<T> start(@Nonnull Class<?> interactorClass) {
+    final ExecutionListener currentListener = listener;
+    if (currentListener == null) {
+      return null;
+    }
+    currentListener.onExecutionStarted(interactorClass);
+    return new ExecutionProbe<>(currentListener, interactorClass);
+  }
+
+  /**
+   * Marks the source of the execution subscribed to.
+   */
+  @Override
+  public void call() {
+    if (queueTimeNanos < 0) {
+      queueTimeNanos = System.nanoTime() - startNanos;
+    }
+  }
+
+  /**
+   * Wraps the subscriber of the execution.
+   * <p>
+   * The wrapper must be passed to {@code subscribe()} as is: the {@code SafeSubscriber} wrapping it then reports an exception thrown by
+   * {@code onNext} to the probe as an error before unsubscribing. The wrapper shares the subscriptions and the producer of the subscriber,
+   * which makes its initial request in {@code onStart()}.
+   */
+  @Nonnull
+  Subscriber<T> wrap(@Nonnull final Subscriber<? super T> child) {
+    final Subscriber<T> parent = new Subscriber<T>(child) {
+      @Override
+      public void onStart() {
+        child.onStart();
+      }
+
+      @Override
+      public void onNext(T t) {
+        if (firstEmissionNanos < 0) {
+          firstEmissionNanos = System.nanoTime() - startNanos;
+        }
+        emissions++;
+        child.onNext(t);
+      }
+
+      @Override
+      public void onError(Throwable e) {
+        finish(ExecutionOutcome.ERROR);
+        child.onError(e);
+      }
+
+      @Override
+      public void onCompleted() {
+        finish(ExecutionOutcome.SUCCESS);
+        child.onCompleted();
+      }
+    };
+    // the subscriber is unsubscribed after its terminal notification too, the execution has finished already then
+    parent.add(Subscriptions.create(new Action0() {
+      @Override
+      public void call() {
+        finish(ExecutionOutcome.CANCEL);
+      }
+    }));
+    return parent;
+  }
+
+  /**
+   * Marks the execution failed before it was subscribed to, if creating its source threw.
+   */
+  void fail() {
+    finish(ExecutionOutcome.ERROR);
+  }
+
+  private void finish(@Nonnull ExecutionOutcome outcome) {
+    if (finished.compareAndSet(false, true)) {
+      executionListener.onExecutionFinished(interactorClass, outcome, queueTimeNanos, firstEmissionNanos, System.nanoTime() - startNanos,
+          emissions);
+    }
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import rx.Observable;
+import rx.Scheduler;
+import rx.internal.operators.OperatorObserveOn;
+import rx.internal.util.RxRingBuffer;
+import rx.internal.util.ScalarSynchronousObservable;
+import rx.schedulers.Schedulers;
+
+/**
+ * Subscribe and observe schedulers of an interactor, composed once when the interactor is created.
+ * <p>
+ * The {@code observeOn} operator is stateless and thus shared by all executions, and scheduling steps that would not change the thread
+ * notifications are delivered on are skipped altogether.
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+final class ExecutionSchedulers<T> {
+  @Nullable private final Scheduler            subscribeScheduler;
+  @Nonnull private final  Scheduler            observeScheduler;
+  @Nullable private final OperatorObserveOn<T> observeOn;
+
+  ExecutionSchedulers(@Nonnull Scheduler subscribeScheduler, @Nonnull Scheduler observeScheduler) {
+    // subscribeOn(immediate) subscribes on the calling thread anyway
+    this.subscribeScheduler = subscribeScheduler == Schedulers.immediate() ? null : subscribeScheduler;
+    this.observeScheduler = observeScheduler;
+    // OperatorObserveOn passes notifications through on these schedulers
+    observeOn = observeScheduler == Schedulers.immediate() || observeScheduler == Schedulers.trampoline()
+        ? null
+        : new OperatorObserveOn<T>(observeScheduler, false, RxRingBuffer.SIZE);
+  }
+
+  /**
+   * Returns {@code true} if {@link #observeOn} moves notifications to another thread.
+   */
+  boolean switchesThreads() {
+    return observeOn != null;
+  }
+
+  /**
+   * Makes the source perform its emissions on the subscribe scheduler.
+   */
+  @Nonnull
+  Observable<T> subscribeOn(@Nonnull Observable<T> source) {
+    return subscribeScheduler == null ? source : source.subscribeOn(subscribeScheduler);
+  }
+
+  /**
+   * Makes the source notify its subscribers on the observe scheduler.
+   */
+  @Nonnull
+  Observable<T> observeOn(@Nonnull Observable<T> source) {
+    if (observeOn == null) {
+      return source;
+    }
+    if (source instanceof ScalarSynchronousObservable) {
+      // keep the optimized path RxJava has for scalars
+      return source.observeOn(observeScheduler);
+    }
+    return source.lift(observeOn);
+  }
+}
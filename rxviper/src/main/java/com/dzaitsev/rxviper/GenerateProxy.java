@@ -0,0 +1,38 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@link ViewCallbacks} or {@link Router} interface for which {@code rxviper-compiler} generates a null-safe delegate.
+ * <p>
+ * Presenters use the generated delegate instead of a {@link java.lang.reflect.Proxy dynamic proxy}. Methods inherited from other
+ * interfaces are delegated as well, so only the interface a presenter is parameterized with needs to be annotated.
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface GenerateProxy {
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static java.lang.String.format;
+
+/**
+ * Base class for null-safe delegates generated by {@code rxviper-compiler} for {@link ViewCallbacks} and {@link Router} interfaces
+ * annotated with {@link GenerateProxy}.
+ * <p>
+ * Generated delegates call the attached target directly instead of going through {@link java.lang.reflect.Proxy}. This class is not a
+ * part of the public API and should not be extended manually.
+ *
+ * @param <T> the type of the delegated interface
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+public abstract class GeneratedProxy<T> {
+  /**
+   * Name suffix of the generated delegate classes.
+   */
+  static final String SUFFIX = "_Proxy";
+
+  @Nonnull final NullObject<T> nullObject = new NullObject<>(null, Invokers.forType(getClass()));
+
+  protected GeneratedProxy() {
+  }
+
+  /**
+   * Looks up a method of the delegated interface. Called once per method from the static initializer of a generated class. The ProGuard
+   * rules shipped with the library keep the names of these methods.
+   *
+   * @param type the delegated interface
+   * @param name the name of the method
+   * @param parameterTypes the erased parameter types of the method
+   *
+   * @return the public method of the delegated interface
+   *
+   * @throws IllegalStateException if the method doesn't exist
+   * @since 1.0.0
+   */
+  @Nonnull
+  protected static Method method(@Nonnull Class<?> type, @Nonnull String name, @Nonnull Class<?>... parameterTypes) {
+    try {
+      return type.getMethod(name, parameterTypes);
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException(format("Method %s is not found in %s.", name, type.getName()), e);
+    }
+  }
+
+  /**
+   * Returns the attached target, or {@code null} if the call must go through {@link #dispatch}.
+   *
+   * @return the attached target
+   *
+   * @since 1.0.0
+   */
+  @Nullable
+  protected final T target() {
+    return nullObject.direct();
+  }
+
+  /**
+   * Dispatches a call that can't be delivered directly to the target.
+   * <p>
+   * As with {@link java.lang.reflect.Proxy}, checked exceptions declared by the method are rethrown as is, and other checked exceptions
+   * are wrapped in {@link UndeclaredThrowableException}.
+   *
+   * @param method the called method
+   * @param args the arguments of the call
+   *
+   * @since 1.0.0
+   */
+  protected final void dispatch(@Nonnull Method method, @Nonnull Object... args) {
+    try {
+      nullObject.invoke(this, method, args);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      for (Class<?> exceptionType : method.getExceptionTypes()) {
+        if (exceptionType.isInstance(t)) {
+          GeneratedProxy.<RuntimeException>rethrow(t);
+        }
+      }
+      throw new UndeclaredThrowableException(t);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <E extends Throwable> void rethrow(Throwable t) throws E {
+    throw (E) t;
+  }
+}
@@ -16,8 +16,10 @@
 
 package com.dzaitsev.rxviper;
 
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import org.reactivestreams.Publisher;
 import rx.Observable;
 import rx.Scheduler;
 import rx.Subscriber;
@@ -25,8 +27,9 @@ import rx.Subscription;
 import rx.functions.Action0;
 import rx.functions.Action1;
 import rx.functions.Actions;
+import rx.functions.Func0;
+import rx.functions.Func1;
 import rx.internal.util.ActionSubscriber;
-import rx.subscriptions.CompositeSubscription;
 
 import static com.dzaitsev.rxviper.RxViper.requireNotNull;
 import static rx.internal.util.InternalObservableUtils.ERROR_NOT_IMPLEMENTED;
@@ -41,9 +44,16 @@ import static rx.internal.util.InternalObservableUtils.ERROR_NOT_IMPLEMENTED;
  * @since 0.1.0
  */
 public abstract class Interactor<RequestModel, ResponseModel> implements Subscription {
-  @Nonnull private final Scheduler             subscribeScheduler;
-  @Nonnull private final Scheduler             observeScheduler;
-  @Nonnull private final CompositeSubscription subscriptions;
+  @Nonnull private final Scheduler                          subscribeScheduler;
+  @Nonnull private final Scheduler                          observeScheduler;
+  @Nonnull private final SubscriptionTracker                subscriptions;
+  @Nonnull private final ExecutionSchedulers<ResponseModel> schedulers;
+  private volatile       SharedExecutions<ResponseModel>    sharedExecutions;
+  private volatile       ResultCache<ResponseModel>         resultCache;
+  private volatile       Revalidations                      revalidations;
+  private volatile       ExecutionLimiter                   executionLimiter;
+  private volatile       LatestExecutions                   latestExecutions;
+  private volatile       boolean                            sameThreadDelivery;
 
   /**
    * @param subscribeScheduler the {@code Scheduler} that modifies source {@code Observable} returned from {@link #createObservable}
@@ -59,7 +69,8 @@ public abstract class Interactor<RequestModel, ResponseModel> implements Subscri
 
     this.subscribeScheduler = subscribeScheduler;
     this.observeScheduler = observeScheduler;
-    subscriptions = new CompositeSubscription();
+    subscriptions = new SubscriptionTracker();
+    schedulers = new ExecutionSchedulers<>(subscribeScheduler, observeScheduler);
   }
 
   /**
@@ -192,9 +203,55 @@ public abstract class Interactor<RequestModel, ResponseModel> implements Subscri
   public final void execute(@Nullable RequestModel requestModel, @Nonnull Subscriber<? super ResponseModel> subscriber) {
     requireNotNull(subscriber);
 
-    subscriptions.add(createObservable(requestModel).subscribeOn(subscribeScheduler)
-        .observeOn(observeScheduler)
-        .subscribe(subscriber));
+    final RxViperHook[] hooks = RxViperHooks.hooks();
+    if (hooks != null) {
+      RxViperHooks.onExecute(hooks, this, requestModel);
+    }
+    final LatestExecutions latest = latestExecutions;
+    if (latest != null) {
+      latest.supersede(latest.byKey ? requestKey(requestModel) : null, subscriber);
+    }
+    final ExecutionProbe<ResponseModel> probe = ExecutionProbe.start(getClass());
+    final Observable<ResponseModel> execution;
+    try {
+      execution = observe(source(requestModel, probe), observeScheduler);
+    } catch (RuntimeException | Error e) {
+      // createObservable threw, the execution won't be subscribed to
+      if (probe != null) {
+        probe.fail();
+      }
+      throw e;
+    }
+    final Subscription subscription = probe == null ? execution.subscribe(subscriber) : execution.subscribe(probe.wrap(subscriber));
+    if (!subscription.isUnsubscribed()) {
+      // the subscriber shares its subscriptions with the returned SafeSubscriber, it is unsubscribed when the execution terminates
+      subscriptions.track(subscriber);
+    }
+  }
+
+  /**
+   * Returns a Reactive Streams {@code Publisher} of the responses to the request.
+   * <p>
+   * Every {@code Subscriber} of the publisher executes the request just like {@link #execute(Object, Subscriber)} does, but responses are
+   * emitted only as they are requested and on the thread they are produced on, without moving them to the observe scheduler. Thus the
+   * publisher can feed other Reactive Streams implementations directly, with backpressure preserved end to end. Subscriptions of the
+   * publisher are cancelled by {@link #unsubscribe()} as well.
+   *
+   * @param requestModel the request message to a replier system which receives and processes the request
+   *
+   * @return a cold {@code Publisher} of responses
+   *
+   * @see PublisherInteractor
+   * @since 1.0.0
+   */
+  @Nonnull
+  public final Publisher<ResponseModel> asPublisher(@Nullable final RequestModel requestModel) {
+    return ReactiveStreams.toPublisher(Observable.defer(new Func0<Observable<ResponseModel>>() {
+      @Override
+      public Observable<ResponseModel> call() {
+        return source(requestModel, null);
+      }
+    }), subscriptions);
   }
 
   /**
@@ -206,6 +263,10 @@ public abstract class Interactor<RequestModel, ResponseModel> implements Subscri
    */
   @Override
   public final void unsubscribe() {
+    final RxViperHook[] hooks = RxViperHooks.hooks();
+    if (hooks != null) {
+      RxViperHooks.onUnsubscribe(hooks, this);
+    }
     // call clear() instead of unsubscribe() to be able to manage new subscriptions
     subscriptions.clear();
   }
@@ -219,7 +280,303 @@ public abstract class Interactor<RequestModel, ResponseModel> implements Subscri
    */
   @Override
   public final boolean isUnsubscribed() {
-    return !subscriptions.hasSubscriptions();
+    return subscriptions.isEmpty();
+  }
+
+  /**
+   * Enables or disables coalescing of executions.
+   * <p>
+   * While coalescing is enabled, executions with equal {@link #requestKey request keys} that overlap in time share a single subscription
+   * to the {@code Observable} returned from {@link #createObservable}. Its notifications are multicast to all of them, and responses
+   * emitted before an execution joined are replayed to it. The subscription is unsubscribed when the last of them is unsubscribed. An
+   * execution started after the shared one has terminated subscribes anew.
+   * <p>
+   * Coalescing is disabled by default.
+   *
+   * @param enabled {@code true} to coalesce executions
+   *
+   * @see #getCoalescedExecutions()
+   * @since 1.0.0
+   */
+  protected final void setCoalescingEnabled(boolean enabled) {
+    if (enabled != (sharedExecutions != null)) {
+      sharedExecutions = enabled ? new SharedExecutions<ResponseModel>() : null;
+    }
+  }
+
+  /**
+   * Returns how many executions joined an execution in flight instead of subscribing to a new {@code Observable}.
+   *
+   * @return the number of coalesced executions since coalescing was enabled, or {@code 0} if it is disabled
+   *
+   * @see #setCoalescingEnabled(boolean)
+   * @since 1.0.0
+   */
+  public final long getCoalescedExecutions() {
+    final SharedExecutions<ResponseModel> shared = sharedExecutions;
+    return shared == null ? 0 : shared.coalesced();
+  }
+
+  /**
+   * Sets the cache of responses.
+   * <p>
+   * While a cache is set, an execution whose {@link #requestKey request key} has a cached response gets that response right away, without
+   * calling {@link #createObservable}. Otherwise every response emitted by the {@code Observable} is cached under the request key,
+   * replacing the previous one. Thus it is intended for interactors that emit a single response per request.
+   *
+   * @param cache the cache of responses, or {@code null} to stop caching
+   *
+   * @see LruResultCache
+   * @see #invalidate(Object)
+   * @since 1.0.0
+   */
+  protected final void setResultCache(@Nullable ResultCache<ResponseModel> cache) {
+    resultCache = cache;
+  }
+
+  /**
+   * Enables the stale-while-revalidate mode.
+   * <p>
+   * In this mode an execution whose request has a cached response gets that response right away and, unless the request has been
+   * revalidated within {@code minInterval}, also subscribes to the {@code Observable} returned from {@link #createObservable} on the
+   * subscribe scheduler. Its responses are cached and emitted only if they are not equal to the cached one. Executions within the interval
+   * get just the cached response, which keeps the load of the source bounded. An execution that has nothing in the cache starts the
+   * interval as well.
+   * <p>
+   * Requires a {@link #setResultCache result cache}. The time is taken from {@link Scheduler#now()} of the subscribe scheduler.
+   *
+   * @param minInterval the minimum time between revalidations of the same request
+   * @param unit the time unit of {@code minInterval}
+   *
+   * @throws IllegalArgumentException if {@code minInterval} is negative or {@code unit} is {@code null}
+   * @see #disableStaleWhileRevalidate()
+   * @since 1.0.0
+   */
+  protected final void enableStaleWhileRevalidate(long minInterval, @Nonnull TimeUnit unit) {
+    if (minInterval < 0) {
+      throw new IllegalArgumentException("minInterval < 0: " + minInterval);
+    }
+    requireNotNull(unit);
+    revalidations = new Revalidations(unit.toMillis(minInterval));
+  }
+
+  /**
+   * Disables the stale-while-revalidate mode, so that cached responses are served without revalidation.
+   *
+   * @see #enableStaleWhileRevalidate(long, TimeUnit)
+   * @since 1.0.0
+   */
+  protected final void disableStaleWhileRevalidate() {
+    revalidations = null;
+  }
+
+  /**
+   * Discards the cached response to the request, so that the next execution of the request calls {@link #createObservable}.
+   *
+   * @param requestModel the request message
+   *
+   * @see #setResultCache(ResultCache)
+   * @since 1.0.0
+   */
+  public final void invalidate(@Nullable RequestModel requestModel) {
+    final Object key = requestKey(requestModel);
+    final ResultCache<ResponseModel> cache = resultCache;
+    if (cache != null) {
+      cache.invalidate(key);
+    }
+    final Revalidations currentRevalidations = revalidations;
+    if (currentRevalidations != null) {
+      currentRevalidations.reset(key);
+    }
+  }
+
+  /**
+   * Discards all cached responses.
+   *
+   * @see #setResultCache(ResultCache)
+   * @since 1.0.0
+   */
+  public final void invalidateAll() {
+    final ResultCache<ResponseModel> cache = resultCache;
+    if (cache != null) {
+      cache.invalidateAll();
+    }
+    final Revalidations currentRevalidations = revalidations;
+    if (currentRevalidations != null) {
+      currentRevalidations.resetAll();
+    }
+  }
+
+  /**
+   * Limits the number of executions in flight.
+   * <p>
+   * At most {@code maxInFlight} subscriptions to {@code Observable}s returned from {@link #createObservable} are active at a time.
+   * Executions beyond the limit wait in a FIFO queue of up to {@code maxQueued} executions and are started as soon as executions in flight
+   * terminate or are unsubscribed. When the queue is full, a new execution is handled according to the {@code overflow} policy. Coalesced
+   * executions and executions served from the cache don't count.
+   * <p>
+   * Calling this method again changes the limits in place: executions in flight keep counting against the new limit, and waiting
+   * executions are started if it is higher. Executions started while the number of executions was not limited don't count.
+   * <p>
+   * The wait time is measured with {@link Scheduler#now()} of the subscribe scheduler.
+   *
+   * @param maxInFlight the maximum number of executions in flight
+   * @param maxQueued the maximum number of waiting executions, can be {@code 0}
+   * @param overflow what to do with a new execution when the queue is full
+   *
+   * @throws IllegalArgumentException if {@code maxInFlight} is not positive, {@code maxQueued} is negative or {@code overflow} is
+   *     {@code null}
+   * @see #removeExecutionLimit()
+   * @see #getQueueDepth()
+   * @see #getAverageQueueWait(TimeUnit)
+   * @since 1.0.0
+   */
+  protected final void setExecutionLimit(int maxInFlight, int maxQueued, @Nonnull QueueOverflow overflow) {
+    if (maxInFlight <= 0) {
+      throw new IllegalArgumentException("maxInFlight <= 0: " + maxInFlight);
+    }
+    if (maxQueued < 0) {
+      throw new IllegalArgumentException("maxQueued < 0: " + maxQueued);
+    }
+    requireNotNull(overflow);
+    final ExecutionLimiter limiter = executionLimiter;
+    if (limiter == null) {
+      executionLimiter = new ExecutionLimiter(maxInFlight, maxQueued, overflow, subscribeScheduler);
+    } else {
+      limiter.configure(maxInFlight, maxQueued, overflow);
+    }
+  }
+
+  /**
+   * Removes the limit of executions in flight. Executions waiting in the queue are still started as before.
+   *
+   * @see #setExecutionLimit(int, int, QueueOverflow)
+   * @since 1.0.0
+   */
+  protected final void removeExecutionLimit() {
+    executionLimiter = null;
+  }
+
+  /**
+   * Returns the number of executions waiting for executions in flight to finish.
+   *
+   * @return the number of waiting executions, or {@code 0} if the number of executions is not limited
+   *
+   * @see #setExecutionLimit(int, int, QueueOverflow)
+   * @since 1.0.0
+   */
+  public final int getQueueDepth() {
+    final ExecutionLimiter limiter = executionLimiter;
+    return limiter == null ? 0 : limiter.queueDepth();
+  }
+
+  /**
+   * Returns the average time executions waited in the queue before they were started.
+   *
+   * @param unit the time unit of the result
+   *
+   * @return the average wait time, or {@code 0} if no execution has waited
+   *
+   * @see #setExecutionLimit(int, int, QueueOverflow)
+   * @since 1.0.0
+   */
+  public final long getAverageQueueWait(@Nonnull TimeUnit unit) {
+    final ExecutionLimiter limiter = executionLimiter;
+    return limiter == null ? 0 : unit.convert(limiter.averageWaitMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Returns the longest time an execution waited in the queue before it was started.
+   *
+   * @param unit the time unit of the result
+   *
+   * @return the maximum wait time, or {@code 0} if no execution has waited
+   *
+   * @see #setExecutionLimit(int, int, QueueOverflow)
+   * @since 1.0.0
+   */
+  public final long getMaxQueueWait(@Nonnull TimeUnit unit) {
+    final ExecutionLimiter limiter = executionLimiter;
+    return limiter == null ? 0 : unit.convert(limiter.maxWaitMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Enables the switch-to-latest mode.
+   * <p>
+   * In this mode starting an execution unsubscribes the previous execution that is still in flight, so that its {@code Subscriber} receives
+   * no more notifications and the subscription to the {@code Observable} returned from {@link #createObservable} is released (unless it is
+   * {@link #setCoalescingEnabled coalesced} with other executions). This suits requests made on every keystroke, where only the latest
+   * response matters.
+   *
+   * @param byRequestKey {@code true} to supersede only executions with an equal {@link #requestKey request key}, {@code false} to
+   *     supersede any execution of this interactor
+   *
+   * @see #disableSwitchToLatest()
+   * @see #getSupersededExecutions()
+   * @since 1.0.0
+   */
+  protected final void enableSwitchToLatest(boolean byRequestKey) {
+    latestExecutions = new LatestExecutions(byRequestKey);
+  }
+
+  /**
+   * Disables the switch-to-latest mode. Executions in flight are left running.
+   *
+   * @see #enableSwitchToLatest(boolean)
+   * @since 1.0.0
+   */
+  protected final void disableSwitchToLatest() {
+    latestExecutions = null;
+  }
+
+  /**
+   * Returns how many executions were unsubscribed before they finished because later executions were started.
+   *
+   * @return the number of superseded executions since the switch-to-latest mode was enabled, or {@code 0} if it is disabled
+   *
+   * @see #enableSwitchToLatest(boolean)
+   * @since 1.0.0
+   */
+  public final long getSupersededExecutions() {
+    final LatestExecutions latest = latestExecutions;
+    return latest == null ? 0 : latest.superseded();
+  }
+
+  /**
+   * Enables or disables the same-thread delivery.
+   * <p>
+   * While it is enabled, responses are delivered to {@code Subscriber}s on the thread the {@code Observable} returned from {@link
+   * #createObservable} emits them on, skipping the observe scheduler and its queue. Use it when that thread is the one responses should be
+   * consumed on anyway, or when the consumer is thread-safe and doesn't care. Cached responses are delivered on the thread that calls
+   * {@code execute} then.
+   * <p>
+   * Same-thread delivery is disabled by default, even if the subscribe and observe schedulers are the same one: an {@code Observable}
+   * that emits on a thread of its own, such as a timer, is still moved to the observe scheduler then.
+   *
+   * @param enabled {@code true} to deliver responses on the thread they are emitted on
+   *
+   * @since 1.0.0
+   */
+  protected final void setSameThreadDelivery(boolean enabled) {
+    sameThreadDelivery = enabled;
+  }
+
+  /**
+   * Returns the key executions are coalesced, superseded and cached by.
+   * <p>
+   * The request message itself is used by default, so it must implement {@code equals()} and {@code hashCode()}. Override this method if
+   * only a part of the request message identifies the result.
+   *
+   * @param requestModel the request message
+   *
+   * @return the key of the request message, can be {@code null}
+   *
+   * @see #setCoalescingEnabled(boolean)
+   * @since 1.0.0
+   */
+  @Nullable
+  protected Object requestKey(@Nullable RequestModel requestModel) {
+    return requestModel;
   }
 
   /**
@@ -243,4 +600,107 @@ public abstract class Interactor<RequestModel, ResponseModel> implements Subscri
    */
   @Nonnull
   protected abstract Observable<ResponseModel> createObservable(@Nullable RequestModel requestModel);
+
+  /**
+   * Moves notifications of the source to the observe scheduler.
+   */
+  @Nonnull
+  Observable<ResponseModel> observe(@Nonnull Observable<ResponseModel> source, @Nonnull Scheduler observeScheduler) {
+    return sameThreadDelivery ? source : schedulers.observeOn(source);
+  }
+
+  /**
+   * Returns {@code true} if notifications of the source are delivered on the thread they are emitted on.
+   */
+  final boolean isObserveOnSkipped() {
+    return sameThreadDelivery || !schedulers.switchesThreads();
+  }
+
+  @Nonnull
+  private Observable<ResponseModel> source(@Nullable RequestModel requestModel, @Nullable ExecutionProbe<ResponseModel> probe) {
+    final ResultCache<ResponseModel> cache = resultCache;
+    if (sharedExecutions == null && cache == null && executionLimiter == null) {
+      return schedulers.subscribeOn(create(requestModel, probe));
+    }
+    return managedSource(requestModel, probe, cache);
+  }
+
+  @Nonnull
+  private Observable<ResponseModel> managedSource(@Nullable RequestModel requestModel, @Nullable ExecutionProbe<ResponseModel> probe,
+      @Nullable ResultCache<ResponseModel> cache) {
+    final Object key = requestKey(requestModel);
+    final ResponseModel cached = cache == null ? null : cache.get(key);
+    final Revalidations currentRevalidations = revalidations;
+    if (currentRevalidations == null || cache == null) {
+      return cached != null ? Observable.just(cached) : execution(requestModel, probe, key, cache);
+    }
+    final boolean revalidate = currentRevalidations.tryStart(key, subscribeScheduler.now());
+    if (cached == null) {
+      return execution(requestModel, probe, key, cache);
+    }
+    if (!revalidate) {
+      return Observable.just(cached);
+    }
+    return Observable.just(cached)
+        .concatWith(execution(requestModel, probe, key, cache).filter(new NotEqual<>(cached)));
+  }
+
+  @Nonnull
+  private Observable<ResponseModel> execution(@Nullable RequestModel requestModel, @Nullable ExecutionProbe<ResponseModel> probe,
+      @Nullable Object key, @Nullable ResultCache<ResponseModel> cache) {
+    final SharedExecutions<ResponseModel> shared = sharedExecutions;
+    final Observable<ResponseModel> execution = shared == null ? null : shared.get(key);
+    if (execution != null) {
+      return execution;
+    }
+    Observable<ResponseModel> source = schedulers.subscribeOn(create(requestModel, probe));
+    final ExecutionLimiter limiter = executionLimiter;
+    if (limiter != null) {
+      source = limiter.limit(source);
+    }
+    if (cache != null) {
+      source = source.doOnNext(new CachePut<>(cache, key));
+    }
+    return shared == null ? source : shared.share(key, source);
+  }
+
+  @Nonnull
+  private Observable<ResponseModel> create(@Nullable RequestModel requestModel, @Nullable ExecutionProbe<ResponseModel> probe) {
+    Observable<ResponseModel> source = createObservable(requestModel);
+    final RxViperHook[] hooks = RxViperHooks.hooks();
+    if (hooks != null) {
+      source = RxViperHooks.onCreateObservable(hooks, this, requestModel, source);
+    }
+    return probe == null ? source : source.doOnSubscribe(probe);
+  }
+
+  private static final class NotEqual<V> implements Func1<V, Boolean> {
+    @Nonnull private final V value;
+
+    NotEqual(@Nonnull V value) {
+      this.value = value;
+    }
+
+    @Override
+    public Boolean call(V other) {
+      return !value.equals(other);
+    }
+  }
+
+  private static final class CachePut<V> implements Action1<V> {
+    @Nonnull private final  ResultCache<V> cache;
+    @Nullable private final Object         key;
+
+    CachePut(@Nonnull ResultCache<V> cache, @Nullable Object key) {
+      this.cache = cache;
+      this.key = key;
+    }
+
+    @Override
+    public void call(V value) {
+      if (value != null) {
+        cache.put(key, value);
+      }
+    }
+  }
 }
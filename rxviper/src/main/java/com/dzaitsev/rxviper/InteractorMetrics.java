@@ -0,0 +1,214 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * {@link ExecutionListener} that aggregates metrics of executions per interactor class:
+ * <pre>{@code
+ * final InteractorMetrics metrics = new InteractorMetrics();
+ * RxViper.setExecutionListener(metrics);
+ * ...
+ * final InteractorMetrics.Stats stats = metrics.getStats(SearchInteractor.class);
+ * report(stats.getInFlight(), stats.getErrors(), stats.getDuration().getPercentile(99, TimeUnit.MILLISECONDS));
+ * }</pre>
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+public final class InteractorMetrics implements ExecutionListener {
+  @Nonnull private final ConcurrentMap<Class<?>, Stats> stats = new ConcurrentHashMap<>();
+
+  /**
+   * Returns metrics of executions of the interactor class.
+   *
+   * @param interactorClass the class of interactors
+   *
+   * @return the metrics, or {@code null} if no interactor of the class has been executed yet
+   *
+   * @since 1.0.0
+   */
+  @Nullable
+  public Stats getStats(@Nonnull Class<?> interactorClass) {
+    return stats.get(interactorClass);
+  }
+
+  /**
+   * Returns classes of interactors executed so far.
+   *
+   * @return a snapshot of interactor classes
+   *
+   * @since 1.0.0
+   */
+  @Nonnull
+  public Set<Class<?>> getInteractorClasses() {
+    return new HashSet<>(stats.keySet());
+  }
+
+  @Override
+  public void onExecutionStarted(@Nonnull Class<?> interactorClass) {
+    final Stats classStats = statsOf(interactorClass);
+    classStats.executions.incrementAndGet();
+    classStats.inFlight.incrementAndGet();
+  }
+
+  @Override
+  public void onExecutionFinished(@Nonnull Class<?> interactorClass, @Nonnull ExecutionOutcome outcome, long queueTimeNanos,
+      long firstEmissionNanos, long durationNanos, long emissions) {
+    final Stats classStats = statsOf(interactorClass);
+    classStats.inFlight.decrementAndGet();
+    switch (outcome) {
+      case SUCCESS:
+        classStats.successes.incrementAndGet();
+        break;
+      case ERROR:
+        classStats.errors.incrementAndGet();
+        break;
+      default:
+        classStats.cancellations.incrementAndGet();
+        break;
+    }
+    classStats.emissions.addAndGet(emissions);
+    classStats.queueTime.record(queueTimeNanos);
+    classStats.firstEmission.record(firstEmissionNanos);
+    classStats.duration.record(durationNanos);
+  }
+
+  @Nonnull
+  private Stats statsOf(@Nonnull Class<?> interactorClass) {
+    Stats classStats = stats.get(interactorClass);
+    if (classStats == null) {
+      final Stats newStats = new Stats();
+      classStats = stats.putIfAbsent(interactorClass, newStats);
+      if (classStats == null) {
+        classStats = newStats;
+      }
+    }
+    return classStats;
+  }
+
+  /**
+   * Metrics of executions of a single interactor class.
+   *
+   * @since 1.0.0
+   */
+  public static final class Stats {
+    @Nonnull final AtomicLong       executions    = new AtomicLong();
+    @Nonnull final AtomicLong       successes     = new AtomicLong();
+    @Nonnull final AtomicLong       errors        = new AtomicLong();
+    @Nonnull final AtomicLong       cancellations = new AtomicLong();
+    @Nonnull final AtomicLong       inFlight      = new AtomicLong();
+    @Nonnull final AtomicLong       emissions     = new AtomicLong();
+    @Nonnull final LatencyHistogram queueTime     = new LatencyHistogram();
+    @Nonnull final LatencyHistogram firstEmission = new LatencyHistogram();
+    @Nonnull final LatencyHistogram duration      = new LatencyHistogram();
+
+    Stats() {
+    }
+
+    /**
+     * @return the number of started executions
+     *
+     * @since 1.0.0
+     */
+    public long getExecutions() {
+      return executions.get();
+    }
+
+    /**
+     * @return the number of completed executions
+     *
+     * @since 1.0.0
+     */
+    public long getSuccesses() {
+      return successes.get();
+    }
+
+    /**
+     * @return the number of failed executions
+     *
+     * @since 1.0.0
+     */
+    public long getErrors() {
+      return errors.get();
+    }
+
+    /**
+     * @return the number of executions unsubscribed before they terminated
+     *
+     * @since 1.0.0
+     */
+    public long getCancellations() {
+      return cancellations.get();
+    }
+
+    /**
+     * @return the number of executions started but not finished yet
+     *
+     * @since 1.0.0
+     */
+    public long getInFlight() {
+      return inFlight.get();
+    }
+
+    /**
+     * @return the number of responses delivered by all executions
+     *
+     * @since 1.0.0
+     */
+    public long getEmissions() {
+      return emissions.get();
+    }
+
+    /**
+     * @return the histogram of times executions waited for the subscribe scheduler, see {@link ExecutionListener#onExecutionFinished}
+     *
+     * @since 1.0.0
+     */
+    @Nonnull
+    public LatencyHistogram getQueueTime() {
+      return queueTime;
+    }
+
+    /**
+     * @return the histogram of times to the first response of executions that delivered any
+     *
+     * @since 1.0.0
+     */
+    @Nonnull
+    public LatencyHistogram getTimeToFirstEmission() {
+      return firstEmission;
+    }
+
+    /**
+     * @return the histogram of total durations of executions
+     *
+     * @since 1.0.0
+     */
+    @Nonnull
+    public LatencyHistogram getDuration() {
+      return duration;
+    }
+  }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nonnull;
+
+/**
+ * Cache of method invokers of a single proxied interface.
+ * <p>
+ * Invokers are spun with {@code LambdaMetafactory} or backed by {@link MethodHandle}s where {@code java.lang.invoke} is available, and by
+ * {@link Method#invoke} otherwise (Android prior to 8.0).
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+final class Invokers {
+  private static final boolean              METHOD_HANDLES = isMethodHandlesSupported();
+  private static final ClassCache<Invokers> REGISTRY       = new ClassCache<Invokers>() {
+    @Nonnull
+    @Override
+    Invokers compute(@Nonnull Class<?> type) {
+      return new Invokers();
+    }
+  };
+
+  private final ConcurrentMap<Method, Invoker> invokers = new ConcurrentHashMap<>();
+
+  /**
+   * Returns invokers shared by all proxies of the given type.
+   */
+  @Nonnull
+  static Invokers forType(@Nonnull Class<?> type) {
+    return REGISTRY.get(type);
+  }
+
+  @Nonnull
+  Invoker get(@Nonnull Method method) {
+    Invoker invoker = invokers.get(method);
+    if (invoker == null) {
+      final Invoker newInvoker = create(method);
+      invoker = invokers.putIfAbsent(method, newInvoker);
+      if (invoker == null) {
+        invoker = newInvoker;
+      }
+    }
+    return invoker;
+  }
+
+  @Nonnull
+  static Invoker create(@Nonnull Method method) {
+    if (!method.isAccessible()) {
+      method.setAccessible(true);
+    }
+    if (METHOD_HANDLES) {
+      try {
+        final Invoker invoker = LambdaInvokers.create(method);
+        if (invoker != null) {
+          return invoker;
+        }
+      } catch (Throwable ignored) {
+        // fall back to a method handle
+      }
+      try {
+        return new HandleInvoker(method);
+      } catch (Throwable ignored) {
+        // fall back to reflection
+      }
+    }
+    return new ReflectiveInvoker(method);
+  }
+
+  private static boolean isMethodHandlesSupported() {
+    try {
+      Class.forName("java.lang.invoke.MethodHandles");
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
+  abstract static class Invoker {
+    /**
+     * Invokes the method on the target. Exceptions thrown by the method are rethrown as is.
+     */
+    abstract Object invoke(@Nonnull Object target, Object[] args) throws Throwable;
+  }
+
+  static final class HandleInvoker extends Invoker {
+    private static final MethodType TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private final MethodHandle handle;
+
+    HandleInvoker(Method method) throws IllegalAccessException {
+      handle = MethodHandles.lookup()
+          .unreflect(method)
+          .asSpreader(Object[].class, method.getParameterTypes().length)
+          .asType(TYPE);
+    }
+
+    @Override
+    Object invoke(@Nonnull Object target, Object[] args) throws Throwable {
+      return (Object) handle.invokeExact(target, args);
+    }
+  }
+
+  /**
+   * Spins invokers with {@code LambdaMetafactory} so that the JIT can inline the call to the target. It is looked up reflectively to
+   * stay compatible with Java 7 and Android. Only void methods with up to three parameters are supported.
+   */
+  static final class LambdaInvokers {
+    private static final MethodHandle METAFACTORY = findMetafactory();
+    private static final String       NAME        = "call";
+    private static final Class<?>[]   SAM_TYPES   = { Call0.class, Call1.class, Call2.class, Call3.class };
+
+    private LambdaInvokers() {
+      throw new AssertionError("No instances please!");
+    }
+
+    /**
+     * @return the invoker, or {@code null} if the method can't be handled by {@code LambdaMetafactory}
+     */
+    static Invoker create(Method method) throws Throwable {
+      final Class<?> type = method.getDeclaringClass();
+      final Class<?>[] parameterTypes = method.getParameterTypes();
+      if (METAFACTORY == null || method.getReturnType() != Void.TYPE || parameterTypes.length > 3 || !isVisible(type)) {
+        return null;
+      }
+      final Class<?> samType = SAM_TYPES[parameterTypes.length];
+      final MethodHandles.Lookup lookup = MethodHandles.lookup();
+      final MethodHandle implementation = lookup.unreflect(method);
+      final MethodType erased = MethodType.genericMethodType(parameterTypes.length + 1)
+          .changeReturnType(void.class);
+      final MethodType instantiated = implementation.type()
+          .wrap()
+          .changeReturnType(void.class);
+      final Object callSite = METAFACTORY.invokeWithArguments(lookup, NAME, MethodType.methodType(samType), erased, implementation,
+          instantiated);
+      final Object call = ((CallSite) callSite).getTarget()
+          .invokeWithArguments();
+      switch (parameterTypes.length) {
+        case 0:
+          return new Invoker0((Call0) call);
+        case 1:
+          return new Invoker1((Call1) call);
+        case 2:
+          return new Invoker2((Call2) call);
+        default:
+          return new Invoker3((Call3) call);
+      }
+    }
+
+    private static boolean isVisible(Class<?> type) {
+      try {
+        return Class.forName(type.getName(), false, Invokers.class.getClassLoader()) == type;
+      } catch (ClassNotFoundException e) {
+        return false;
+      }
+    }
+
+    private static MethodHandle findMetafactory() {
+      try {
+        final Class<?> metafactory = Class.forName("java.lang.invoke.LambdaMetafactory");
+        return MethodHandles.publicLookup()
+            .findStatic(metafactory, "metafactory",
+                MethodType.methodType(CallSite.class, MethodHandles.Lookup.class, String.class, MethodType.class,
+                    MethodType.class, MethodHandle.class, MethodType.class));
+      } catch (Throwable e) {
+        return null;
+      }
+    }
+
+    interface Call0 {
+      void call(Object target);
+    }
+
+    interface Call1 {
+      void call(Object target, Object arg0);
+    }
+
+    interface Call2 {
+      void call(Object target, Object arg0, Object arg1);
+    }
+
+    interface Call3 {
+      void call(Object target, Object arg0, Object arg1, Object arg2);
+    }
+
+    static final class Invoker0 extends Invoker {
+      private final Call0 call;
+
+      Invoker0(Call0 call) {
+        this.call = call;
+      }
+
+      @Override
+      Object invoke(@Nonnull Object target, Object[] args) {
+        call.call(target);
+        return null;
+      }
+    }
+
+    static final class Invoker1 extends Invoker {
+      private final Call1 call;
+
+      Invoker1(Call1 call) {
+        this.call = call;
+      }
+
+      @Override
+      Object invoke(@Nonnull Object target, Object[] args) {
+        call.call(target, args[0]);
+        return null;
+      }
+    }
+
+    static final class Invoker2 extends Invoker {
+      private final Call2 call;
+
+      Invoker2(Call2 call) {
+        this.call = call;
+      }
+
+      @Override
+      Object invoke(@Nonnull Object target, Object[] args) {
+        call.call(target, args[0], args[1]);
+        return null;
+      }
+    }
+
+    static final class Invoker3 extends Invoker {
+      private final Call3 call;
+
+      Invoker3(Call3 call) {
+        this.call = call;
+      }
+
+      @Override
+      Object invoke(@Nonnull Object target, Object[] args) {
+        call.call(target, args[0], args[1], args[2]);
+        return null;
+      }
+    }
+  }
+
+  static final class ReflectiveInvoker extends Invoker {
+    private final Method method;
+
+    ReflectiveInvoker(Method method) {
+      this.method = method;
+    }
+
+    @Override
+    Object invoke(@Nonnull Object target, Object[] args) throws Throwable {
+      try {
+        return method.invoke(target, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+  }
+}
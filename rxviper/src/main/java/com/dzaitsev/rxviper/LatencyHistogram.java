@@ -0,0 +1,140 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.annotation.Nonnull;
+
+import static com.dzaitsev.rxviper.RxViper.requireNotNull;
+
+/**
+ * Histogram of latencies with buckets of powers of two nanoseconds.
+ * <p>
+ * Recording is lock-free and doesn't allocate. Percentiles are reported as the upper bound of their bucket, so they are accurate within
+ * a factor of two, which is enough to tell a queueing problem from a slow backend.
+ *
+ * @author Dmytro Zaitsev
+ * @see InteractorMetrics
+ * @since 1.0.0
+ */
+public final class LatencyHistogram {
+  private static final int BUCKETS = 64;
+
+  // bucket i holds latencies in [2^(i-1), 2^i) nanoseconds, bucket 0 holds zeros
+  @Nonnull private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+  @Nonnull private final AtomicLong      count   = new AtomicLong();
+  @Nonnull private final AtomicLong      sum     = new AtomicLong();
+  @Nonnull private final AtomicLong      max     = new AtomicLong();
+
+  LatencyHistogram() {
+  }
+
+  void record(long nanos) {
+    if (nanos < 0) {
+      return;
+    }
+    buckets.incrementAndGet(Math.min(BUCKETS - Long.numberOfLeadingZeros(nanos), BUCKETS - 1));
+    count.incrementAndGet();
+    sum.addAndGet(nanos);
+    long currentMax;
+    do {
+      currentMax = max.get();
+    } while (nanos > currentMax && !max.compareAndSet(currentMax, nanos));
+  }
+
+  /**
+   * Returns the number of recorded latencies.
+   *
+   * @return the number of recorded latencies
+   *
+   * @since 1.0.0
+   */
+  public long getCount() {
+    return count.get();
+  }
+
+  /**
+   * Returns the mean of recorded latencies.
+   *
+   * @param unit the unit of the result
+   *
+   * @return the mean latency, or {@code 0} if none has been recorded
+   *
+   * @throws IllegalArgumentException if {@code unit} is {@code null}
+   * @since 1.0.0
+   */
+  public long getMean(@Nonnull TimeUnit unit) {
+    requireNotNull(unit);
+    final long currentCount = count.get();
+    return currentCount == 0 ? 0 : unit.convert(sum.get() / currentCount, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Returns the maximum of recorded latencies.
+   *
+   * @param unit the unit of the result
+   *
+   * @return the maximum latency, or {@code 0} if none has been recorded
+   *
+   * @throws IllegalArgumentException if {@code unit} is {@code null}
+   * @since 1.0.0
+   */
+  public long getMax(@Nonnull TimeUnit unit) {
+    requireNotNull(unit);
+    return unit.convert(max.get(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Returns the latency that the given share of recorded latencies doesn't exceed.
+   *
+   * @param percentile the share of latencies, from {@code 0} to {@code 100}
+   * @param unit the unit of the result
+   *
+   * @return the upper bound of the bucket of the percentile, but no more than the maximum latency, or {@code 0} if none has been
+   *     recorded
+   *
+   * @throws IllegalArgumentException if {@code percentile} is out of range, or if {@code unit} is {@code null}
+   * @since 1.0.0
+   */
+  public long getPercentile(double percentile, @Nonnull TimeUnit unit) {
+    if (!(percentile >= 0 && percentile <= 100)) {
+      throw new IllegalArgumentException("percentile is out of [0, 100]: " + percentile);
+    }
+    requireNotNull(unit);
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      total += buckets.get(i);
+    }
+    if (total == 0) {
+      return 0;
+    }
+    final long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+    long seen = 0;
+    int bucket = 0;
+    while (bucket < BUCKETS - 1) {
+      seen += buckets.get(bucket);
+      if (seen >= rank) {
+        break;
+      }
+      bucket++;
+    }
+    final long upperBound = bucket == 0 ? 0 : bucket == BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    return unit.convert(Math.min(upperBound, max.get()), TimeUnit.NANOSECONDS);
+  }
+}
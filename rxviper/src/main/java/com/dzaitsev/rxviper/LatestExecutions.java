@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import rx.Subscriber;
+import rx.Subscription;
+import rx.functions.Action0;
+import rx.subscriptions.Subscriptions;
+
+/**
+ * The latest executions by their request keys, or the single latest execution if the keys are ignored.
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+final class LatestExecutions {
+  private static final Object NULL_KEY = new Object();
+
+  @Nonnull private final ConcurrentMap<Object, Subscription> executions = new ConcurrentHashMap<>();
+  @Nonnull private final AtomicLong                          superseded = new AtomicLong();
+  final                  boolean                             byKey;
+
+  LatestExecutions(boolean byKey) {
+    this.byKey = byKey;
+  }
+
+  /**
+   * Makes the execution the latest one for the key and unsubscribes the previous one if it is still in flight. The execution is forgotten
+   * as soon as it is unsubscribed.
+   */
+  void supersede(@Nullable Object key, @Nonnull Subscriber<?> execution) {
+    final Object mapKey = !byKey || key == null ? NULL_KEY : key;
+    final Subscription previous = executions.put(mapKey, execution);
+    if (previous != null && !previous.isUnsubscribed()) {
+      superseded.incrementAndGet();
+      previous.unsubscribe();
+    }
+    execution.add(Subscriptions.create(new Removal(mapKey, execution)));
+  }
+
+  /**
+   * Returns the number of executions unsubscribed before they finished because later ones were started.
+   */
+  long superseded() {
+    return superseded.get();
+  }
+
+  int size() {
+    return executions.size();
+  }
+
+  private final class Removal implements Action0 {
+    @Nonnull final Object       key;
+    @Nonnull final Subscription execution;
+
+    Removal(@Nonnull Object key, @Nonnull Subscription execution) {
+      this.key = key;
+      this.execution = execution;
+    }
+
+    @Override
+    public void call() {
+      executions.remove(key, execution);
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Watches views and routers attached strongly to presenters, and reports those that are never dropped before their presenter becomes
+ * unreachable.
+ * <p>
+ * A watch starts when a target is attached strongly and ends when it is dropped. It references the presenter weakly and doesn't reference
+ * the target at all, so watching never keeps either of them in memory. Targets are watched only while a {@link LeakListener} is set,
+ * which is meant for debug builds.
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+final class LeakDetector {
+  private static final    ReferenceQueue<Object> QUEUE   = new ReferenceQueue<>();
+  // keeps watches reachable until their presenters are collected or their targets are dropped
+  private static final    Set<Watch>             WATCHES = Collections.newSetFromMap(new ConcurrentHashMap<Watch, Boolean>());
+  private static volatile LeakListener           listener;
+  private static          Thread                 thread;
+
+  private LeakDetector() {
+    throw new AssertionError("No instances please!");
+  }
+
+  static synchronized void setListener(@Nullable LeakListener newListener) {
+    listener = newListener;
+    if (newListener == null) {
+      WATCHES.clear();
+    } else if (thread == null) {
+      thread = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          processQueue();
+        }
+      }, "RxViper-LeakDetector");
+      thread.setDaemon(true);
+      thread.start();
+    }
+  }
+
+  static boolean isEnabled() {
+    return listener != null;
+  }
+
+  /**
+   * Starts watching a target that has just been attached strongly to the given presenter.
+   *
+   * @return the watch to pass to {@link #unwatch} once the target is dropped, or {@code null} if no listener is set
+   */
+  @Nullable
+  static Watch watch(@Nonnull Object presenter, @Nonnull Object target) {
+    if (listener == null) {
+      return null;
+    }
+    final Watch watch = new Watch(presenter, target.getClass());
+    WATCHES.add(watch);
+    return watch;
+  }
+
+  /**
+   * Stops watching a target that has been dropped.
+   */
+  static void unwatch(@Nullable Watch watch) {
+    if (watch != null) {
+      WATCHES.remove(watch);
+    }
+  }
+
+  private static void processQueue() {
+    while (true) {
+      final Reference<?> collected;
+      try {
+        collected = QUEUE.remove();
+      } catch (InterruptedException e) {
+        return;
+      }
+      // the presenter is gone, but it has never dropped the target
+      if (WATCHES.remove(collected)) {
+        final Watch watch = (Watch) collected;
+        final LeakListener currentListener = listener;
+        if (currentListener != null) {
+          currentListener.onLeak(watch.presenterClass, watch.targetClass);
+        }
+      }
+    }
+  }
+
+  static final class Watch extends WeakReference<Object> {
+    @Nonnull final Class<?> presenterClass;
+    @Nonnull final Class<?> targetClass;
+
+    private Watch(@Nonnull Object presenter, @Nonnull Class<?> targetClass) {
+      super(presenter, QUEUE);
+      presenterClass = presenter.getClass();
+      this.targetClass = targetClass;
+    }
+  }
+}
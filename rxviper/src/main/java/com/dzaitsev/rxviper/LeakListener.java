@@ -0,0 +1,40 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Receives views and routers that a presenter held strongly and never dropped before it became unreachable, i.e. that the presenter kept
+ * in memory for as long as it lived.
+ *
+ * @author Dmytro Zaitsev
+ * @see RxViper#setLeakListener(LeakListener)
+ * @since 1.0.0
+ */
+public interface LeakListener {
+  /**
+   * Called on a background thread when a leak is detected. The presenter and the target may be collected already, so only their classes
+   * are passed.
+   *
+   * @param presenterClass the class of the presenter that has never dropped the target
+   * @param targetClass the class of the view or router that has never been dropped
+   *
+   * @since 1.0.0
+   */
+  void onLeak(@Nonnull Class<?> presenterClass, @Nonnull Class<?> targetClass);
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import rx.Scheduler;
+import rx.schedulers.Schedulers;
+
+import static com.dzaitsev.rxviper.RxViper.requireNotNull;
+
+/**
+ * In-memory {@link ResultCache} that evicts least recently used responses once its bound is exceeded.
+ * <p>
+ * The cache is bounded either by the number of entries or by their total weight. Entries can also expire after a fixed time since they
+ * were written. Expired entries are evicted lazily: when they are accessed, or when room is made for new entries and they are the least
+ * recently used ones.
+ * <pre>{@code
+ * LruResultCache<Collection<Cheese>> cache = LruResultCache.<Collection<Cheese>>builder()
+ *     .maxEntries(16)
+ *     .expireAfterWrite(5, TimeUnit.MINUTES)
+ *     .build();
+ * }</pre>
+ *
+ * @param <V> the type of cached responses
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+public final class LruResultCache<V> implements ResultCache<V> {
+  private static final Object NULL_KEY = new Object();
+
+  @Nonnull private final LinkedHashMap<Object, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+  @Nonnull private final Weigher<? super V>               weigher;
+  private final          long                             maxWeight;
+  private final          long                             expireAfterWriteMillis;
+  @Nonnull private final Scheduler                        clock;
+  private                long                             weight;
+  private                long                             hitCount;
+  private                long                             missCount;
+  private                long                             evictionCount;
+
+  LruResultCache(@Nonnull Builder<V> builder) {
+    weigher = builder.weigher;
+    maxWeight = builder.maxWeight;
+    expireAfterWriteMillis = builder.expireAfterWriteMillis;
+    clock = builder.clock;
+  }
+
+  /**
+   * Creates a builder of a cache.
+   *
+   * @param <V> the type of cached responses
+   *
+   * @return a new builder
+   *
+   * @since 1.0.0
+   */
+  @Nonnull
+  public static <V> Builder<V> builder() {
+    return new Builder<>();
+  }
+
+  @Nullable
+  @Override
+  public synchronized V get(@Nullable Object key) {
+    final Object mapKey = mapKey(key);
+    final Entry<V> entry = entries.get(mapKey);
+    if (entry == null) {
+      missCount++;
+      return null;
+    }
+    if (isExpired(entry, clock.now())) {
+      remove(mapKey);
+      evictionCount++;
+      missCount++;
+      return null;
+    }
+    hitCount++;
+    return entry.value;
+  }
+
+  @Override
+  public synchronized void put(@Nullable Object key, @Nonnull V value) {
+    requireNotNull(value);
+    final int entryWeight = weigher.weigh(value);
+    if (entryWeight < 0) {
+      throw new IllegalStateException("Weight of " + value + " is negative: " + entryWeight);
+    }
+    remove(mapKey(key));
+    if (entryWeight > maxWeight) {
+      // would evict everything else and still not fit
+      evictionCount++;
+      return;
+    }
+    entries.put(mapKey(key), new Entry<>(value, entryWeight, clock.now()));
+    weight += entryWeight;
+    evict();
+  }
+
+  @Override
+  public synchronized void invalidate(@Nullable Object key) {
+    remove(mapKey(key));
+  }
+
+  @Override
+  public synchronized void invalidateAll() {
+    entries.clear();
+    weight = 0;
+  }
+
+  /**
+   * @return the number of cached responses, including expired ones that haven't been evicted yet
+   *
+   * @since 1.0.0
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * @return the number of times {@link #get} returned a cached response
+   *
+   * @since 1.0.0
+   */
+  public synchronized long hitCount() {
+    return hitCount;
+  }
+
+  /**
+   * @return the number of times {@link #get} returned {@code null}
+   *
+   * @since 1.0.0
+   */
+  public synchronized long missCount() {
+    return missCount;
+  }
+
+  /**
+   * @return the number of responses evicted because the cache was full or they expired
+   *
+   * @since 1.0.0
+   */
+  public synchronized long evictionCount() {
+    return evictionCount;
+  }
+
+  private void evict() {
+    final Iterator<Entry<V>> iterator = entries.values()
+        .iterator();
+    while (weight > maxWeight && iterator.hasNext()) {
+      final Entry<V> entry = iterator.next();
+      iterator.remove();
+      weight -= entry.weight;
+      evictionCount++;
+    }
+  }
+
+  private void remove(@Nonnull Object mapKey) {
+    final Entry<V> entry = entries.remove(mapKey);
+    if (entry != null) {
+      weight -= entry.weight;
+    }
+  }
+
+  private boolean isExpired(@Nonnull Entry<V> entry, long now) {
+    return expireAfterWriteMillis > 0 && now - entry.writtenAt >= expireAfterWriteMillis;
+  }
+
+  @Nonnull
+  private static Object mapKey(@Nullable Object key) {
+    return key == null ? NULL_KEY : key;
+  }
+
+  /**
+   * Calculates weights of cached responses.
+   *
+   * @param <V> the type of cached responses
+   *
+   * @since 1.0.0
+   */
+  public interface Weigher<V> {
+    /**
+     * @param value the response
+     *
+     * @return the weight of the response, must not be negative
+     *
+     * @since 1.0.0
+     */
+    int weigh(@Nonnull V value);
+  }
+
+  /**
+   * Builder of {@link LruResultCache}.
+   *
+   * @param <V> the type of cached responses
+   *
+   * @since 1.0.0
+   */
+  public static final class Builder<V> {
+    private static final Weigher<Object> SINGLETON_WEIGHER = new Weigher<Object>() {
+      @Override
+      public int weigh(@Nonnull Object value) {
+        return 1;
+      }
+    };
+
+    private Weigher<? super V> weigher                = SINGLETON_WEIGHER;
+    private long               maxWeight              = -1;
+    private long               expireAfterWriteMillis;
+    private Scheduler          clock                  = Schedulers.immediate();
+
+    Builder() {
+    }
+
+    /**
+     * Bounds the cache by the number of entries.
+     *
+     * @param maxEntries the maximum number of cached responses
+     *
+     * @return this builder
+     *
+     * @throws IllegalArgumentException if {@code maxEntries} is not positive
+     * @throws IllegalStateException if the bound is already set
+     * @since 1.0.0
+     */
+    @Nonnull
+    public Builder<V> maxEntries(long maxEntries) {
+      return maxWeight(maxEntries, SINGLETON_WEIGHER);
+    }
+
+    /**
+     * Bounds the cache by the total weight of entries.
+     *
+     * @param maxWeight the maximum total weight of cached responses
+     * @param weigher the weigher of responses
+     *
+     * @return this builder
+     *
+     * @throws IllegalArgumentException if {@code maxWeight} is not positive or {@code weigher} is {@code null}
+     * @throws IllegalStateException if the bound is already set
+     * @since 1.0.0
+     */
+    @Nonnull
+    public Builder<V> maxWeight(long maxWeight, @Nonnull Weigher<? super V> weigher) {
+      if (maxWeight <= 0) {
+        throw new IllegalArgumentException("maxWeight <= 0: " + maxWeight);
+      }
+      requireNotNull(weigher);
+      RxViper.check(this.maxWeight < 0, "The bound is already set.");
+      this.maxWeight = maxWeight;
+      this.weigher = weigher;
+      return this;
+    }
+
+    /**
+     * Makes entries expire after a fixed time since they were written.
+     *
+     * @param duration the time entries are kept for
+     * @param unit the time unit of {@code duration}
+     *
+     * @return this builder
+     *
+     * @throws IllegalArgumentException if {@code duration} is not positive or {@code unit} is {@code null}
+     * @since 1.0.0
+     */
+    @Nonnull
+    public Builder<V> expireAfterWrite(long duration, @Nonnull TimeUnit unit) {
+      if (duration <= 0) {
+        throw new IllegalArgumentException("duration <= 0: " + duration);
+      }
+      requireNotNull(unit);
+      expireAfterWriteMillis = unit.toMillis(duration);
+      return this;
+    }
+
+    /**
+     * Sets the source of the current time. {@link Schedulers#immediate()} is used by default.
+     *
+     * @param clock the scheduler whose {@link Scheduler#now()} is the current time
+     *
+     * @return this builder
+     *
+     * @throws IllegalArgumentException if {@code clock} is {@code null}
+     * @since 1.0.0
+     */
+    @Nonnull
+    public Builder<V> clock(@Nonnull Scheduler clock) {
+      this.clock = requireNotNull(clock);
+      return this;
+    }
+
+    /**
+     * @return a new cache
+     *
+     * @throws IllegalStateException if neither {@link #maxEntries} nor {@link #maxWeight} is set
+     * @since 1.0.0
+     */
+    @Nonnull
+    public LruResultCache<V> build() {
+      RxViper.check(maxWeight > 0, "Either maxEntries or maxWeight must be set.");
+      return new LruResultCache<>(this);
+    }
+  }
+
+  private static final class Entry<V> {
+    @Nonnull final V    value;
+    final          int  weight;
+    final          long writtenAt;
+
+    Entry(@Nonnull V value, int weight, long writtenAt) {
+      this.value = value;
+      this.weight = weight;
+      this.writtenAt = writtenAt;
+    }
+  }
+}
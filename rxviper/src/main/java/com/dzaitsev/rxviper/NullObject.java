@@ -19,48 +19,460 @@ package com.dzaitsev.rxviper;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import rx.Scheduler;
+import rx.functions.Action0;
+import rx.functions.Action1;
 
 /**
  * Implementation of <a href="https://en.wikipedia.org/wiki/Null_Object_pattern">Null Object pattern</a>.
+ * <p>
+ * The attached target is published safely without locks: calls from any thread see either the attached target or none.
  *
  * @author Dmytro Zaitsev
  * @since 0.11.0
  */
 final class NullObject<T> implements InvocationHandler {
-  private WeakReference<T> targetRef;
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<NullObject, Attachment> ATTACHMENT = AtomicReferenceFieldUpdater.newUpdater(
+      NullObject.class, Attachment.class, "attachment");
+
+  // states of an attachment
+  static final int TAKING       = 0;
+  static final int ATTACHED     = 1;
+  static final int DROP_PENDING = 2;
+  static final int DROPPING     = 3;
+
+  @Nonnull private final Invokers         invokers;
+  private volatile       Attachment<T>    attachment;
+  private volatile       CommandBuffer    buffer;
+  private volatile       Coalescer        coalescer;
+  private volatile       Scheduler        scheduler;
+  private volatile       Scheduler.Worker worker;
+  private volatile       boolean          strong;
 
   NullObject(@Nullable T target) {
+    this(target, new Invokers());
+  }
+
+  NullObject(@Nullable T target, @Nonnull Invokers invokers) {
+    this.invokers = invokers;
     set(target);
   }
 
   @Override
-  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+  public Object invoke(Object proxy, final Method method, final Object[] args) throws Throwable {
+    final Coalescer coalescer = this.coalescer;
+    if (coalescer != null && method.getReturnType() == Void.TYPE) {
+      coalescer.submit(method, args);
+      return null;
+    }
+    final Scheduler.Worker worker = method.getReturnType() == Void.TYPE ? worker() : null;
+    if (worker != null) {
+      worker.schedule(new Action0() {
+        @Override
+        public void call() {
+          deliver(method, args);
+        }
+      });
+      return null;
+    }
+    return invokeTarget(method, args);
+  }
+
+  /**
+   * Runs a batch of calls as a single task on the scheduler given to {@link #scheduleOn}, or right away if there is no scheduler.
+   * <p>
+   * The batch gets the attached target if calls can be delivered to it directly, and the {@code proxy} if they are coalesced. If no target
+   * is attached when the batch runs, it is skipped.
+   */
+  void batch(@Nonnull final T proxy, @Nonnull final Action1<? super T> batch) {
+    final Scheduler.Worker worker = worker();
+    if (worker == null) {
+      runBatch(proxy, batch);
+    } else {
+      worker.schedule(new Action0() {
+        @Override
+        public void call() {
+          runBatch(proxy, batch);
+        }
+      });
+    }
+  }
+
+  private void runBatch(@Nonnull T proxy, @Nonnull Action1<? super T> batch) {
+    final T target = get();
+    if (target != null) {
+      batch.call(coalescer == null ? target : proxy);
+    }
+  }
+
+  /**
+   * Delivers a call that has been held back, e.g. by a {@link Coalescer}.
+   */
+  void deliver(@Nonnull Method method, Object[] args) {
+    try {
+      invokeTarget(method, args);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new UndeclaredThrowableException(t);
+    }
+  }
+
+  private Object invokeTarget(Method method, Object[] args) throws Throwable {
     final T target = get();
     if (target == null) {
+      final CommandBuffer buffer = this.buffer;
+      if (buffer != null && method.getReturnType() == Void.TYPE) {
+        buffer.add(method, args);
+      }
       return null;
     } else {
-      if (!method.isAccessible()) {
-        method.setAccessible(true);
+      return call(target, method, args);
+    }
+  }
+
+  private Object call(@Nonnull T target, @Nonnull Method method, Object[] args) throws Throwable {
+    final RxViperHook[] hooks = RxViperHooks.hooks();
+    if (hooks != null) {
+      RxViperHooks.onDispatch(hooks, target, method, args);
+    }
+    return invokers.get(method)
+        .invoke(target, args);
+  }
+
+  /**
+   * Starts recording calls made while no target is attached, or stops it if {@code maxSize} is {@code 0}. Already recorded calls are
+   * discarded.
+   */
+  void buffer(int maxSize) {
+    buffer = maxSize == 0 ? null : new CommandBuffer(maxSize);
+  }
+
+  /**
+   * Delivers the recorded calls to the attached target in the order they were made.
+   */
+  void replay() {
+    final CommandBuffer buffer = this.buffer;
+    final T target = get();
+    if (buffer == null || target == null) {
+      return;
+    }
+    final List<CommandBuffer.Command> commands = buffer.drain();
+    for (int i = 0; i < commands.size(); i++) {
+      if (get() != target) {
+        // the target has been replaced by one of the replayed calls, keep the rest for the next one
+        for (CommandBuffer.Command command : commands.subList(i, commands.size())) {
+          buffer.add(command.method, command.args);
+        }
+        return;
+      }
+      final CommandBuffer.Command command = commands.get(i);
+      try {
+        call(target, command.method, command.args);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new UndeclaredThrowableException(t);
       }
-      return method.invoke(target, args);
     }
   }
 
-  void clear() {
-    if (targetRef != null) {
-      targetRef.clear();
-      targetRef = null;
+  /**
+   * Starts collapsing calls to the same method within a tick. Calls pending in a previous {@link Coalescer} are delivered right away.
+   */
+  void coalesce(long tick, @Nonnull TimeUnit unit, @Nonnull Scheduler scheduler) {
+    replaceCoalescer(new Coalescer(this, tick, unit, scheduler));
+  }
+
+  /**
+   * Stops collapsing calls. Pending calls are delivered right away.
+   */
+  void stopCoalescing() {
+    replaceCoalescer(null);
+  }
+
+  /**
+   * Returns the number of calls collapsed since coalescing was started.
+   */
+  long collapsed() {
+    final Coalescer coalescer = this.coalescer;
+    return coalescer == null ? 0 : coalescer.collapsed();
+  }
+
+  private void replaceCoalescer(@Nullable Coalescer newCoalescer) {
+    final Coalescer oldCoalescer = coalescer;
+    coalescer = newCoalescer;
+    if (oldCoalescer != null) {
+      oldCoalescer.release();
+    }
+  }
+
+  /**
+   * Delivers calls on the given scheduler, or on the calling thread if it is {@code null}. Calls already scheduled on a previous scheduler
+   * are still delivered there.
+   */
+  void scheduleOn(@Nullable Scheduler scheduler) {
+    final Scheduler.Worker oldWorker;
+    synchronized (this) {
+      this.scheduler = scheduler;
+      oldWorker = worker;
+      worker = null;
+    }
+    release(oldWorker);
+  }
+
+  /**
+   * Returns the worker of the scheduler given to {@link #scheduleOn}, creating it if it has been released, or {@code null} if there is no
+   * scheduler.
+   */
+  @Nullable
+  private Scheduler.Worker worker() {
+    Scheduler.Worker worker = this.worker;
+    if (worker == null && scheduler != null) {
+      synchronized (this) {
+        worker = this.worker;
+        final Scheduler scheduler = this.scheduler;
+        if (worker == null && scheduler != null) {
+          worker = scheduler.createWorker();
+          this.worker = worker;
+        }
+      }
+    }
+    return worker;
+  }
+
+  private static void release(@Nullable final Scheduler.Worker worker) {
+    if (worker != null) {
+      // workers run tasks in order, so the pending calls are delivered before it is released
+      worker.schedule(new Action0() {
+        @Override
+        public void call() {
+          worker.unsubscribe();
+        }
+      });
+    }
+  }
+
+  /**
+   * Returns the target if calls can be delivered to it directly, without going through {@link #invoke}.
+   */
+  @Nullable
+  T direct() {
+    // hooked calls go through dispatch
+    return coalescer == null && scheduler == null && RxViperHooks.hooks() == null ? get() : null;
+  }
+
+  /**
+   * Attaches the target, calling {@link Lifecycle#onTake} once it is attached. The previously attached target is dropped first: its
+   * {@code onDrop} is called while it is still attached. A target that is being taken concurrently is dropped by its taking thread once
+   * it is replaced.
+   * <p>
+   * For any target, {@code onTake} happens before {@code onDrop} even if the target is taken and dropped concurrently.
+   */
+  <O> void take(@Nonnull T target, @Nonnull O owner, @Nonnull Lifecycle<O, ? super T> lifecycle) {
+    final Attachment<T> taken = new Attachment<>(target, TAKING, strong);
+    Attachment<T> current;
+    while (true) {
+      current = attachment;
+      if (current != null && current.get() == target) {
+        final int state = current.state;
+        if (state == ATTACHED || state == TAKING) {
+          return;
+        }
+        if (state == DROP_PENDING) {
+          if (current.compareAndSetState(DROP_PENDING, TAKING)) {
+            // the pending drop is cancelled, the taking thread finishes as usual
+            return;
+          }
+          continue;
+        }
+      }
+      if (current != null && current.state == ATTACHED) {
+        // the replaced target is dropped before the new one is published, like dropView followed by takeView
+        final T replaced = current.get();
+        if (!current.compareAndSetState(ATTACHED, DROPPING)) {
+          continue;
+        }
+        if (replaced != null) {
+          lifecycle.onDrop(owner, replaced);
+          current.unwatch();
+        }
+      }
+      if (ATTACHMENT.compareAndSet(this, current, taken)) {
+        // no other thread drops the published attachment until it is attached
+        taken.watch(owner);
+        break;
+      }
+    }
+
+    if (current != null) {
+      dropReplaced(current, owner, lifecycle);
+    }
+    lifecycle.onTake(owner, target);
+    while (true) {
+      if (taken.compareAndSetState(TAKING, ATTACHED)) {
+        if (attachment != taken) {
+          // replaced while taking, the replacing thread has left dropping to us
+          dropReplaced(taken, owner, lifecycle);
+        }
+        return;
+      }
+      if (taken.compareAndSetState(DROP_PENDING, DROPPING)) {
+        // dropped while taking
+        lifecycle.onDrop(owner, target);
+        taken.unwatch();
+        detach(taken);
+        return;
+      }
     }
   }
 
+  /**
+   * Detaches the target if it is attached, calling {@link Lifecycle#onDrop} before it is detached. If the target is still being taken,
+   * the taking thread drops it as soon as {@link Lifecycle#onTake} returns.
+   */
+  <O> void drop(@Nonnull T target, @Nonnull O owner, @Nonnull Lifecycle<O, ? super T> lifecycle) {
+    while (true) {
+      final Attachment<T> current = attachment;
+      if (current == null || current.get() != target) {
+        return;
+      }
+      if (current.compareAndSetState(ATTACHED, DROPPING)) {
+        lifecycle.onDrop(owner, target);
+        current.unwatch();
+        detach(current);
+        return;
+      }
+      final int state = current.state;
+      if (state == DROP_PENDING || state == DROPPING || state == TAKING && current.compareAndSetState(TAKING, DROP_PENDING)) {
+        return;
+      }
+    }
+  }
+
+  private void detach(@Nonnull Attachment<T> dropped) {
+    if (ATTACHMENT.compareAndSet(this, dropped, null)) {
+      // nothing to deliver to until the next target, workers are created again on demand
+      final Coalescer coalescer = this.coalescer;
+      if (coalescer != null) {
+        coalescer.release();
+      }
+      final Scheduler.Worker worker;
+      synchronized (this) {
+        worker = this.worker;
+        this.worker = null;
+      }
+      release(worker);
+    }
+  }
+
+  private <O> void dropReplaced(@Nonnull Attachment<T> replaced, @Nonnull O owner, @Nonnull Lifecycle<O, ? super T> lifecycle) {
+    // a target that is still being taken is dropped by its taking thread
+    final T target = replaced.get();
+    if (target != null && replaced.compareAndSetState(ATTACHED, DROPPING)) {
+      lifecycle.onDrop(owner, target);
+      replaced.unwatch();
+    }
+  }
+
+  /**
+   * Holds targets attached from now on strongly, or weakly if {@code strong} is {@code false}. The current target is left as it is.
+   */
+  void strong(boolean strong) {
+    this.strong = strong;
+  }
+
+  /**
+   * Returns the attached target if it is held strongly.
+   */
+  @Nullable
+  T strongTarget() {
+    final Attachment<T> current = attachment;
+    return current == null || !current.isStrong() ? null : current.get();
+  }
+
+  void clear() {
+    ATTACHMENT.set(this, null);
+  }
+
   @Nullable
   T get() {
-    return targetRef == null ? null : targetRef.get();
+    final Attachment<T> current = attachment;
+    return current == null ? null : current.get();
   }
 
+  /**
+   * Attaches the target without any lifecycle callbacks.
+   */
   void set(@Nullable T target) {
-    clear();
-    targetRef = target == null ? null : new WeakReference<>(target);
+    ATTACHMENT.set(this, target == null ? null : new Attachment<>(target, ATTACHED, strong));
+  }
+
+  /**
+   * Callbacks of {@link #take} and {@link #drop}. The owner is passed explicitly, so that a single instance serves all owners.
+   */
+  interface Lifecycle<O, T> {
+    void onTake(@Nonnull O owner, @Nonnull T target);
+
+    void onDrop(@Nonnull O owner, @Nonnull T target);
+  }
+
+  /**
+   * Reference to an attached target and the state of its attachment. The state only moves forward, from {@code TAKING} to
+   * {@code DROPPING}, except for a pending drop cancelled by taking the same target again.
+   * <p>
+   * The target is held weakly, or strongly in the {@link #strong(boolean) strong mode}. A strongly held target is not passed to
+   * {@link WeakReference}, so it is never discovered by the garbage collector.
+   */
+  static final class Attachment<T> extends WeakReference<T> {
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<Attachment> STATE = AtomicIntegerFieldUpdater.newUpdater(Attachment.class, "state");
+
+    private final T                  strongTarget;
+    volatile      int                state;
+    private       LeakDetector.Watch watch;
+
+    Attachment(@Nonnull T target, int state, boolean strong) {
+      super(strong ? null : target);
+      strongTarget = strong ? target : null;
+      this.state = state;
+    }
+
+    @Override
+    public T get() {
+      final T target = strongTarget;
+      return target != null ? target : super.get();
+    }
+
+    boolean isStrong() {
+      return strongTarget != null;
+    }
+
+    /**
+     * Starts watching a strongly held target, which has to be dropped before its owner becomes unreachable. Attaching the target publishes
+     * the watch to the threads that drop it.
+     */
+    void watch(@Nonnull Object owner) {
+      final T target = strongTarget;
+      if (target != null) {
+        watch = LeakDetector.watch(owner, target);
+      }
+    }
+
+    void unwatch() {
+      LeakDetector.unwatch(watch);
+    }
+
+    boolean compareAndSetState(int expect, int update) {
+      return STATE.compareAndSet(this, expect, update);
+    }
   }
 }
@@ -16,8 +16,11 @@
 
 package com.dzaitsev.rxviper;
 
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import rx.Scheduler;
+import rx.functions.Action1;
 
 import static com.dzaitsev.rxviper.RxViper.getProxy;
 import static com.dzaitsev.rxviper.RxViper.requireNotNull;
@@ -30,7 +33,29 @@ import static com.dzaitsev.rxviper.RxViper.requireNotNull;
  * @since 0.1.0
  */
 public abstract class Presenter<V extends ViewCallbacks> {
-  @Nonnull private final V viewProxy = RxViper.createView(null, getClass());
+  private static final NullObject.Lifecycle<Presenter<ViewCallbacks>, ViewCallbacks> VIEW_LIFECYCLE =
+      new NullObject.Lifecycle<Presenter<ViewCallbacks>, ViewCallbacks>() {
+        @Override
+        public void onTake(@Nonnull Presenter<ViewCallbacks> presenter, @Nonnull ViewCallbacks view) {
+          final RxViperHook[] hooks = RxViperHooks.hooks();
+          if (hooks != null) {
+            RxViperHooks.onTakeView(hooks, presenter, view);
+          }
+          presenter.onTakeView(view);
+          getProxy(presenter.viewProxy).replay();
+        }
+
+        @Override
+        public void onDrop(@Nonnull Presenter<ViewCallbacks> presenter, @Nonnull ViewCallbacks view) {
+          final RxViperHook[] hooks = RxViperHooks.hooks();
+          if (hooks != null) {
+            RxViperHooks.onDropView(hooks, presenter, view);
+          }
+          presenter.onDropView(view);
+        }
+      };
+
+  @Nonnull private final V viewProxy;
 
   /**
    * Creates a presenter with pre-attached view.
@@ -43,7 +68,7 @@ public abstract class Presenter<V extends ViewCallbacks> {
    */
   protected Presenter(@Nonnull V view) {
     requireNotNull(view);
-    getProxy(viewProxy).set(view);
+    viewProxy = RxViper.createView(view, getClass());
   }
 
   /**
@@ -52,6 +77,37 @@ public abstract class Presenter<V extends ViewCallbacks> {
    * @since 0.11.0
    */
   protected Presenter() {
+    viewProxy = RxViper.createView(null, getClass());
+  }
+
+  /**
+   * Creates a presenter with pre-attached view for the explicitly given view interface.
+   * <p>
+   * Doesn't resolve the view interface from type arguments of this presenter. Doesn't call {@link #onTakeView} callback.
+   *
+   * @param viewClass the {@code ViewCallbacks} interface this presenter is parameterized with
+   * @param view the {@code ViewCallbacks} that will be returned from {@link #getView()}
+   *
+   * @since 1.0.0
+   */
+  protected Presenter(@Nonnull Class<V> viewClass, @Nonnull V view) {
+    requireNotNull(viewClass);
+    requireNotNull(view);
+    viewProxy = RxViper.createProxy(view, viewClass);
+  }
+
+  /**
+   * Creates a presenter without pre-attached view for the explicitly given view interface.
+   * <p>
+   * Doesn't resolve the view interface from type arguments of this presenter.
+   *
+   * @param viewClass the {@code ViewCallbacks} interface this presenter is parameterized with
+   *
+   * @since 1.0.0
+   */
+  protected Presenter(@Nonnull Class<V> viewClass) {
+    requireNotNull(viewClass);
+    viewProxy = RxViper.createProxy(null, viewClass);
   }
 
   /**
@@ -60,7 +116,8 @@ public abstract class Presenter<V extends ViewCallbacks> {
    * It is expected that this method will be called with the same argument as {@link #takeView}. Mismatched views are ignored. This is
    * to provide protection in the not uncommon case that {@code dropView} and {@code takeView} are called out of order.
    * <p>
-   * Calls {@link #onDropView} before the reference to the view is cleared.
+   * Calls {@link #onDropView} before the reference to the view is cleared. Can be called from any thread. If the view is being taken
+   * concurrently, it is dropped right after {@link #onTakeView} returns.
    *
    * @param view the {@code ViewCallbacks} is going to be dropped
    *
@@ -68,11 +125,7 @@ public abstract class Presenter<V extends ViewCallbacks> {
    */
   public final void dropView(@Nonnull V view) {
     requireNotNull(view);
-
-    if (currentView() == view) {
-      onDropView(view);
-      getProxy(viewProxy).clear();
-    }
+    getProxy(viewProxy).drop(view, this, Presenter.<V>viewLifecycle());
   }
 
   /**
@@ -90,7 +143,10 @@ public abstract class Presenter<V extends ViewCallbacks> {
   /**
    * Called to give this presenter control of a view.
    * <p>
-   * As soon as the reference to the view is assigned, it calls {@link #onTakeView} callback.
+   * As soon as the reference to the view is assigned, it calls {@link #onTakeView} callback. Then it replays the view calls buffered while
+   * no view was attached, if buffering is {@link #setViewBufferSize enabled}. Can be called from any thread.
+   * <p>
+   * If another view is attached, it is dropped first: {@link #onDropView} is called for it while view calls are still delivered to it.
    *
    * @param view the {@code ViewCallbacks} that will be returned from {@link #getView()}
    *
@@ -99,15 +155,129 @@ public abstract class Presenter<V extends ViewCallbacks> {
    */
   public final void takeView(@Nonnull V view) {
     requireNotNull(view);
+    getProxy(viewProxy).take(view, this, Presenter.<V>viewLifecycle());
+  }
+
+  /**
+   * Switches between holding the view strongly and weakly.
+   * <p>
+   * By default the view is held weakly. For presenters whose lifecycle is strictly managed, i.e. {@link #dropView} is always called, the
+   * strong mode saves dereferencing a {@link java.lang.ref.WeakReference} on every view call. The mode applies to views taken afterwards.
+   * Use {@link RxViper#setLeakListener} in debug builds to find presenters that never drop their views.
+   *
+   * @param strong {@code true} to hold the view strongly
+   *
+   * @since 1.0.0
+   */
+  protected final void setStrongViewReference(boolean strong) {
+    getProxy(viewProxy).strong(strong);
+  }
 
-    final V currentView = currentView();
-    if (currentView != view) {
-      if (currentView != null) {
-        dropView(currentView);
-      }
-      getProxy(viewProxy).set(view);
-      onTakeView(view);
+  /**
+   * Enables buffering of view calls made while no view is attached.
+   * <p>
+   * Calls to void methods of the view are recorded and replayed to the next view passed to {@link #takeView}, so results that arrive
+   * during a configuration change are not lost. Once {@code maxSize} calls are buffered, the oldest one is dropped. Only the latest call of
+   * a method annotated with {@link KeepLatest} is kept.
+   * <p>
+   * Buffering is disabled by default. Calling this method discards already buffered calls.
+   *
+   * @param maxSize the maximum number of buffered calls, or {@code 0} to disable buffering
+   *
+   * @throws IllegalArgumentException if {@code maxSize} is negative
+   * @since 1.0.0
+   */
+  protected final void setViewBufferSize(int maxSize) {
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("maxSize < 0: " + maxSize);
     }
+    getProxy(viewProxy).buffer(maxSize);
+  }
+
+  /**
+   * Sets the scheduler view calls are delivered on.
+   * <p>
+   * Every call to a void method of the view is delivered as a separate task on the given scheduler. Use {@link #batchView} to deliver
+   * several calls with a single task. Coalesced calls are delivered on the scheduler given to {@link #coalesceViewCalls} instead.
+   * The worker of the scheduler is released when the view is dropped, after the calls already scheduled on it are delivered.
+   *
+   * @param scheduler the scheduler view calls are delivered on, or {@code null} to deliver them on the calling thread
+   *
+   * @see #batchView(Action1)
+   * @since 1.0.0
+   */
+  protected final void setViewScheduler(@Nullable Scheduler scheduler) {
+    getProxy(viewProxy).scheduleOn(scheduler);
+  }
+
+  /**
+   * Makes several view calls as one transaction.
+   * <p>
+   * The batch is run as a single task on the {@link #setViewScheduler view scheduler}, or right away if there is none. The view is looked
+   * up once per batch: the batch gets the attached view itself, so the calls inside don't go through the proxy. If view calls are
+   * {@link #coalesceViewCalls coalesced}, it gets the same proxy as {@link #getView()}. If no view is attached when the batch runs, the
+   * batch is skipped, and its calls are neither delivered nor {@link #setViewBufferSize buffered}.
+   *
+   * @param batch the view calls to make
+   *
+   * @throws IllegalArgumentException if {@code batch} is {@code null}
+   * @see #setViewScheduler(Scheduler)
+   * @since 1.0.0
+   */
+  protected final void batchView(@Nonnull Action1<? super V> batch) {
+    requireNotNull(batch);
+    getProxy(viewProxy).batch(viewProxy, batch);
+  }
+
+  /**
+   * Starts coalescing view calls.
+   * <p>
+   * Calls to the same void method of the view made within a {@code tick} are collapsed, and only the latest arguments are delivered once
+   * per tick on the given {@code scheduler}. Useful for presenters driven by streams that emit faster than the view can render. Calls to
+   * different methods are delivered in the order of their latest occurrence within the tick.
+   * <p>
+   * Calling this method again replaces the previous settings. Calls pending at that moment are delivered right away. When the view is
+   * dropped, pending calls are delivered right away, i.e. buffered if {@link #setViewBufferSize buffering} is enabled, and the worker of
+   * the {@code scheduler} is released until the next view call.
+   *
+   * @param tick the time to collect calls for, {@code 0} to collect them until the {@code scheduler} runs the delivery
+   * @param unit the time unit of {@code tick}
+   * @param scheduler the scheduler the calls are delivered on, usually the main thread scheduler
+   *
+   * @throws IllegalArgumentException if {@code tick} is negative, or {@code unit} or {@code scheduler} is {@code null}
+   * @see #stopCoalescingViewCalls()
+   * @see #getCollapsedViewCalls()
+   * @since 1.0.0
+   */
+  protected final void coalesceViewCalls(long tick, @Nonnull TimeUnit unit, @Nonnull Scheduler scheduler) {
+    if (tick < 0) {
+      throw new IllegalArgumentException("tick < 0: " + tick);
+    }
+    requireNotNull(unit);
+    requireNotNull(scheduler);
+    getProxy(viewProxy).coalesce(tick, unit, scheduler);
+  }
+
+  /**
+   * Stops coalescing view calls. Pending calls are delivered right away on the calling thread.
+   *
+   * @see #coalesceViewCalls(long, TimeUnit, Scheduler)
+   * @since 1.0.0
+   */
+  protected final void stopCoalescingViewCalls() {
+    getProxy(viewProxy).stopCoalescing();
+  }
+
+  /**
+   * Returns how many view calls were collapsed, i.e. replaced by a later call to the same method within a tick.
+   *
+   * @return the number of collapsed view calls since coalescing was started, or {@code 0} if view calls are not coalesced
+   *
+   * @see #coalesceViewCalls(long, TimeUnit, Scheduler)
+   * @since 1.0.0
+   */
+  public final long getCollapsedViewCalls() {
+    return getProxy(viewProxy).collapsed();
   }
 
   /**
@@ -146,6 +316,12 @@ public abstract class Presenter<V extends ViewCallbacks> {
   protected void onTakeView(@Nonnull V view) {
   }
 
+  // the lifecycle only passes views of this presenter back to it, so it fits any view type
+  @SuppressWarnings("unchecked")
+  private static <V extends ViewCallbacks> NullObject.Lifecycle<Presenter<V>, V> viewLifecycle() {
+    return (NullObject.Lifecycle<Presenter<V>, V>) (NullObject.Lifecycle<?, ?>) VIEW_LIFECYCLE;
+  }
+
   @Nullable
   private V currentView() {
     return getProxy(viewProxy).get();
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static com.dzaitsev.rxviper.RxViper.check;
+import static com.dzaitsev.rxviper.RxViper.checkNoPublicGetters;
+import static com.dzaitsev.rxviper.RxViper.findGeneratedProxy;
+import static java.lang.String.format;
+
+/**
+ * Creates null-safe proxies for a single view or router interface.
+ * <p>
+ * The interface is validated once, and the constructor of either the generated delegate or the dynamic proxy class is resolved once, so
+ * creating a proxy costs a single constructor call.
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+final class ProxyFactory {
+  @Nonnull private final Class<?>       type;
+  @Nonnull private final Constructor<?> constructor;
+  @Nonnull private final Invokers       invokers;
+  private final          boolean        generated;
+
+  ProxyFactory(@Nonnull Class<?> type) {
+    check(type.isInterface(), format("%s must be an interface.", type));
+    checkNoPublicGetters(type);
+
+    this.type = type;
+    final Class<?> generatedClass = findGeneratedProxy(type);
+    generated = generatedClass != null;
+    invokers = Invokers.forType(type);
+    try {
+      if (generated) {
+        constructor = generatedClass.getDeclaredConstructor();
+        constructor.setAccessible(true);
+      } else {
+        constructor = Proxy.getProxyClass(type.getClassLoader(), type)
+            .getConstructor(InvocationHandler.class);
+      }
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException(format("Unable to create a proxy for %s.", type.getName()), e);
+    }
+  }
+
+  @Nonnull
+  Class<?> type() {
+    return type;
+  }
+
+  /**
+   * Initializes the proxy class and creates invokers for all methods of the interface.
+   */
+  void preload() {
+    create(null);
+    if (!generated) {
+      for (Method method : type.getMethods()) {
+        invokers.get(method);
+      }
+    }
+  }
+
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  <T> T create(@Nullable T target) {
+    try {
+      if (generated) {
+        final GeneratedProxy<T> proxy = (GeneratedProxy<T>) constructor.newInstance();
+        proxy.nullObject.set(target);
+        return (T) proxy;
+      }
+      return (T) constructor.newInstance(new NullObject<>(target, invokers));
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException(format("Unable to instantiate a proxy for %s.", type.getName()), e);
+    }
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.reactivestreams.Publisher;
+import rx.Observable;
+import rx.Scheduler;
+
+/**
+ * An {@link Interactor} whose source is a Reactive Streams {@code Publisher}, for example one produced by Reactor or RxJava 3.
+ * <p>
+ * The demand of executions is passed to the publisher as is, so its backpressure is preserved.
+ *
+ * @param <RequestModel> the type of request message
+ * @param <ResponseModel> the type of response message
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+public abstract class PublisherInteractor<RequestModel, ResponseModel> extends Interactor<RequestModel, ResponseModel> {
+  /**
+   * @param subscribeScheduler the {@code Scheduler} to subscribe to the {@code Publisher} returned from {@link #createPublisher} on.
+   * @param observeScheduler the {@code Scheduler} to notify {@code Observer}s of executions on.
+   *
+   * @since 1.0.0
+   */
+  protected PublisherInteractor(@Nonnull Scheduler subscribeScheduler, @Nonnull Scheduler observeScheduler) {
+    super(subscribeScheduler, observeScheduler);
+  }
+
+  /**
+   * Subscribes to the {@code Publisher} returned from {@link #createPublisher}.
+   *
+   * @param requestModel the request message
+   *
+   * @return {@code Observable} of the responses published by the {@code Publisher}
+   *
+   * @since 1.0.0
+   */
+  @Nonnull
+  @Override
+  protected final Observable<ResponseModel> createObservable(@Nullable RequestModel requestModel) {
+    return ReactiveStreams.toObservable(createPublisher(requestModel));
+  }
+
+  /**
+   * Provides source {@code Publisher} that will execute the specified parameter when {@code execute()} method is called.
+   *
+   * @param requestModel the request message to a replier system which receives and processes the request
+   *
+   * @return source {@code Publisher}
+   *
+   * @since 1.0.0
+   */
+  @Nonnull
+  protected abstract Publisher<ResponseModel> createPublisher(@Nullable RequestModel requestModel);
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+/**
+ * What an {@link Interactor} with a {@link Interactor#setExecutionLimit limited number of executions} does with a new execution when the
+ * maximum number of executions is in flight and the queue of waiting executions is full.
+ * <p>
+ * Waiting executions are always started in FIFO order.
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+public enum QueueOverflow {
+  /**
+   * Drops the oldest waiting execution to make room for the new one. The dropped execution completes without emitting anything.
+   */
+  DROP_OLDEST,
+  /**
+   * Drops the new execution. It completes without emitting anything.
+   */
+  DROP_NEWEST,
+  /**
+   * Rejects the new execution. It fails with {@link java.util.concurrent.RejectedExecutionException}.
+   */
+  REJECT
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import javax.annotation.Nonnull;
+import org.reactivestreams.Publisher;
+import rx.Observable;
+import rx.Producer;
+import rx.Subscriber;
+import rx.functions.Action0;
+import rx.subscriptions.Subscriptions;
+
+/**
+ * Bridges between RxJava 1 {@code Observable}s and Reactive Streams {@code Publisher}s, with backpressure in both directions.
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+final class ReactiveStreams {
+  private ReactiveStreams() {
+    throw new AssertionError("No instances please!");
+  }
+
+  /**
+   * Returns a {@code Publisher} that subscribes to the source for every {@code Subscriber}. Subscriptions are tracked by the given
+   * tracker until they terminate, so that they are cancelled with it.
+   */
+  @Nonnull
+  static <T> Publisher<T> toPublisher(@Nonnull final Observable<T> source, @Nonnull final SubscriptionTracker subscriptions) {
+    return new Publisher<T>() {
+      @Override
+      public void subscribe(org.reactivestreams.Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+          throw new NullPointerException("subscriber == null");
+        }
+        final SubscriberBridge<T> bridge = new SubscriberBridge<>(subscriber);
+        subscriptions.track(bridge);
+        subscriber.onSubscribe(new SubscriptionBridge(bridge));
+        source.unsafeSubscribe(bridge);
+      }
+    };
+  }
+
+  /**
+   * Returns an {@code Observable} that subscribes to the publisher for every {@code Subscriber}.
+   */
+  @Nonnull
+  static <T> Observable<T> toObservable(@Nonnull final Publisher<T> publisher) {
+    return Observable.unsafeCreate(new Observable.OnSubscribe<T>() {
+      @Override
+      public void call(Subscriber<? super T> subscriber) {
+        publisher.subscribe(new PublisherSubscriber<>(subscriber));
+      }
+    });
+  }
+
+  /**
+   * Forwards notifications of an {@code Observable} to a Reactive Streams {@code Subscriber}.
+   */
+  static final class SubscriberBridge<T> extends Subscriber<T> {
+    @Nonnull private final org.reactivestreams.Subscriber<? super T> actual;
+
+    SubscriberBridge(@Nonnull org.reactivestreams.Subscriber<? super T> actual) {
+      this.actual = actual;
+      // nothing is emitted until it is requested
+      request(0);
+    }
+
+    @Override
+    public void onNext(T t) {
+      actual.onNext(t);
+    }
+
+    @Override
+    public void onError(Throwable e) {
+      try {
+        actual.onError(e);
+      } finally {
+        // the subscription is cancelled after a terminal notification, it also stops its tracking
+        unsubscribe();
+      }
+    }
+
+    @Override
+    public void onCompleted() {
+      try {
+        actual.onComplete();
+      } finally {
+        unsubscribe();
+      }
+    }
+
+    void requestMore(long n) {
+      request(n);
+    }
+  }
+
+  /**
+   * Forwards the demand of a Reactive Streams {@code Subscriber} upstream.
+   */
+  static final class SubscriptionBridge implements org.reactivestreams.Subscription {
+    @Nonnull private final SubscriberBridge<?> bridge;
+
+    SubscriptionBridge(@Nonnull SubscriberBridge<?> bridge) {
+      this.bridge = bridge;
+    }
+
+    @Override
+    public void request(long n) {
+      if (bridge.isUnsubscribed()) {
+        return;
+      }
+      if (n <= 0) {
+        // rule 3.9
+        bridge.unsubscribe();
+        bridge.onError(new IllegalArgumentException("n <= 0: " + n));
+      } else {
+        bridge.requestMore(n);
+      }
+    }
+
+    @Override
+    public void cancel() {
+      bridge.unsubscribe();
+    }
+  }
+
+  /**
+   * Forwards notifications of a {@code Publisher} to an RxJava {@code Subscriber} and its demand back upstream.
+   */
+  static final class PublisherSubscriber<T> implements org.reactivestreams.Subscriber<T> {
+    @Nonnull private final Subscriber<? super T> actual;
+
+    PublisherSubscriber(@Nonnull Subscriber<? super T> actual) {
+      this.actual = actual;
+    }
+
+    @Override
+    public void onSubscribe(final org.reactivestreams.Subscription subscription) {
+      actual.add(Subscriptions.create(new Action0() {
+        @Override
+        public void call() {
+          subscription.cancel();
+        }
+      }));
+      actual.setProducer(new Producer() {
+        @Override
+        public void request(long n) {
+          if (n > 0) {
+            subscription.request(n);
+          }
+        }
+      });
+    }
+
+    @Override
+    public void onNext(T t) {
+      actual.onNext(t);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      actual.onError(t);
+    }
+
+    @Override
+    public void onComplete() {
+      actual.onCompleted();
+    }
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Cache of responses of an {@link Interactor}, keyed by {@link Interactor#requestKey request keys}.
+ * <p>
+ * Implementations must be thread-safe.
+ *
+ * @param <V> the type of cached responses
+ *
+ * @author Dmytro Zaitsev
+ * @see LruResultCache
+ * @see Interactor#setResultCache(ResultCache)
+ * @since 1.0.0
+ */
+public interface ResultCache<V> {
+  /**
+   * Returns the cached response.
+   *
+   * @param key the request key, can be {@code null}
+   *
+   * @return the cached response, or {@code null} if there is none
+   *
+   * @since 1.0.0
+   */
+  @Nullable
+  V get(@Nullable Object key);
+
+  /**
+   * Caches the response, replacing the previously cached one.
+   *
+   * @param key the request key, can be {@code null}
+   * @param value the response
+   *
+   * @since 1.0.0
+   */
+  void put(@Nullable Object key, @Nonnull V value);
+
+  /**
+   * Discards the cached response.
+   *
+   * @param key the request key, can be {@code null}
+   *
+   * @since 1.0.0
+   */
+  void invalidate(@Nullable Object key);
+
+  /**
+   * Discards all cached responses.
+   *
+   * @since 1.0.0
+   */
+  void invalidateAll();
+}
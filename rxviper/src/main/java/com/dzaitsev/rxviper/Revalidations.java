@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
+
+/**
+ * Times of the last revalidation per request key, used to keep revalidations of the same key at least a minimum interval apart.
+ * <p>
+ * Records older than the interval have no effect, so they are pruned once the number of records doubles.
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+final class Revalidations {
+  private static final Object NULL_KEY            = new Object();
+  private static final int    MIN_PRUNE_THRESHOLD = 16;
+
+  private final    ConcurrentMap<Object, Long> startedAt      = new ConcurrentHashMap<>();
+  private final    long                        minIntervalMillis;
+  private volatile int                         pruneThreshold = MIN_PRUNE_THRESHOLD;
+
+  Revalidations(long minIntervalMillis) {
+    this.minIntervalMillis = minIntervalMillis;
+  }
+
+  /**
+   * Records a revalidation of the key if the previous one was at least the minimum interval ago.
+   *
+   * @return {@code true} if the key may be revalidated now
+   */
+  boolean tryStart(@Nullable Object key, long now) {
+    final Object mapKey = key == null ? NULL_KEY : key;
+    while (true) {
+      final Long last = startedAt.get(mapKey);
+      if (last == null) {
+        if (startedAt.putIfAbsent(mapKey, now) == null) {
+          prune(now);
+          return true;
+        }
+      } else if (now - last < minIntervalMillis) {
+        return false;
+      } else if (startedAt.replace(mapKey, last, now)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Forgets the key, so that it may be revalidated right away.
+   */
+  void reset(@Nullable Object key) {
+    startedAt.remove(key == null ? NULL_KEY : key);
+  }
+
+  void resetAll() {
+    startedAt.clear();
+  }
+
+  int size() {
+    return startedAt.size();
+  }
+
+  private void prune(long now) {
+    if (startedAt.size() <= pruneThreshold) {
+      return;
+    }
+    final Iterator<Long> iterator = startedAt.values()
+        .iterator();
+    while (iterator.hasNext()) {
+      if (now - iterator.next() >= minIntervalMillis) {
+        iterator.remove();
+      }
+    }
+    pruneThreshold = Math.max(MIN_PRUNE_THRESHOLD, startedAt.size() * 2);
+  }
+}
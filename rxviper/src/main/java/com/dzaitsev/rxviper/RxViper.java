@@ -23,20 +23,119 @@ import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.Stack;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import rx.Completable;
+import rx.functions.Action0;
 
 import static java.lang.String.format;
 
 /**
- * ~ ~ ~ ~ Description ~ ~ ~ ~
+ * Utility methods of RxViper.
  *
  * @author Dmytro Zaitsev
  * @since 2016-May-14, 15:26
  */
-final class RxViper {
+public final class RxViper {
+  private static final ClassCache<ProxyFactory> FACTORIES        = new ClassCache<ProxyFactory>() {
+    @Nonnull
+    @Override
+    ProxyFactory compute(@Nonnull Class<?> type) {
+      return new ProxyFactory(type);
+    }
+  };
+  private static final ClassCache<ProxyFactory> VIEW_FACTORIES   = new ClassCache<ProxyFactory>() {
+    @Nonnull
+    @Override
+    ProxyFactory compute(@Nonnull Class<?> presenterClass) {
+      return FACTORIES.get(getGenericParameterClass(presenterClass, Presenter.class, 0));
+    }
+  };
+  private static final ClassCache<ProxyFactory> ROUTER_FACTORIES = new ClassCache<ProxyFactory>() {
+    @Nonnull
+    @Override
+    ProxyFactory compute(@Nonnull Class<?> presenterClass) {
+      return FACTORIES.get(getGenericParameterClass(presenterClass, ViperPresenter.class, 1));
+    }
+  };
+
   private RxViper() {
     throw new AssertionError("No instances please!");
   }
 
+  /**
+   * Prepares everything presenters of the given classes need to be constructed: resolves and validates their view and router interfaces,
+   * loads proxy classes and creates method invokers. Prepared data is cached, so the first construction of such a presenter becomes as
+   * cheap as any subsequent one.
+   * <p>
+   * The work is done when the returned {@code Completable} is subscribed to. It is intended to be performed on a background thread during
+   * application start:
+   * <pre>{@code
+   * RxViper.preload(MainPresenter.class, DetailsPresenter.class)
+   *     .subscribeOn(Schedulers.io())
+   *     .subscribe();
+   * }</pre>
+   *
+   * @param presenterClasses the presenter classes to prepare
+   *
+   * @return a {@code Completable} that completes when all presenter classes are prepared, or fails with {@code IllegalStateException} if
+   *     any of them is invalid
+   *
+   * @throws IllegalArgumentException if {@code presenterClasses} or any of its elements is {@code null}
+   * @since 1.0.0
+   */
+  @Nonnull
+  @SafeVarargs
+  public static Completable preload(@Nonnull final Class<? extends Presenter<?>>... presenterClasses) {
+    requireNotNull(presenterClasses);
+    for (Class<? extends Presenter<?>> presenterClass : presenterClasses) {
+      requireNotNull(presenterClass);
+    }
+    return Completable.fromAction(new Action0() {
+      @Override
+      public void call() {
+        for (Class<? extends Presenter<?>> presenterClass : presenterClasses) {
+          VIEW_FACTORIES.get(presenterClass)
+              .preload();
+          if (ViperPresenter.class.isAssignableFrom(presenterClass)) {
+            ROUTER_FACTORIES.get(presenterClass)
+                .preload();
+          }
+        }
+      }
+    });
+  }
+
+  /**
+   * Sets the listener of leaks of views and routers held strongly by presenters.
+   * <p>
+   * A leak is reported when a presenter in the strong reference mode (see {@link Presenter#setStrongViewReference} and
+   * {@link ViperPresenter#setStrongRouterReference}) becomes unreachable while a view or router is still attached to it, i.e. the target
+   * has never been dropped and the presenter has kept it in memory for as long as it lived. Dropped targets are not watched, they may stay
+   * reachable for reasons of their own. Presenters are referenced weakly, so watching them doesn't keep them in memory. Only targets
+   * attached while the listener is set are watched. Intended for debug builds only.
+   *
+   * @param listener the listener of leaks, or {@code null} to stop watching attached targets
+   *
+   * @since 1.0.0
+   */
+  public static void setLeakListener(@Nullable LeakListener listener) {
+    LeakDetector.setListener(listener);
+  }
+
+  /**
+   * Sets the listener of executions of all interactors, such as {@link InteractorMetrics}.
+   * <p>
+   * Executions started while no listener is set aren't measured and cost nothing but a check of the listener.
+   *
+   * @param listener the listener of executions, or {@code null} to stop measuring executions
+   *
+   * @since 1.0.0
+   */
+  public static void setExecutionListener(@Nullable ExecutionListener listener) {
+    ExecutionProbe.setListener(listener);
+  }
+
   static <T> T requireNotNull(T arg) {
     if (arg == null) {
       throw new IllegalArgumentException("Argument can not be null");
@@ -45,18 +144,49 @@ final class RxViper {
   }
 
   static <V extends ViewCallbacks> V createView(V view, Class<? extends Presenter> actualClass) {
-    return createProxy(view, Presenter.class, actualClass, 0);
+    return VIEW_FACTORIES.get(actualClass)
+        .create(view);
   }
 
   static <R extends Router> R createRouter(R router, Class<? extends ViperPresenter> actualClass) {
-    return createProxy(router, ViperPresenter.class, actualClass, 1);
+    return ROUTER_FACTORIES.get(actualClass)
+        .create(router);
+  }
+
+  /**
+   * Creates a proxy for the explicitly given interface without resolving it from the presenter's type arguments.
+   */
+  static <T> T createProxy(T target, Class<T> type) {
+    return FACTORIES.get(type)
+        .create(target);
   }
 
   @SuppressWarnings("unchecked")
   static <T> NullObject<T> getProxy(T target) {
+    if (target instanceof GeneratedProxy) {
+      return ((GeneratedProxy<T>) target).nullObject;
+    }
     return (NullObject<T>) Proxy.getInvocationHandler(target);
   }
 
+  /**
+   * Looks up a null-safe delegate generated by {@code rxviper-compiler} for the given interface.
+   *
+   * @return the generated class, or {@code null} if the interface wasn't processed
+   */
+  static Class<?> findGeneratedProxy(Class<?> type) {
+    final String name = type.getName();
+    final int packageEnd = name.lastIndexOf('.') + 1;
+    final String generatedName = name.substring(0, packageEnd) + name.substring(packageEnd)
+        .replace('$', '_') + GeneratedProxy.SUFFIX;
+    try {
+      final Class<?> generatedClass = Class.forName(generatedName, false, type.getClassLoader());
+      return GeneratedProxy.class.isAssignableFrom(generatedClass) && type.isAssignableFrom(generatedClass) ? generatedClass : null;
+    } catch (ClassNotFoundException e) {
+      return null;
+    }
+  }
+
   static Class getGenericParameterClass(final Class<?> actualClass, final Class<?> genericClass, final int parameterIndex) {
     check(genericClass.isAssignableFrom(actualClass) && !genericClass.equals(actualClass),
         format("Class %s is not a superclass of %s.", genericClass.getName(), actualClass.getName()));
@@ -104,14 +234,6 @@ final class RxViper {
     return (Class) result;
   }
 
-  @SuppressWarnings("unchecked")
-  private static <T, G> T createProxy(T target, Class<G> baseClass, Class<? extends G> childClass, int index) {
-    final Class typeArgument = getGenericParameterClass(childClass, baseClass, index);
-    check(typeArgument.isInterface(), format("%s must be an interface.", typeArgument));
-    checkNoPublicGetters(typeArgument);
-    return (T) Proxy.newProxyInstance(childClass.getClassLoader(), new Class[] { typeArgument }, new NullObject<>(target));
-  }
-
   private static int getParameterTypeDeclarationIndex(final TypeVariable typeVariable) {
     final GenericDeclaration genericDeclaration = typeVariable.getGenericDeclaration();
     final TypeVariable[] typeVariables = genericDeclaration.getTypeParameters();
@@ -142,7 +264,7 @@ final class RxViper {
     return null;
   }
 
-  private static void check(boolean condition, String message) {
+  static void check(boolean condition, String message) {
     if (!condition) {
       throw new IllegalStateException(message);
     }
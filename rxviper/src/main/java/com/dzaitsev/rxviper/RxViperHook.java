@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.lang.reflect.Method;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import rx.Observable;
+
+/**
+ * Callbacks from all interactors and presenters of the application, to plug tracing or profiling in without editing each of them.
+ * <p>
+ * Every method does nothing by default, override those of interest. Methods are called on the threads the events happen on, so they must
+ * be thread-safe and fast. Exceptions thrown by a hook are propagated to the caller of the hooked method.
+ *
+ * @author Dmytro Zaitsev
+ * @see RxViperHooks#register(RxViperHook)
+ * @since 1.0.0
+ */
+public abstract class RxViperHook {
+  /**
+   * Called with every {@code Observable} returned from {@link Interactor#createObservable}, before any scheduler is applied to it. The
+   * returned {@code Observable} is executed instead.
+   *
+   * @param interactor the executing interactor
+   * @param requestModel the request of the execution
+   * @param observable the {@code Observable} created by the interactor
+   * @param <RequestModel> the type of request message
+   * @param <ResponseModel> the type of response message
+   *
+   * @return the {@code Observable} to execute
+   *
+   * @since 1.0.0
+   */
+  @Nonnull
+  public <RequestModel, ResponseModel> Observable<ResponseModel> onCreateObservable(
+      @Nonnull Interactor<RequestModel, ResponseModel> interactor, @Nullable RequestModel requestModel,
+      @Nonnull Observable<ResponseModel> observable) {
+    return observable;
+  }
+
+  /**
+   * Called when an execution is started by {@code Interactor.execute}, before anything is subscribed to.
+   *
+   * @param interactor the executing interactor
+   * @param requestModel the request of the execution
+   *
+   * @since 1.0.0
+   */
+  public void onExecute(@Nonnull Interactor<?, ?> interactor, @Nullable Object requestModel) {
+  }
+
+  /**
+   * Called when {@link Interactor#unsubscribe()} is called, before executions in flight are unsubscribed.
+   *
+   * @param interactor the unsubscribed interactor
+   *
+   * @since 1.0.0
+   */
+  public void onUnsubscribe(@Nonnull Interactor<?, ?> interactor) {
+  }
+
+  /**
+   * Called when a view has been attached to a presenter, right before {@link Presenter#onTakeView}.
+   *
+   * @param presenter the presenter
+   * @param view the attached view
+   *
+   * @since 1.0.0
+   */
+  public void onTakeView(@Nonnull Presenter<?> presenter, @Nonnull ViewCallbacks view) {
+  }
+
+  /**
+   * Called when a view is being detached from a presenter, right before {@link Presenter#onDropView}.
+   *
+   * @param presenter the presenter
+   * @param view the view being dropped
+   *
+   * @since 1.0.0
+   */
+  public void onDropView(@Nonnull Presenter<?> presenter, @Nonnull ViewCallbacks view) {
+  }
+
+  /**
+   * Called right before a call made through a presenter is delivered to its attached view or router. Calls that are not delivered, because
+   * nothing is attached, are not reported. Neither are calls made inside {@link Presenter#batchView} to the view passed to the batch.
+   *
+   * @param target the attached view or router
+   * @param method the called method
+   * @param args the arguments of the call, or {@code null} if there are none
+   *
+   * @since 1.0.0
+   */
+  public void onDispatch(@Nonnull Object target, @Nonnull Method method, @Nullable Object[] args) {
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import rx.Observable;
+import rx.Subscription;
+import rx.functions.Action0;
+import rx.subscriptions.Subscriptions;
+
+import static com.dzaitsev.rxviper.RxViper.requireNotNull;
+
+/**
+ * Global registry of {@link RxViperHook}s.
+ * <p>
+ * Hooks are kept in an array that is replaced on every change, so a hooked call site reads a single volatile field and does nothing else
+ * while no hook is registered:
+ * <pre>{@code
+ * final Subscription tracing = RxViperHooks.register(new RxViperHook() {
+ *   @Override
+ *   public <RequestModel, ResponseModel> Observable<ResponseModel> onCreateObservable(
+ *       Interactor<RequestModel, ResponseModel> interactor, RequestModel requestModel, Observable<ResponseModel> observable) {
+ *     return observable.compose(tracer.<ResponseModel>span(interactor.getClass().getSimpleName()));
+ *   }
+ * });
+ * }</pre>
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+public final class RxViperHooks {
+  // null while no hook is registered
+  private static volatile RxViperHook[] hooks;
+
+  private RxViperHooks() {
+    throw new AssertionError("No instances please!");
+  }
+
+  /**
+   * Registers a hook. Hooks are called in the order they are registered.
+   *
+   * @param hook the hook to register
+   *
+   * @return the {@code Subscription} that unregisters the hook when unsubscribed
+   *
+   * @throws IllegalArgumentException if {@code hook} is {@code null}
+   * @since 1.0.0
+   */
+  @Nonnull
+  public static Subscription register(@Nonnull final RxViperHook hook) {
+    requireNotNull(hook);
+    synchronized (RxViperHooks.class) {
+      final RxViperHook[] current = hooks;
+      final RxViperHook[] updated = current == null ? new RxViperHook[1] : Arrays.copyOf(current, current.length + 1);
+      updated[updated.length - 1] = hook;
+      hooks = updated;
+    }
+    return Subscriptions.create(new Action0() {
+      @Override
+      public void call() {
+        unregister(hook);
+      }
+    });
+  }
+
+  /**
+   * Unregisters all hooks.
+   *
+   * @since 1.0.0
+   */
+  public static synchronized void reset() {
+    hooks = null;
+  }
+
+  private static synchronized void unregister(@Nonnull RxViperHook hook) {
+    final RxViperHook[] current = hooks;
+    if (current == null) {
+      return;
+    }
+    final List<RxViperHook> updated = new ArrayList<>(Arrays.asList(current));
+    updated.remove(hook);
+    hooks = updated.isEmpty() ? null : updated.toArray(new RxViperHook[updated.size()]);
+  }
+
+  /**
+   * Returns the registered hooks, or {@code null} if there are none.
+   */
+  @Nullable
+  static RxViperHook[] hooks() {
+    return hooks;
+  }
+
+  @Nonnull
+  static <RequestModel, ResponseModel> Observable<ResponseModel> onCreateObservable(@Nonnull RxViperHook[] hooks,
+      @Nonnull Interactor<RequestModel, ResponseModel> interactor, @Nullable RequestModel requestModel,
+      @Nonnull Observable<ResponseModel> observable) {
+    Observable<ResponseModel> result = observable;
+    for (RxViperHook hook : hooks) {
+      result = requireNotNull(hook.onCreateObservable(interactor, requestModel, result));
+    }
+    return result;
+  }
+
+  static void onExecute(@Nonnull RxViperHook[] hooks, @Nonnull Interactor<?, ?> interactor, @Nullable Object requestModel) {
+    for (RxViperHook hook : hooks) {
+      hook.onExecute(interactor, requestModel);
+    }
+  }
+
+  static void onUnsubscribe(@Nonnull RxViperHook[] hooks, @Nonnull Interactor<?, ?> interactor) {
+    for (RxViperHook hook : hooks) {
+      hook.onUnsubscribe(interactor);
+    }
+  }
+
+  static void onTakeView(@Nonnull RxViperHook[] hooks, @Nonnull Presenter<?> presenter, @Nonnull ViewCallbacks view) {
+    for (RxViperHook hook : hooks) {
+      hook.onTakeView(presenter, view);
+    }
+  }
+
+  static void onDropView(@Nonnull RxViperHook[] hooks, @Nonnull Presenter<?> presenter, @Nonnull ViewCallbacks view) {
+    for (RxViperHook hook : hooks) {
+      hook.onDropView(presenter, view);
+    }
+  }
+
+  static void onDispatch(@Nonnull RxViperHook[] hooks, @Nonnull Object target, @Nonnull Method method, @Nullable Object[] args) {
+    for (RxViperHook hook : hooks) {
+      hook.onDispatch(target, method, args);
+    }
+  }
+}
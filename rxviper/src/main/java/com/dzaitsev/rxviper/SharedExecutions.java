@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import rx.Observable;
+import rx.functions.Action0;
+
+/**
+ * Executions in flight shared by their request keys.
+ * <p>
+ * An execution is shared until its source terminates or its last subscriber unsubscribes. A later execution with an equal key starts
+ * over. Responses are replayed to executions that join after they were emitted, so they are buffered until the source terminates.
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+final class SharedExecutions<T> {
+  private static final Object NULL_KEY = new Object();
+
+  @Nonnull private final ConcurrentMap<Object, Observable<T>> executions = new ConcurrentHashMap<>();
+  @Nonnull private final AtomicLong                           coalesced  = new AtomicLong();
+
+  /**
+   * Returns the execution in flight for the key.
+   *
+   * @return the shared execution, or {@code null} if there is none
+   */
+  @Nullable
+  Observable<T> get(@Nullable Object key) {
+    final Observable<T> execution = executions.get(key == null ? NULL_KEY : key);
+    if (execution != null) {
+      coalesced.incrementAndGet();
+    }
+    return execution;
+  }
+
+  /**
+   * Shares the source for the key. If another execution has been shared for the key meanwhile, it is returned instead.
+   */
+  @Nonnull
+  Observable<T> share(@Nullable Object key, @Nonnull Observable<T> source) {
+    final Removal removal = new Removal(key == null ? NULL_KEY : key);
+    final Observable<T> execution = source.doOnTerminate(removal)
+        .doOnUnsubscribe(removal)
+        .replay()
+        .refCount();
+    removal.execution = execution;
+    final Observable<T> existing = executions.putIfAbsent(removal.key, execution);
+    if (existing != null) {
+      coalesced.incrementAndGet();
+      return existing;
+    }
+    return execution;
+  }
+
+  /**
+   * Returns the number of executions that joined an execution in flight instead of starting their own.
+   */
+  long coalesced() {
+    return coalesced.get();
+  }
+
+  int size() {
+    return executions.size();
+  }
+
+  private final class Removal implements Action0 {
+    @Nonnull final Object        key;
+    volatile       Observable<T> execution;
+
+    Removal(@Nonnull Object key) {
+      this.key = key;
+    }
+
+    @Override
+    public void call() {
+      executions.remove(key, execution);
+    }
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nonnull;
+import rx.Subscriber;
+import rx.Subscription;
+import rx.exceptions.Exceptions;
+
+/**
+ * Subscriptions of executions in flight.
+ * <p>
+ * A subscriber is tracked only until it is unsubscribed, which happens when its execution terminates as well, so the number of tracked
+ * subscriptions is bounded by the executions in flight rather than by all executions ever made.
+ * <p>
+ * Subscribers are kept in a {@link ConcurrentHashMap} rather than in a {@code CompositeSubscription} guarded by a single monitor, so
+ * that threads executing a shared interactor don't contend on tracking their executions.
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+final class SubscriptionTracker {
+  @Nonnull private final ConcurrentMap<Subscriber<?>, Removal> subscribers = new ConcurrentHashMap<>();
+
+  /**
+   * Tracks the subscriber until it is unsubscribed. A subscriber that is unsubscribed already is not tracked.
+   */
+  void track(@Nonnull Subscriber<?> subscriber) {
+    if (subscriber.isUnsubscribed()) {
+      return;
+    }
+    final Removal removal = new Removal(subscriber);
+    subscribers.put(subscriber, removal);
+    // runs right away if the subscriber has been unsubscribed meanwhile
+    subscriber.add(removal);
+  }
+
+  /**
+   * Unsubscribes all tracked subscribers. Subscribers tracked later are unaffected.
+   *
+   * @throws rx.exceptions.CompositeException if unsubscribing several subscribers failed
+   */
+  void clear() {
+    List<Throwable> errors = null;
+    for (Subscriber<?> subscriber : subscribers.keySet()) {
+      // a subscriber is unsubscribed by the thread that removed it only
+      if (subscribers.remove(subscriber) != null) {
+        try {
+          subscriber.unsubscribe();
+        } catch (Throwable e) {
+          if (errors == null) {
+            errors = new ArrayList<>();
+          }
+          errors.add(e);
+        }
+      }
+    }
+    Exceptions.throwIfAny(errors);
+  }
+
+  boolean isEmpty() {
+    return subscribers.isEmpty();
+  }
+
+  private final class Removal implements Subscription {
+    @Nonnull private final Subscriber<?> subscriber;
+    private volatile       boolean       unsubscribed;
+
+    Removal(@Nonnull Subscriber<?> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void unsubscribe() {
+      if (!unsubscribed) {
+        unsubscribed = true;
+        subscribers.remove(subscriber, this);
+      }
+    }
+
+    @Override
+    public boolean isUnsubscribed() {
+      return unsubscribed;
+    }
+  }
+}
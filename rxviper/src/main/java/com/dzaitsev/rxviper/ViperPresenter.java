@@ -32,7 +32,20 @@ import static com.dzaitsev.rxviper.RxViper.requireNotNull;
  * @since 0.10.0
  */
 public abstract class ViperPresenter<V extends ViewCallbacks, R extends Router> extends Presenter<V> {
-  @Nonnull private final R routerProxy = RxViper.createRouter(null, getClass());
+  private static final NullObject.Lifecycle<ViperPresenter<?, Router>, Router> ROUTER_LIFECYCLE =
+      new NullObject.Lifecycle<ViperPresenter<?, Router>, Router>() {
+        @Override
+        public void onTake(@Nonnull ViperPresenter<?, Router> presenter, @Nonnull Router router) {
+          presenter.onTakeRouter(router);
+        }
+
+        @Override
+        public void onDrop(@Nonnull ViperPresenter<?, Router> presenter, @Nonnull Router router) {
+          presenter.onDropRouter(router);
+        }
+      };
+
+  @Nonnull private final R routerProxy;
 
   /**
    * Creates a presenter with pre-attached view and router.
@@ -47,7 +60,7 @@ public abstract class ViperPresenter<V extends ViewCallbacks, R extends Router>
   protected ViperPresenter(@Nonnull V view, @Nonnull R router) {
     super(view);
     requireNotNull(router);
-    getProxy(routerProxy).set(router);
+    routerProxy = RxViper.createRouter(router, getClass());
   }
 
   /**
@@ -61,6 +74,7 @@ public abstract class ViperPresenter<V extends ViewCallbacks, R extends Router>
    */
   protected ViperPresenter(@Nonnull V view) {
     super(view);
+    routerProxy = RxViper.createRouter(null, getClass());
   }
 
   /**
@@ -74,7 +88,7 @@ public abstract class ViperPresenter<V extends ViewCallbacks, R extends Router>
    */
   protected ViperPresenter(@Nonnull R router) {
     requireNotNull(router);
-    getProxy(routerProxy).set(router);
+    routerProxy = RxViper.createRouter(router, getClass());
   }
 
   /**
@@ -83,6 +97,43 @@ public abstract class ViperPresenter<V extends ViewCallbacks, R extends Router>
    * @since 0.11.0
    */
   protected ViperPresenter() {
+    routerProxy = RxViper.createRouter(null, getClass());
+  }
+
+  /**
+   * Creates a presenter with pre-attached view and router for the explicitly given view and router interfaces.
+   * <p>
+   * Doesn't resolve the view and router interfaces from type arguments of this presenter. Doesn't call {@link #onTakeView} and {@link
+   * #onTakeRouter} callbacks.
+   *
+   * @param viewClass the {@code ViewCallbacks} interface this presenter is parameterized with
+   * @param routerClass the {@code Router} interface this presenter is parameterized with
+   * @param view the {@code ViewCallbacks} that will be returned from {@link #getView()}
+   * @param router the {@code Router} that will be returned from {@link #getRouter()}
+   *
+   * @since 1.0.0
+   */
+  protected ViperPresenter(@Nonnull Class<V> viewClass, @Nonnull Class<R> routerClass, @Nonnull V view, @Nonnull R router) {
+    super(viewClass, view);
+    requireNotNull(routerClass);
+    requireNotNull(router);
+    routerProxy = RxViper.createProxy(router, routerClass);
+  }
+
+  /**
+   * Creates a presenter without pre-attached view and router for the explicitly given view and router interfaces.
+   * <p>
+   * Doesn't resolve the view and router interfaces from type arguments of this presenter.
+   *
+   * @param viewClass the {@code ViewCallbacks} interface this presenter is parameterized with
+   * @param routerClass the {@code Router} interface this presenter is parameterized with
+   *
+   * @since 1.0.0
+   */
+  protected ViperPresenter(@Nonnull Class<V> viewClass, @Nonnull Class<R> routerClass) {
+    super(viewClass);
+    requireNotNull(routerClass);
+    routerProxy = RxViper.createProxy(null, routerClass);
   }
 
   /**
@@ -91,7 +142,8 @@ public abstract class ViperPresenter<V extends ViewCallbacks, R extends Router>
    * It is expected that this method will be called with the same argument as {@link #takeRouter}. Mismatched routers are ignored. This
    * is to provide protection in the not uncommon case that {@code dropRouter} and {@code takeRouter} are called out of order.
    * <p>
-   * Calls {@link #onDropRouter} before the reference to the router is cleared.
+   * Calls {@link #onDropRouter} before the reference to the router is cleared. Can be called from any thread. If the router is being
+   * taken concurrently, it is dropped right after {@link #onTakeRouter} returns.
    *
    * @param router the {@code Router} is going to be dropped
    *
@@ -99,11 +151,7 @@ public abstract class ViperPresenter<V extends ViewCallbacks, R extends Router>
    */
   public final void dropRouter(@Nonnull R router) {
     requireNotNull(router);
-
-    if (currentRouter() == router) {
-      onDropRouter(router);
-      getProxy(routerProxy).clear();
-    }
+    getProxy(routerProxy).drop(router, this, ViperPresenter.<R>routerLifecycle());
   }
 
   /**
@@ -121,7 +169,10 @@ public abstract class ViperPresenter<V extends ViewCallbacks, R extends Router>
   /**
    * Called to give this presenter control of a router.
    * <p>
-   * As soon as the reference to the router is assigned, it calls {@link #onTakeRouter} callback.
+   * As soon as the reference to the router is assigned, it calls {@link #onTakeRouter} callback. Can be called from any thread.
+   * <p>
+   * If another router is attached, it is dropped first: {@link #onDropRouter} is called for it while router calls are still delivered to
+   * it.
    *
    * @param router the {@code Router} that will be returned from {@link #getRouter()}
    *
@@ -130,15 +181,21 @@ public abstract class ViperPresenter<V extends ViewCallbacks, R extends Router>
    */
   public final void takeRouter(@Nonnull R router) {
     requireNotNull(router);
+    getProxy(routerProxy).take(router, this, ViperPresenter.<R>routerLifecycle());
+  }
 
-    final R currentRouter = currentRouter();
-    if (currentRouter != router) {
-      if (currentRouter != null) {
-        dropRouter(currentRouter);
-      }
-      getProxy(routerProxy).set(router);
-      onTakeRouter(router);
-    }
+  /**
+   * Switches between holding the router strongly and weakly.
+   * <p>
+   * By default the router is held weakly. The strong mode applies to routers taken afterwards, see {@link #setStrongViewReference} for
+   * details.
+   *
+   * @param strong {@code true} to hold the router strongly
+   *
+   * @since 1.0.0
+   */
+  protected final void setStrongRouterReference(boolean strong) {
+    getProxy(routerProxy).strong(strong);
   }
 
   /**
@@ -177,6 +234,12 @@ public abstract class ViperPresenter<V extends ViewCallbacks, R extends Router>
   protected void onTakeRouter(@Nonnull R router) {
   }
 
+  // the lifecycle only passes routers of this presenter back to it, so it fits any router type
+  @SuppressWarnings("unchecked")
+  private static <R extends Router> NullObject.Lifecycle<ViperPresenter<?, R>, R> routerLifecycle() {
+    return (NullObject.Lifecycle<ViperPresenter<?, R>, R>) (NullObject.Lifecycle<?, ?>) ROUTER_LIFECYCLE;
+  }
+
   @Nullable
   private R currentRouter() {
     return getProxy(routerProxy).get();
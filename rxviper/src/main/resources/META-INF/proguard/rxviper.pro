@@ -0,0 +1,18 @@
+# Generated delegates are looked up by the name of the interface they implement, and are only reached through Class.forName().
+-keepnames interface * extends com.dzaitsev.rxviper.ViewCallbacks
+-keepnames interface * extends com.dzaitsev.rxviper.Router
+-keep class * extends com.dzaitsev.rxviper.GeneratedProxy {
+  <init>();
+}
+
+# Generated delegates look up the methods they implement by name.
+-keepclassmembernames interface * extends com.dzaitsev.rxviper.ViewCallbacks {
+  <methods>;
+}
+-keepclassmembernames interface * extends com.dzaitsev.rxviper.Router {
+  <methods>;
+}
+
+# Buffered view calls look up @KeepLatest at runtime.
+-keepattributes RuntimeVisibleAnnotations
+-keep @interface com.dzaitsev.rxviper.KeepLatest
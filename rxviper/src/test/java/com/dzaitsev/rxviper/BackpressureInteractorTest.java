@@ -0,0 +1,140 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import org.junit.Test;
+import rx.Observable;
+import rx.Scheduler;
+import rx.exceptions.MissingBackpressureException;
+import rx.observers.TestSubscriber;
+import rx.schedulers.Schedulers;
+import rx.schedulers.TestScheduler;
+import rx.subjects.PublishSubject;
+
+import static com.dzaitsev.rxviper.TestUtil.assertThrows;
+import static com.google.common.truth.Truth.assertThat;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-28, 16:30
+ */
+public final class BackpressureInteractorTest {
+  private final TestScheduler           scheduler  = new TestScheduler();
+  private final PublishSubject<Integer> subject    = PublishSubject.create();
+  private final TestSubscriber<Integer> subscriber = TestSubscriber.create(0);
+
+  @Test
+  public void shouldFailOnBufferOverflow() {
+    final StreamInteractor interactor = new StreamInteractor(BackpressureStrategy.BUFFER);
+    interactor.execute(subscriber);
+    emit(32);
+    scheduler.triggerActions();
+    subscriber.assertNoErrors();
+
+    emit(1);
+    scheduler.triggerActions();
+    subscriber.assertError(MissingBackpressureException.class);
+  }
+
+  @Test
+  public void shouldBufferUntilRequested() {
+    final StreamInteractor interactor = new StreamInteractor(BackpressureStrategy.BUFFER);
+    interactor.execute(subscriber);
+    emit(32);
+    subject.onCompleted();
+    subscriber.requestMore(Long.MAX_VALUE);
+    scheduler.triggerActions();
+    subscriber.assertValueCount(32);
+    subscriber.assertCompleted();
+  }
+
+  @Test
+  public void shouldDropWithoutDemand() {
+    final StreamInteractor interactor = new StreamInteractor(BackpressureStrategy.DROP);
+    interactor.execute(subscriber);
+    emit(40);
+    assertThat(interactor.getDroppedResponses()).isEqualTo(24);
+
+    subscriber.requestMore(Long.MAX_VALUE);
+    scheduler.triggerActions();
+    subscriber.assertValueCount(16);
+  }
+
+  @Test
+  public void shouldKeepLatest() {
+    final StreamInteractor interactor = new StreamInteractor(BackpressureStrategy.LATEST);
+    interactor.execute(subscriber);
+    emit(40);
+
+    subscriber.requestMore(Long.MAX_VALUE);
+    scheduler.triggerActions();
+    subscriber.assertValueCount(17);
+    assertThat(subscriber.getOnNextEvents()
+        .get(16)).isEqualTo(40);
+  }
+
+  @Test
+  public void shouldKeepDemandWithExecutionListener() {
+    RxViper.setExecutionListener(new InteractorMetrics());
+    try {
+      final StreamInteractor interactor = new StreamInteractor(Schedulers.immediate(), BackpressureStrategy.DROP, 16);
+      final TestSubscriber<Integer> limited = new TestSubscriber<Integer>(0L) {
+        @Override
+        public void onStart() {
+          request(1);
+        }
+      };
+      interactor.execute(limited);
+      emit(5);
+
+      limited.assertValue(1);
+      assertThat(interactor.getDroppedResponses()).isEqualTo(4);
+    } finally {
+      RxViper.setExecutionListener(null);
+    }
+  }
+
+  @Test
+  public void shouldCheckArguments() {
+    final Scheduler immediate = Schedulers.immediate();
+    assertThrows(IllegalArgumentException.class, () -> new StreamInteractor(immediate, null, 1));
+    assertThrows(IllegalArgumentException.class, () -> new StreamInteractor(immediate, BackpressureStrategy.DROP, 0));
+  }
+
+  private void emit(int count) {
+    for (int i = 1; i <= count; i++) {
+      subject.onNext(i);
+    }
+  }
+
+  final class StreamInteractor extends BackpressureInteractor<Integer, Integer> {
+    StreamInteractor(BackpressureStrategy strategy) {
+      this(scheduler, strategy, 16);
+    }
+
+    StreamInteractor(Scheduler observeScheduler, BackpressureStrategy strategy, int bufferSize) {
+      super(Schedulers.immediate(), observeScheduler, strategy, bufferSize);
+    }
+
+    @Override
+    protected Observable<Integer> createObservable(Integer integer) {
+      return subject;
+    }
+  }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import rx.Observable;
+import rx.Scheduler;
+import rx.observers.TestSubscriber;
+import rx.schedulers.Schedulers;
+import rx.schedulers.TestScheduler;
+import rx.subjects.PublishSubject;
+
+import static com.dzaitsev.rxviper.TestUtil.assertThrows;
+import static com.google.common.truth.Truth.assertThat;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-28, 13:20
+ */
+public final class BatchInteractorTest {
+  private final TestScheduler scheduler = new TestScheduler();
+
+  @Test
+  public void shouldBatchExecutionsWithinWindow() {
+    final NameInteractor interactor = new NameInteractor(scheduler, 10);
+    final TestSubscriber<String> first = TestSubscriber.create();
+    final TestSubscriber<String> second = TestSubscriber.create();
+    final TestSubscriber<String> same = TestSubscriber.create();
+    interactor.execute(1, first);
+    interactor.execute(2, second);
+    interactor.execute(1, same);
+    scheduler.advanceTimeBy(99, TimeUnit.MILLISECONDS);
+    assertThat(interactor.batches).isEmpty();
+
+    scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+    assertThat(interactor.batches).containsExactly(Arrays.asList(1, 2));
+    first.assertValue("name1");
+    first.assertCompleted();
+    second.assertValue("name2");
+    same.assertValue("name1");
+
+    final TestSubscriber<String> next = TestSubscriber.create();
+    interactor.execute(3, next);
+    scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+    assertThat(interactor.batches).containsExactly(Arrays.asList(1, 2), Arrays.asList(3))
+        .inOrder();
+    next.assertValue("name3");
+  }
+
+  @Test
+  public void shouldStartFullBatch() {
+    final NameInteractor interactor = new NameInteractor(scheduler, 2);
+    interactor.execute(1, TestSubscriber.create());
+    interactor.execute(2, TestSubscriber.create());
+    interactor.execute(3, TestSubscriber.create());
+    scheduler.triggerActions();
+    assertThat(interactor.batches).containsExactly(Arrays.asList(1, 2));
+
+    scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+    assertThat(interactor.batches).containsExactly(Arrays.asList(1, 2), Arrays.asList(3))
+        .inOrder();
+  }
+
+  @Test
+  public void shouldCompleteMissingResponses() {
+    final NameInteractor interactor = new NameInteractor(scheduler, 10);
+    final TestSubscriber<String> missing = TestSubscriber.create();
+    interactor.execute(-1, missing);
+    scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+    missing.assertNoValues();
+    missing.assertCompleted();
+  }
+
+  @Test
+  public void shouldDeliverErrorToBatch() {
+    final PublishSubject<Map<Integer, String>> subject = PublishSubject.create();
+    final BatchInteractor<Integer, String> interactor = new SubjectInteractor(subject);
+    final TestSubscriber<String> first = TestSubscriber.create();
+    final TestSubscriber<String> second = TestSubscriber.create();
+    interactor.execute(1, first);
+    interactor.execute(2, second);
+    scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+
+    subject.onError(new IllegalStateException());
+    first.assertError(IllegalStateException.class);
+    second.assertError(IllegalStateException.class);
+  }
+
+  @Test
+  public void shouldCancelBatchWithoutSubscribers() {
+    final PublishSubject<Map<Integer, String>> subject = PublishSubject.create();
+    final BatchInteractor<Integer, String> interactor = new SubjectInteractor(subject);
+    final TestSubscriber<String> first = TestSubscriber.create();
+    final TestSubscriber<String> second = TestSubscriber.create();
+    interactor.execute(1, first);
+    interactor.execute(2, second);
+    scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+    assertThat(subject.hasObservers()).isTrue();
+
+    first.unsubscribe();
+    assertThat(subject.hasObservers()).isTrue();
+    second.unsubscribe();
+    assertThat(subject.hasObservers()).isFalse();
+  }
+
+  @Test
+  public void shouldSkipCancelledRequests() {
+    final NameInteractor interactor = new NameInteractor(scheduler, 10);
+    final TestSubscriber<String> cancelled = TestSubscriber.create();
+    interactor.execute(1, cancelled);
+    interactor.execute(2, TestSubscriber.create());
+    scheduler.triggerActions();
+    cancelled.unsubscribe();
+    scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+    assertThat(interactor.batches).containsExactly(Arrays.asList(2));
+  }
+
+  @Test
+  public void shouldCheckArguments() {
+    final Scheduler immediate = Schedulers.immediate();
+    assertThrows(IllegalArgumentException.class, () -> new NameInteractor(immediate, 0));
+    assertThrows(IllegalArgumentException.class, () -> new ListInteractor(immediate, 1, -1, TimeUnit.MILLISECONDS));
+    assertThrows(IllegalArgumentException.class, () -> new ListInteractor(immediate, 1, 0, null));
+  }
+
+  static class ListInteractor extends BatchInteractor<Integer, String> {
+    final List<List<Integer>> batches = new ArrayList<>();
+
+    ListInteractor(Scheduler scheduler, int maxBatchSize, long window, TimeUnit unit) {
+      super(scheduler, Schedulers.immediate(), maxBatchSize, window, unit);
+    }
+
+    @Override
+    protected Observable<Map<Integer, String>> createBatchObservable(List<Integer> requestModels) {
+      batches.add(requestModels);
+      final Map<Integer, String> names = new HashMap<>();
+      for (Integer id : requestModels) {
+        if (id > 0) {
+          names.put(id, "name" + id);
+        }
+      }
+      return Observable.just(names);
+    }
+  }
+
+  static final class NameInteractor extends ListInteractor {
+    NameInteractor(Scheduler scheduler, int maxBatchSize) {
+      super(scheduler, maxBatchSize, 100, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  final class SubjectInteractor extends BatchInteractor<Integer, String> {
+    private final Observable<Map<Integer, String>> subject;
+
+    SubjectInteractor(Observable<Map<Integer, String>> subject) {
+      super(scheduler, Schedulers.immediate(), 10, 100, TimeUnit.MILLISECONDS);
+      this.subject = subject;
+    }
+
+    @Override
+    protected Observable<Map<Integer, String>> createBatchObservable(List<Integer> requestModels) {
+      return subject;
+    }
+  }
+}
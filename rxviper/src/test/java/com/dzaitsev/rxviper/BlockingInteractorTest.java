@@ -0,0 +1,160 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import rx.observers.TestSubscriber;
+import rx.schedulers.Schedulers;
+import rx.schedulers.TestScheduler;
+
+import static com.dzaitsev.rxviper.TestUtil.checkIllegalArgumentException;
+import static com.google.common.truth.Truth.assertThat;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-30, 15:10
+ */
+public final class BlockingInteractorTest {
+  @Test
+  public void shouldDeliverResponseOnObserveScheduler() {
+    final TestScheduler observeScheduler = new TestScheduler();
+    final AtomicReference<Thread> thread = new AtomicReference<>();
+    final BlockingInteractor<Integer, String> interactor = new BlockingInteractor<Integer, String>(observeScheduler) {
+      @Override
+      protected String executeBlocking(Integer integer) {
+        thread.set(Thread.currentThread());
+        return String.valueOf(integer);
+      }
+    };
+    final TestSubscriber<String> subscriber = TestSubscriber.create();
+    interactor.execute(42, subscriber);
+    final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+    while (subscriber.getCompletions() == 0 && System.currentTimeMillis() < deadline) {
+      // the response is scheduled on the observe scheduler once the blocking call returns
+      observeScheduler.triggerActions();
+      Thread.yield();
+    }
+
+    subscriber.assertValue("42");
+    subscriber.assertCompleted();
+    assertThat(thread.get()).isNotSameAs(Thread.currentThread());
+    if (!BlockingInteractor.isVirtualThreadsSupported()) {
+      assertThat(thread.get()
+          .getName()).startsWith("RxViper-Blocking-");
+      assertThat(thread.get()
+          .isDaemon()).isTrue();
+    }
+  }
+
+  @Test
+  public void shouldDeliverError() {
+    final BlockingInteractor<Integer, String> interactor = new DirectInteractor() {
+      @Override
+      protected String executeBlocking(Integer integer) throws IOException {
+        throw new IOException();
+      }
+    };
+    final TestSubscriber<String> subscriber = TestSubscriber.create();
+    interactor.execute(subscriber);
+    subscriber.assertError(IOException.class);
+  }
+
+  @Test
+  public void shouldCompleteWithoutResponse() {
+    final BlockingInteractor<Integer, String> interactor = new DirectInteractor() {
+      @Override
+      protected String executeBlocking(Integer integer) {
+        return null;
+      }
+    };
+    final TestSubscriber<String> subscriber = TestSubscriber.create();
+    interactor.execute(subscriber);
+    subscriber.assertNoValues();
+    subscriber.assertCompleted();
+  }
+
+  @Test
+  public void shouldInterruptOnUnsubscribe() throws InterruptedException {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch interrupted = new CountDownLatch(1);
+    final BlockingInteractor<Integer, String> interactor = new BlockingInteractor<Integer, String>(Schedulers.immediate()) {
+      @Override
+      protected String executeBlocking(Integer integer) {
+        started.countDown();
+        try {
+          Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+        } catch (InterruptedException e) {
+          interrupted.countDown();
+        }
+        return "late";
+      }
+    };
+    final TestSubscriber<String> subscriber = TestSubscriber.create();
+    interactor.execute(subscriber);
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    interactor.unsubscribe();
+    assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    subscriber.assertNoValues();
+    subscriber.assertNoTerminalEvent();
+  }
+
+  @Test
+  public void shouldNotRunCancelledExecution() {
+    final boolean[] called = new boolean[1];
+    final Runnable[] task = new Runnable[1];
+    final BlockingInteractor<Integer, String> interactor = new BlockingInteractor<Integer, String>(runnable -> task[0] = runnable,
+        Schedulers.immediate()) {
+      @Override
+      protected String executeBlocking(Integer integer) {
+        called[0] = true;
+        return "value";
+      }
+    };
+    interactor.execute(TestSubscriber.create());
+    interactor.unsubscribe();
+    task[0].run();
+    assertThat(called[0]).isFalse();
+  }
+
+  @Test
+  public void executorShouldNotBeNull() {
+    checkIllegalArgumentException(() -> new DirectInteractor(null) {
+      @Override
+      protected String executeBlocking(Integer integer) {
+        return null;
+      }
+    });
+  }
+
+  abstract static class DirectInteractor extends BlockingInteractor<Integer, String> {
+    DirectInteractor() {
+      this(Runnable::run);
+    }
+
+    DirectInteractor(Executor executor) {
+      super(executor, Schedulers.immediate());
+    }
+  }
+}
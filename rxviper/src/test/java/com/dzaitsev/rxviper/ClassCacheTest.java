@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import org.junit.Test;
+
+import static com.dzaitsev.rxviper.TestUtil.assertThrows;
+import static com.google.common.truth.Truth.assertThat;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-23, 10:12
+ */
+public final class ClassCacheTest {
+  private final AtomicInteger computations = new AtomicInteger();
+
+  @Test
+  public void shouldComputeOncePerClass() {
+    final ClassCache<String> cache = new ClassCache<String>() {
+      @Nonnull
+      @Override
+      String compute(@Nonnull Class<?> type) {
+        computations.incrementAndGet();
+        return type.getSimpleName();
+      }
+    };
+    assertThat(cache.get(String.class)).isEqualTo("String");
+    assertThat(cache.get(String.class)).isEqualTo("String");
+    assertThat(cache.get(Integer.class)).isEqualTo("Integer");
+    assertThat(computations.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldNotCacheFailures() {
+    final ClassCache<String> cache = new ClassCache<String>() {
+      @Nonnull
+      @Override
+      String compute(@Nonnull Class<?> type) {
+        computations.incrementAndGet();
+        throw new IllegalStateException();
+      }
+    };
+    assertThrows(IllegalStateException.class, () -> cache.get(String.class));
+    assertThrows(IllegalStateException.class, () -> cache.get(String.class));
+    assertThat(computations.get()).isEqualTo(2);
+  }
+}
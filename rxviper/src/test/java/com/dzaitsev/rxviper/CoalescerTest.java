@@ -0,0 +1,179 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import rx.Scheduler;
+import rx.schedulers.TestScheduler;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-24, 15:40
+ */
+public final class CoalescerTest {
+  private CommandBufferTest.BufferedView             view;
+  private NullObject<CommandBufferTest.BufferedView> nullObject;
+  private CommandBufferTest.BufferedView             proxy;
+  private TestScheduler                              scheduler;
+
+  @Before
+  public void setUp() {
+    view = mock(CommandBufferTest.BufferedView.class);
+    scheduler = new TestScheduler();
+    proxy = RxViper.createProxy(view, CommandBufferTest.BufferedView.class);
+    nullObject = RxViper.getProxy(proxy);
+    nullObject.coalesce(16, TimeUnit.MILLISECONDS, scheduler);
+  }
+
+  @Test
+  public void shouldDeliverLatestCallOncePerTick() {
+    proxy.showItem("1");
+    proxy.showProgress(true);
+    proxy.showItem("2");
+    proxy.showItem("3");
+    verifyZeroInteractions(view);
+
+    scheduler.advanceTimeBy(16, TimeUnit.MILLISECONDS);
+    final InOrder inOrder = inOrder(view);
+    inOrder.verify(view)
+        .showProgress(true);
+    inOrder.verify(view)
+        .showItem("3");
+    verifyNoMoreInteractions(view);
+    assertThat(nullObject.collapsed()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldDeliverCallsInOrderOfLatestOccurrence() {
+    final ProgressView progressView = mock(ProgressView.class);
+    final ProgressView progressProxy = RxViper.createProxy(progressView, ProgressView.class);
+    RxViper.getProxy(progressProxy)
+        .coalesce(16, TimeUnit.MILLISECONDS, scheduler);
+    progressProxy.showProgress();
+    progressProxy.hideProgress();
+    progressProxy.showProgress();
+
+    scheduler.advanceTimeBy(16, TimeUnit.MILLISECONDS);
+    final InOrder inOrder = inOrder(progressView);
+    inOrder.verify(progressView)
+        .hideProgress();
+    inOrder.verify(progressView)
+        .showProgress();
+    verifyNoMoreInteractions(progressView);
+  }
+
+  @Test
+  public void shouldReleaseWorkerWhenViewIsDropped() {
+    final List<Scheduler.Worker> workers = new ArrayList<>();
+    final Scheduler recordingScheduler = new Scheduler() {
+      @Override
+      public Worker createWorker() {
+        final Worker worker = scheduler.createWorker();
+        workers.add(worker);
+        return worker;
+      }
+    };
+    final NullObject.Lifecycle<Object, CommandBufferTest.BufferedView> lifecycle = mock(NullObject.Lifecycle.class);
+    final Object owner = new Object();
+    nullObject.coalesce(16, TimeUnit.MILLISECONDS, recordingScheduler);
+    nullObject.buffer(10);
+    proxy.showItem("1");
+    assertThat(workers).hasSize(1);
+
+    nullObject.drop(view, owner, lifecycle);
+    assertThat(workers.get(0)
+        .isUnsubscribed()).isTrue();
+    verifyZeroInteractions(view);
+
+    nullObject.take(view, owner, lifecycle);
+    nullObject.replay();
+    verify(view).showItem("1");
+    proxy.showItem("2");
+    assertThat(workers).hasSize(2);
+    scheduler.advanceTimeBy(16, TimeUnit.MILLISECONDS);
+    verify(view).showItem("2");
+  }
+
+  @Test
+  public void shouldStartNewTickAfterDelivery() {
+    proxy.showItem("1");
+    scheduler.advanceTimeBy(16, TimeUnit.MILLISECONDS);
+    proxy.showItem("2");
+    scheduler.advanceTimeBy(15, TimeUnit.MILLISECONDS);
+    verify(view).showItem("1");
+    verifyNoMoreInteractions(view);
+
+    scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+    verify(view).showItem("2");
+    assertThat(nullObject.collapsed()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldDeliverPendingCallsWhenStopped() {
+    proxy.showItem("1");
+    nullObject.stopCoalescing();
+    verify(view).showItem("1");
+    assertThat(nullObject.collapsed()).isEqualTo(0);
+
+    proxy.showItem("2");
+    verify(view).showItem("2");
+
+    scheduler.advanceTimeBy(16, TimeUnit.MILLISECONDS);
+    verifyNoMoreInteractions(view);
+  }
+
+  @Test
+  public void shouldBypassDirectTarget() {
+    assertThat(nullObject.direct()).isNull();
+
+    nullObject.stopCoalescing();
+    assertThat(nullObject.direct()).isSameAs(view);
+  }
+
+  @Test
+  public void shouldBufferCallsDeliveredWithoutView() {
+    nullObject.buffer(10);
+    proxy.showItem("1");
+    nullObject.clear();
+    scheduler.advanceTimeBy(16, TimeUnit.MILLISECONDS);
+    verifyZeroInteractions(view);
+
+    nullObject.set(view);
+    nullObject.replay();
+    verify(view).showItem("1");
+  }
+
+  interface ProgressView extends ViewCallbacks {
+    void showProgress();
+
+    void hideProgress();
+  }
+}
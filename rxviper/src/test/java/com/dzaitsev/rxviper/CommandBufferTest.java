@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-24, 11:20
+ */
+public final class CommandBufferTest {
+  private Method showItem;
+  private Method showProgress;
+
+  @Before
+  public void setUp() throws NoSuchMethodException {
+    showItem = BufferedView.class.getMethod("showItem", String.class);
+    showProgress = BufferedView.class.getMethod("showProgress", boolean.class);
+  }
+
+  @Test
+  public void shouldDrainInOrder() {
+    final CommandBuffer buffer = new CommandBuffer(10);
+    buffer.add(showItem, new Object[] { "1" });
+    buffer.add(showProgress, new Object[] { true });
+    buffer.add(showItem, new Object[] { "2" });
+
+    final List<CommandBuffer.Command> commands = buffer.drain();
+    assertThat(commands).hasSize(3);
+    assertThat(commands.get(0).args).asList()
+        .containsExactly("1");
+    assertThat(commands.get(1).method).isEqualTo(showProgress);
+    assertThat(commands.get(2).args).asList()
+        .containsExactly("2");
+    assertThat(buffer.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldDropOldestWhenFull() {
+    final CommandBuffer buffer = new CommandBuffer(2);
+    buffer.add(showItem, new Object[] { "1" });
+    buffer.add(showItem, new Object[] { "2" });
+    buffer.add(showItem, new Object[] { "3" });
+
+    final List<CommandBuffer.Command> commands = buffer.drain();
+    assertThat(commands).hasSize(2);
+    assertThat(commands.get(0).args).asList()
+        .containsExactly("2");
+    assertThat(commands.get(1).args).asList()
+        .containsExactly("3");
+  }
+
+  @Test
+  public void shouldKeepLatestCall() {
+    final CommandBuffer buffer = new CommandBuffer(10);
+    buffer.add(showProgress, new Object[] { true });
+    buffer.add(showItem, new Object[] { "1" });
+    buffer.add(showProgress, new Object[] { false });
+
+    final List<CommandBuffer.Command> commands = buffer.drain();
+    assertThat(commands).hasSize(2);
+    assertThat(commands.get(0).method).isEqualTo(showItem);
+    assertThat(commands.get(1).method).isEqualTo(showProgress);
+    assertThat(commands.get(1).args).asList()
+        .containsExactly(false);
+  }
+
+  interface BufferedView extends ViewCallbacks {
+    void showItem(String item);
+
+    @KeepLatest
+    void showProgress(boolean visible);
+  }
+}
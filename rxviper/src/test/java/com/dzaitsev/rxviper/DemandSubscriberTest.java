@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import rx.Observable;
+
+import static com.dzaitsev.rxviper.TestUtil.assertThrows;
+import static com.google.common.truth.Truth.assertThat;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-28, 17:05
+ */
+public final class DemandSubscriberTest {
+  @Test
+  public void shouldRequestInBatches() {
+    final List<Long> requests = new ArrayList<>();
+    final RecordingSubscriber subscriber = new RecordingSubscriber(3);
+    Observable.range(1, 10)
+        .doOnRequest(requests::add)
+        .subscribe(subscriber);
+
+    assertThat(requests).containsExactly(3L, 3L, 3L, 3L)
+        .inOrder();
+    assertThat(subscriber.responses).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)
+        .inOrder();
+    assertThat(subscriber.completed).isTrue();
+  }
+
+  @Test
+  public void shouldCheckBatchSize() {
+    assertThrows(IllegalArgumentException.class, () -> new RecordingSubscriber(0));
+  }
+
+  static final class RecordingSubscriber extends DemandSubscriber<Integer> {
+    final List<Integer> responses = new ArrayList<>();
+    boolean completed;
+
+    RecordingSubscriber(int batchSize) {
+      super(batchSize);
+    }
+
+    @Override
+    protected void onResponse(Integer response) {
+      responses.add(response);
+    }
+
+    @Override
+    public void onCompleted() {
+      completed = true;
+    }
+
+    @Override
+    public void onError(Throwable e) {
+      throw new AssertionError(e);
+    }
+  }
+}
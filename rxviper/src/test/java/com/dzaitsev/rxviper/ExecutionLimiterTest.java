@@ -0,0 +1,212 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import rx.observers.TestSubscriber;
+import rx.schedulers.TestScheduler;
+import rx.subjects.PublishSubject;
+
+import static com.google.common.truth.Truth.assertThat;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-27, 16:40
+ */
+public final class ExecutionLimiterTest {
+  private final TestScheduler          clock  = new TestScheduler();
+  private final PublishSubject<String> first  = PublishSubject.create();
+  private final PublishSubject<String> second = PublishSubject.create();
+  private final PublishSubject<String> third  = PublishSubject.create();
+
+  @Test
+  public void shouldStartQueuedExecutionsInOrder() {
+    final ExecutionLimiter limiter = new ExecutionLimiter(1, 2, QueueOverflow.REJECT, clock);
+    final TestSubscriber<String> firstSubscriber = TestSubscriber.create();
+    final TestSubscriber<String> secondSubscriber = TestSubscriber.create();
+    final TestSubscriber<String> thirdSubscriber = TestSubscriber.create();
+    limiter.limit(first)
+        .subscribe(firstSubscriber);
+    limiter.limit(second)
+        .subscribe(secondSubscriber);
+    limiter.limit(third)
+        .subscribe(thirdSubscriber);
+    assertThat(limiter.inFlight()).isEqualTo(1);
+    assertThat(limiter.queueDepth()).isEqualTo(2);
+    assertThat(second.hasObservers()).isFalse();
+
+    clock.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+    first.onNext("first");
+    first.onCompleted();
+    assertThat(second.hasObservers()).isTrue();
+    assertThat(third.hasObservers()).isFalse();
+
+    clock.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+    second.onCompleted();
+    assertThat(third.hasObservers()).isTrue();
+    third.onNext("third");
+    third.onCompleted();
+
+    firstSubscriber.assertValue("first");
+    secondSubscriber.assertCompleted();
+    thirdSubscriber.assertValue("third");
+    assertThat(limiter.inFlight()).isEqualTo(0);
+    assertThat(limiter.queueDepth()).isEqualTo(0);
+    assertThat(limiter.averageWaitMillis()).isEqualTo(150);
+    assertThat(limiter.maxWaitMillis()).isEqualTo(200);
+  }
+
+  @Test
+  public void shouldKeepCountingExecutionsInFlightWhenLimitIsLowered() {
+    final ExecutionLimiter limiter = new ExecutionLimiter(2, 1, QueueOverflow.REJECT, clock);
+    limiter.limit(first)
+        .subscribe();
+    limiter.limit(second)
+        .subscribe();
+
+    limiter.configure(1, 1, QueueOverflow.REJECT);
+    limiter.limit(third)
+        .subscribe();
+    assertThat(third.hasObservers()).isFalse();
+    assertThat(limiter.queueDepth()).isEqualTo(1);
+
+    first.onCompleted();
+    assertThat(third.hasObservers()).isFalse();
+    assertThat(limiter.inFlight()).isEqualTo(1);
+
+    second.onCompleted();
+    assertThat(third.hasObservers()).isTrue();
+    assertThat(limiter.inFlight()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldStartQueuedExecutionsWhenLimitIsRaised() {
+    final ExecutionLimiter limiter = new ExecutionLimiter(1, 2, QueueOverflow.REJECT, clock);
+    limiter.limit(first)
+        .subscribe();
+    limiter.limit(second)
+        .subscribe();
+    limiter.limit(third)
+        .subscribe();
+    assertThat(limiter.queueDepth()).isEqualTo(2);
+
+    limiter.configure(2, 2, QueueOverflow.REJECT);
+    assertThat(second.hasObservers()).isTrue();
+    assertThat(third.hasObservers()).isFalse();
+    assertThat(limiter.inFlight()).isEqualTo(2);
+    assertThat(limiter.queueDepth()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldReleaseOnUnsubscribe() {
+    final ExecutionLimiter limiter = new ExecutionLimiter(1, 1, QueueOverflow.REJECT, clock);
+    final TestSubscriber<String> firstSubscriber = TestSubscriber.create();
+    limiter.limit(first)
+        .subscribe(firstSubscriber);
+    limiter.limit(second)
+        .subscribe(TestSubscriber.create());
+
+    firstSubscriber.unsubscribe();
+    assertThat(second.hasObservers()).isTrue();
+    assertThat(limiter.inFlight()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldSkipCancelledExecutions() {
+    final ExecutionLimiter limiter = new ExecutionLimiter(1, 2, QueueOverflow.REJECT, clock);
+    final TestSubscriber<String> secondSubscriber = TestSubscriber.create();
+    limiter.limit(first)
+        .subscribe(TestSubscriber.create());
+    limiter.limit(second)
+        .subscribe(secondSubscriber);
+    limiter.limit(third)
+        .subscribe(TestSubscriber.create());
+
+    secondSubscriber.unsubscribe();
+    assertThat(limiter.queueDepth()).isEqualTo(1);
+    first.onCompleted();
+    assertThat(second.hasObservers()).isFalse();
+    assertThat(third.hasObservers()).isTrue();
+  }
+
+  @Test
+  public void shouldDropOldest() {
+    final ExecutionLimiter limiter = new ExecutionLimiter(1, 1, QueueOverflow.DROP_OLDEST, clock);
+    final TestSubscriber<String> secondSubscriber = TestSubscriber.create();
+    limiter.limit(first)
+        .subscribe(TestSubscriber.create());
+    limiter.limit(second)
+        .subscribe(secondSubscriber);
+    limiter.limit(third)
+        .subscribe(TestSubscriber.create());
+
+    secondSubscriber.assertNoValues();
+    secondSubscriber.assertCompleted();
+    first.onCompleted();
+    assertThat(second.hasObservers()).isFalse();
+    assertThat(third.hasObservers()).isTrue();
+  }
+
+  @Test
+  public void shouldDropNewest() {
+    final ExecutionLimiter limiter = new ExecutionLimiter(1, 1, QueueOverflow.DROP_NEWEST, clock);
+    final TestSubscriber<String> thirdSubscriber = TestSubscriber.create();
+    limiter.limit(first)
+        .subscribe(TestSubscriber.create());
+    limiter.limit(second)
+        .subscribe(TestSubscriber.create());
+    limiter.limit(third)
+        .subscribe(thirdSubscriber);
+
+    thirdSubscriber.assertCompleted();
+    first.onCompleted();
+    assertThat(second.hasObservers()).isTrue();
+    assertThat(third.hasObservers()).isFalse();
+  }
+
+  @Test
+  public void shouldDropWithoutQueue() {
+    final ExecutionLimiter limiter = new ExecutionLimiter(1, 0, QueueOverflow.DROP_OLDEST, clock);
+    final TestSubscriber<String> secondSubscriber = TestSubscriber.create();
+    limiter.limit(first)
+        .subscribe(TestSubscriber.create());
+    limiter.limit(second)
+        .subscribe(secondSubscriber);
+
+    secondSubscriber.assertCompleted();
+    assertThat(limiter.queueDepth()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldReject() {
+    final ExecutionLimiter limiter = new ExecutionLimiter(1, 0, QueueOverflow.REJECT, clock);
+    final TestSubscriber<String> secondSubscriber = TestSubscriber.create();
+    limiter.limit(first)
+        .subscribe(TestSubscriber.create());
+    limiter.limit(second)
+        .subscribe(secondSubscriber);
+
+    secondSubscriber.assertError(RejectedExecutionException.class);
+    assertThat(second.hasObservers()).isFalse();
+    first.onCompleted();
+    assertThat(limiter.inFlight()).isEqualTo(0);
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import org.junit.Test;
+import rx.Observable;
+import rx.observers.TestSubscriber;
+import rx.schedulers.Schedulers;
+import rx.schedulers.TestScheduler;
+
+import static com.google.common.truth.Truth.assertThat;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-27, 10:40
+ */
+public final class ExecutionSchedulersTest {
+  private final TestScheduler      scheduler = new TestScheduler();
+  private final Observable<String> source    = Observable.fromCallable(() -> "value");
+
+  @Test
+  public void shouldSkipImmediateSubscribeScheduler() {
+    final ExecutionSchedulers<String> schedulers = new ExecutionSchedulers<>(Schedulers.immediate(), scheduler);
+    assertThat(schedulers.subscribeOn(source)).isSameAs(source);
+  }
+
+  @Test
+  public void shouldSkipObserveSchedulersThatDontSwitchThreads() {
+    assertThat(new ExecutionSchedulers<String>(scheduler, Schedulers.immediate()).observeOn(source)).isSameAs(source);
+    assertThat(new ExecutionSchedulers<String>(scheduler, Schedulers.trampoline()).observeOn(source)).isSameAs(source);
+  }
+
+  @Test
+  public void shouldSubscribeOnScheduler() {
+    final ExecutionSchedulers<String> schedulers = new ExecutionSchedulers<>(scheduler, Schedulers.immediate());
+    final TestSubscriber<String> subscriber = TestSubscriber.create();
+    schedulers.subscribeOn(source)
+        .subscribe(subscriber);
+    subscriber.assertNoValues();
+
+    scheduler.triggerActions();
+    subscriber.assertValue("value");
+    subscriber.assertCompleted();
+  }
+
+  @Test
+  public void shouldObserveOnScheduler() {
+    final ExecutionSchedulers<String> schedulers = new ExecutionSchedulers<>(Schedulers.immediate(), scheduler);
+    final TestSubscriber<String> first = TestSubscriber.create();
+    final TestSubscriber<String> second = TestSubscriber.create();
+    schedulers.observeOn(source)
+        .subscribe(first);
+    schedulers.observeOn(Observable.just("scalar"))
+        .subscribe(second);
+    first.assertNoValues();
+    second.assertNoValues();
+
+    scheduler.triggerActions();
+    first.assertValue("value");
+    first.assertCompleted();
+    second.assertValue("scalar");
+    second.assertCompleted();
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import rx.schedulers.TestScheduler;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-21, 18:45
+ */
+public final class GeneratedProxyTest {
+  @Rule public ExpectedException thrown = ExpectedException.none();
+
+  private TestGeneratedViewCallbacks view;
+  private GeneratedPresenter         presenter;
+
+  @Before
+  public void setUp() {
+    view = mock(TestGeneratedViewCallbacks.class);
+    presenter = new GeneratedPresenter();
+  }
+
+  @After
+  public void tearDown() {
+    RxViperHooks.reset();
+  }
+
+  @Test
+  public void shouldFindGeneratedProxy() {
+    assertThat(RxViper.findGeneratedProxy(TestGeneratedViewCallbacks.class)).isSameAs(TestGeneratedViewCallbacks_Proxy.class);
+  }
+
+  @Test
+  public void shouldNotFindMissingProxy() {
+    assertThat(RxViper.findGeneratedProxy(TestViewCallbacks.class)).isNull();
+  }
+
+  @Test
+  public void presenterShouldUseGeneratedProxy() {
+    final TestGeneratedViewCallbacks proxyView = presenter.getView();
+    assertThat(proxyView).isInstanceOf(TestGeneratedViewCallbacks_Proxy.class);
+    assertThat(Proxy.isProxyClass(proxyView.getClass())).isFalse();
+    assertThat(RxViper.getProxy(proxyView)).isSameAs(((GeneratedProxy) proxyView).nullObject);
+  }
+
+  @Test
+  public void shouldDelegateToAttachedView() {
+    presenter.takeView(view);
+    presenter.getView()
+        .doJob("job");
+    verify(view).doJob("job");
+  }
+
+  @Test
+  public void shouldBeNoOpWithoutView() {
+    presenter.getView()
+        .doJob("job");
+
+    presenter.takeView(view);
+    presenter.dropView(view);
+    presenter.getView()
+        .doJob("job");
+    verifyZeroInteractions(view);
+  }
+
+  @Test
+  public void shouldReplayBufferedCalls() {
+    presenter.setViewBufferSize(1);
+    presenter.getView()
+        .doJob("first");
+    presenter.getView()
+        .doJob("second");
+
+    presenter.takeView(view);
+    verify(view).doJob("second");
+    verifyNoMoreInteractions(view);
+  }
+
+  @Test
+  public void shouldCoalesceCalls() {
+    final TestScheduler scheduler = new TestScheduler();
+    presenter.takeView(view);
+    presenter.coalesceViewCalls(0, TimeUnit.MILLISECONDS, scheduler);
+    presenter.getView()
+        .doJob("first");
+    presenter.getView()
+        .doJob("second");
+    verifyZeroInteractions(view);
+
+    scheduler.triggerActions();
+    verify(view).doJob("second");
+    verifyNoMoreInteractions(view);
+  }
+
+  @Test
+  public void shouldRethrowDeclaredExceptions() throws Exception {
+    final IOException error = new IOException("save");
+    doThrow(error).when(view)
+        .save("job");
+    RxViperHooks.register(new RxViperHook() {
+    });
+    presenter.takeView(view);
+
+    thrown.expect(is(error));
+    presenter.getView()
+        .save("job");
+  }
+
+  @Test
+  public void shouldFailOnMissingMethod() {
+    thrown.expect(IllegalStateException.class);
+    thrown.expectMessage("Method undoJob is not found in " + TestGeneratedViewCallbacks.class.getName() + ".");
+    GeneratedProxy.method(TestGeneratedViewCallbacks.class, "undoJob");
+  }
+
+  static final class GeneratedPresenter extends Presenter<TestGeneratedViewCallbacks> {
+  }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import rx.Observable;
+import rx.Scheduler;
+import rx.observers.TestSubscriber;
+import rx.schedulers.Schedulers;
+import rx.schedulers.TestScheduler;
+import rx.subjects.PublishSubject;
+
+import static com.dzaitsev.rxviper.TestUtil.assertThrows;
+import static com.google.common.truth.Truth.assertThat;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-29, 11:05
+ */
+public final class InteractorMetricsTest {
+  private final InteractorMetrics metrics = new InteractorMetrics();
+
+  @Before
+  public void setUp() {
+    RxViper.setExecutionListener(metrics);
+  }
+
+  @After
+  public void tearDown() {
+    RxViper.setExecutionListener(null);
+  }
+
+  @Test
+  public void shouldCountSuccessfulExecutions() {
+    final MetricsInteractor interactor = new MetricsInteractor(Observable.just("a", "b"), Schedulers.immediate());
+    interactor.execute(TestSubscriber.create());
+    interactor.execute(TestSubscriber.create());
+
+    final InteractorMetrics.Stats stats = metrics.getStats(MetricsInteractor.class);
+    assertThat(stats).isNotNull();
+    assertThat(metrics.getInteractorClasses()).containsExactly(MetricsInteractor.class);
+    assertThat(stats.getExecutions()).isEqualTo(2);
+    assertThat(stats.getSuccesses()).isEqualTo(2);
+    assertThat(stats.getErrors()).isEqualTo(0);
+    assertThat(stats.getCancellations()).isEqualTo(0);
+    assertThat(stats.getInFlight()).isEqualTo(0);
+    assertThat(stats.getEmissions()).isEqualTo(4);
+    assertThat(stats.getQueueTime()
+        .getCount()).isEqualTo(2);
+    assertThat(stats.getTimeToFirstEmission()
+        .getCount()).isEqualTo(2);
+    assertThat(stats.getDuration()
+        .getCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldCountFailedExecutions() {
+    final MetricsInteractor interactor = new MetricsInteractor(Observable.error(new IllegalStateException()), Schedulers.immediate());
+    final TestSubscriber<String> subscriber = TestSubscriber.create();
+    interactor.execute(subscriber);
+
+    subscriber.assertError(IllegalStateException.class);
+    final InteractorMetrics.Stats stats = metrics.getStats(MetricsInteractor.class);
+    assertThat(stats.getErrors()).isEqualTo(1);
+    assertThat(stats.getSuccesses()).isEqualTo(0);
+    assertThat(stats.getEmissions()).isEqualTo(0);
+    assertThat(stats.getTimeToFirstEmission()
+        .getCount()).isEqualTo(0);
+    assertThat(stats.getDuration()
+        .getCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldCountExecutionsFailedToCreateObservable() {
+    final ThrowingInteractor interactor = new ThrowingInteractor();
+    assertThrows(IllegalStateException.class, () -> interactor.execute(TestSubscriber.create()));
+
+    final InteractorMetrics.Stats stats = metrics.getStats(ThrowingInteractor.class);
+    assertThat(stats.getExecutions()).isEqualTo(1);
+    assertThat(stats.getErrors()).isEqualTo(1);
+    assertThat(stats.getInFlight()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldCountExecutionsFailedInOnNextAsErrors() {
+    final MetricsInteractor interactor = new MetricsInteractor(Observable.just("value"), Schedulers.immediate());
+    final TestSubscriber<String> subscriber = new TestSubscriber<String>() {
+      @Override
+      public void onNext(String value) {
+        throw new IllegalStateException();
+      }
+    };
+    interactor.execute(subscriber);
+
+    subscriber.assertError(IllegalStateException.class);
+    final InteractorMetrics.Stats stats = metrics.getStats(MetricsInteractor.class);
+    assertThat(stats.getErrors()).isEqualTo(1);
+    assertThat(stats.getCancellations()).isEqualTo(0);
+    assertThat(stats.getInFlight()).isEqualTo(0);
+    assertThat(stats.getEmissions()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldTrackExecutionsInFlightAndCancellations() {
+    final PublishSubject<String> subject = PublishSubject.create();
+    final MetricsInteractor interactor = new MetricsInteractor(subject, Schedulers.immediate());
+    interactor.execute(TestSubscriber.create());
+    final TestSubscriber<String> cancelled = TestSubscriber.create();
+    interactor.execute(cancelled);
+
+    final InteractorMetrics.Stats stats = metrics.getStats(MetricsInteractor.class);
+    assertThat(stats.getInFlight()).isEqualTo(2);
+
+    subject.onNext("value");
+    cancelled.unsubscribe();
+    assertThat(stats.getInFlight()).isEqualTo(1);
+    assertThat(stats.getCancellations()).isEqualTo(1);
+
+    subject.onCompleted();
+    assertThat(stats.getInFlight()).isEqualTo(0);
+    assertThat(stats.getSuccesses()).isEqualTo(1);
+    assertThat(stats.getEmissions()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldCancelWithInteractor() {
+    final MetricsInteractor interactor = new MetricsInteractor(Observable.never(), Schedulers.immediate());
+    interactor.execute(TestSubscriber.create());
+    interactor.unsubscribe();
+
+    final InteractorMetrics.Stats stats = metrics.getStats(MetricsInteractor.class);
+    assertThat(stats.getCancellations()).isEqualTo(1);
+    assertThat(stats.getInFlight()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldSeparateQueueTime() throws InterruptedException {
+    final TestScheduler scheduler = new TestScheduler();
+    final MetricsInteractor interactor = new MetricsInteractor(Observable.just("value"), scheduler);
+    final TestSubscriber<String> subscriber = TestSubscriber.create();
+    interactor.execute(subscriber);
+    TimeUnit.MILLISECONDS.sleep(20);
+    scheduler.triggerActions();
+
+    subscriber.assertValue("value");
+    final InteractorMetrics.Stats stats = metrics.getStats(MetricsInteractor.class);
+    assertThat(stats.getQueueTime()
+        .getMax(TimeUnit.MILLISECONDS)).isAtLeast(20L);
+    assertThat(stats.getDuration()
+        .getMax(TimeUnit.MILLISECONDS)).isAtLeast(stats.getQueueTime()
+        .getMax(TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void shouldNotMeasureCachedResponsesAsQueued() {
+    final MetricsInteractor interactor = new MetricsInteractor(Observable.just("value"), Schedulers.immediate());
+    interactor.setResultCache(LruResultCache.<String>builder()
+        .maxEntries(10)
+        .build());
+    interactor.execute(TestSubscriber.create());
+    interactor.execute(TestSubscriber.create());
+
+    final InteractorMetrics.Stats stats = metrics.getStats(MetricsInteractor.class);
+    assertThat(stats.getSuccesses()).isEqualTo(2);
+    assertThat(stats.getQueueTime()
+        .getCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotMeasureWithoutListener() {
+    RxViper.setExecutionListener(null);
+    final MetricsInteractor interactor = new MetricsInteractor(Observable.just("value"), Schedulers.immediate());
+    interactor.execute(TestSubscriber.create());
+
+    assertThat(metrics.getStats(MetricsInteractor.class)).isNull();
+    assertThat(metrics.getInteractorClasses()).isEmpty();
+  }
+
+  static final class ThrowingInteractor extends Interactor<Void, String> {
+    ThrowingInteractor() {
+      super(Schedulers.immediate(), Schedulers.immediate());
+    }
+
+    @Override
+    protected Observable<String> createObservable(Void request) {
+      throw new IllegalStateException();
+    }
+  }
+
+  static final class MetricsInteractor extends Interactor<Void, String> {
+    private final Observable<String> source;
+
+    MetricsInteractor(Observable<String> source, Scheduler subscribeScheduler) {
+      super(subscribeScheduler, Schedulers.immediate());
+      this.source = source;
+    }
+
+    @Override
+    protected Observable<String> createObservable(Void request) {
+      return source;
+    }
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+import rx.Observable;
+import rx.Subscriber;
+import rx.schedulers.Schedulers;
+
+import static com.google.common.truth.Truth.assertThat;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-28, 12:05
+ */
+public final class InteractorSoakTest {
+  private static final int  WARM_UP_EXECUTIONS = 1_000_000;
+  private static final int  EXECUTIONS         = 10_000_000;
+  private static final long MAX_HEAP_GROWTH    = 8 * 1024 * 1024;
+
+  @Test
+  public void shouldKeepHeapFlatOverManyExecutions() {
+    final PendingInteractor interactor = new PendingInteractor();
+    final AtomicLong responses = new AtomicLong();
+
+    executeAndComplete(interactor, responses, WARM_UP_EXECUTIONS);
+    final long heapBefore = usedHeap();
+    executeAndComplete(interactor, responses, EXECUTIONS);
+    final long heapAfter = usedHeap();
+
+    assertThat(responses.get()).isEqualTo(WARM_UP_EXECUTIONS + EXECUTIONS);
+    assertThat(interactor.isUnsubscribed()).isTrue();
+    assertThat(heapAfter - heapBefore).isLessThan(MAX_HEAP_GROWTH);
+  }
+
+  private static void executeAndComplete(PendingInteractor interactor, AtomicLong responses, int executions) {
+    for (int i = 0; i < executions; i++) {
+      interactor.execute(i, value -> responses.incrementAndGet());
+      // the execution is in flight until here, as if its response came from another thread
+      interactor.pending.onNext("value");
+      interactor.pending.onCompleted();
+      interactor.pending = null;
+    }
+  }
+
+  private static long usedHeap() {
+    final Runtime runtime = Runtime.getRuntime();
+    long used = Long.MAX_VALUE;
+    // a single gc() call is only a hint, take the lowest reading of a few
+    for (int i = 0; i < 5; i++) {
+      System.gc();
+      used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+    }
+    return used;
+  }
+
+  static final class PendingInteractor extends Interactor<Integer, String> {
+    Subscriber<? super String> pending;
+
+    PendingInteractor() {
+      super(Schedulers.immediate(), Schedulers.immediate());
+    }
+
+    @Override
+    protected Observable<String> createObservable(Integer integer) {
+      return Observable.unsafeCreate(subscriber -> pending = subscriber);
+    }
+  }
+}
@@ -16,19 +16,34 @@
 
 package com.dzaitsev.rxviper;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Before;
 import org.junit.Test;
+import org.reactivestreams.Publisher;
 import rx.Observable;
+import rx.Scheduler;
 import rx.Subscriber;
 import rx.functions.Action0;
 import rx.functions.Action1;
 import rx.functions.Actions;
 import rx.internal.util.ActionSubscriber;
+import rx.observers.TestSubscriber;
 import rx.schedulers.Schedulers;
+import rx.schedulers.TestScheduler;
+import rx.subjects.PublishSubject;
 
+import static com.dzaitsev.rxviper.TestUtil.assertThrows;
 import static com.dzaitsev.rxviper.TestUtil.checkIllegalArgumentException;
 import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static rx.Observable.just;
 
@@ -177,4 +192,372 @@ public final class InteractorTest {
       }
     });
   }
-}
\ No newline at end of file
+
+  @Test
+  public void shouldCoalesceEqualRequests() {
+    final PublishSubject<String> subject = PublishSubject.create();
+    final SourceInteractor coalescingInteractor = spy(new SourceInteractor(subject));
+    coalescingInteractor.setCoalescingEnabled(true);
+    final TestSubscriber<String> first = TestSubscriber.create();
+    final TestSubscriber<String> second = TestSubscriber.create();
+    final TestSubscriber<String> other = TestSubscriber.create();
+    coalescingInteractor.execute(PARAM, first);
+    coalescingInteractor.execute(PARAM, second);
+    coalescingInteractor.execute(PARAM + 1, other);
+    verify(coalescingInteractor, times(1)).createObservable(PARAM);
+    assertThat(coalescingInteractor.getCoalescedExecutions()).isEqualTo(1);
+
+    subject.onNext("value");
+    first.assertValue("value");
+    second.assertValue("value");
+    other.assertValue("value");
+
+    coalescingInteractor.unsubscribe();
+    assertThat(subject.hasObservers()).isFalse();
+
+    coalescingInteractor.execute(PARAM, TestSubscriber.create());
+    verify(coalescingInteractor, times(2)).createObservable(PARAM);
+  }
+
+  @Test
+  public void shouldNotCoalesceByDefault() {
+    final SourceInteractor coalescingInteractor = spy(new SourceInteractor(PublishSubject.create()));
+    coalescingInteractor.execute(PARAM, TestSubscriber.create());
+    coalescingInteractor.execute(PARAM, TestSubscriber.create());
+    verify(coalescingInteractor, times(2)).createObservable(PARAM);
+    assertThat(coalescingInteractor.getCoalescedExecutions()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldServeCachedResponses() {
+    final SourceInteractor cachingInteractor = spy(new SourceInteractor(just("value")));
+    final LruResultCache<String> cache = LruResultCache.<String>builder()
+        .maxEntries(10)
+        .build();
+    cachingInteractor.setResultCache(cache);
+    final TestSubscriber<String> first = TestSubscriber.create();
+    final TestSubscriber<String> second = TestSubscriber.create();
+    cachingInteractor.execute(PARAM, first);
+    cachingInteractor.execute(PARAM, second);
+    first.assertValue("value");
+    second.assertValue("value");
+    second.assertCompleted();
+    verify(cachingInteractor, times(1)).createObservable(PARAM);
+    assertThat(cache.hitCount()).isEqualTo(1);
+
+    cachingInteractor.invalidate(PARAM);
+    cachingInteractor.execute(PARAM, TestSubscriber.create());
+    verify(cachingInteractor, times(2)).createObservable(PARAM);
+
+    cachingInteractor.invalidateAll();
+    assertThat(cache.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldCacheCoalescedResponses() {
+    final PublishSubject<String> subject = PublishSubject.create();
+    final SourceInteractor cachingInteractor = spy(new SourceInteractor(subject));
+    cachingInteractor.setResultCache(LruResultCache.<String>builder()
+        .maxEntries(10)
+        .build());
+    cachingInteractor.setCoalescingEnabled(true);
+    cachingInteractor.execute(PARAM, TestSubscriber.create());
+    cachingInteractor.execute(PARAM, TestSubscriber.create());
+    subject.onNext("value");
+    subject.onCompleted();
+
+    final TestSubscriber<String> cached = TestSubscriber.create();
+    cachingInteractor.execute(PARAM, cached);
+    cached.assertValue("value");
+    verify(cachingInteractor, times(1)).createObservable(PARAM);
+  }
+
+  @Test
+  public void shouldRevalidateStaleResponses() {
+    final TestScheduler scheduler = new TestScheduler();
+    final List<String> responses = new ArrayList<>(Arrays.asList("stale", "stale", "fresh"));
+    final SourceInteractor swrInteractor = spy(new SourceInteractor(Observable.fromCallable(() -> responses.remove(0)), scheduler));
+    swrInteractor.setResultCache(LruResultCache.<String>builder()
+        .maxEntries(10)
+        .build());
+    swrInteractor.enableStaleWhileRevalidate(1, TimeUnit.MINUTES);
+
+    final TestSubscriber<String> first = TestSubscriber.create();
+    swrInteractor.execute(PARAM, first);
+    scheduler.triggerActions();
+    first.assertValue("stale");
+
+    // within the interval
+    final TestSubscriber<String> second = TestSubscriber.create();
+    swrInteractor.execute(PARAM, second);
+    second.assertValue("stale");
+    second.assertCompleted();
+    verify(swrInteractor, times(1)).createObservable(PARAM);
+
+    // revalidated with an equal response
+    scheduler.advanceTimeBy(1, TimeUnit.MINUTES);
+    final TestSubscriber<String> third = TestSubscriber.create();
+    swrInteractor.execute(PARAM, third);
+    third.assertValue("stale");
+    third.assertNotCompleted();
+    scheduler.triggerActions();
+    third.assertValue("stale");
+    third.assertCompleted();
+
+    // revalidated with a different response
+    scheduler.advanceTimeBy(1, TimeUnit.MINUTES);
+    final TestSubscriber<String> fourth = TestSubscriber.create();
+    swrInteractor.execute(PARAM, fourth);
+    scheduler.triggerActions();
+    fourth.assertValues("stale", "fresh");
+
+    final TestSubscriber<String> fifth = TestSubscriber.create();
+    swrInteractor.execute(PARAM, fifth);
+    fifth.assertValue("fresh");
+    verify(swrInteractor, times(3)).createObservable(PARAM);
+  }
+
+  @Test
+  public void shouldLimitExecutions() {
+    final PublishSubject<String> subject = PublishSubject.create();
+    final SourceInteractor limitedInteractor = new SourceInteractor(subject);
+    limitedInteractor.setExecutionLimit(1, 1, QueueOverflow.REJECT);
+    final TestSubscriber<String> first = TestSubscriber.create();
+    final TestSubscriber<String> second = TestSubscriber.create();
+    final TestSubscriber<String> third = TestSubscriber.create();
+    limitedInteractor.execute(PARAM, first);
+    limitedInteractor.execute(PARAM, second);
+    limitedInteractor.execute(PARAM, third);
+    assertThat(limitedInteractor.getQueueDepth()).isEqualTo(1);
+    third.assertError(RejectedExecutionException.class);
+
+    subject.onNext("first");
+    first.assertValue("first");
+    second.assertNoValues();
+    first.unsubscribe();
+    subject.onNext("second");
+    second.assertValue("second");
+    assertThat(limitedInteractor.getQueueDepth()).isEqualTo(0);
+    assertThat(limitedInteractor.getMaxQueueWait(TimeUnit.MILLISECONDS)).isAtLeast(0L);
+
+    limitedInteractor.removeExecutionLimit();
+    assertThat(limitedInteractor.getQueueDepth()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldKeepExecutionsInFlightWhenLimitChanges() {
+    final PublishSubject<String> subject = PublishSubject.create();
+    final SourceInteractor limitedInteractor = new SourceInteractor(subject);
+    limitedInteractor.setExecutionLimit(1, 1, QueueOverflow.REJECT);
+    final TestSubscriber<String> first = TestSubscriber.create();
+    final TestSubscriber<String> second = TestSubscriber.create();
+    limitedInteractor.execute(PARAM, first);
+
+    limitedInteractor.setExecutionLimit(1, 1, QueueOverflow.REJECT);
+    limitedInteractor.execute(PARAM, second);
+    assertThat(limitedInteractor.getQueueDepth()).isEqualTo(1);
+
+    first.unsubscribe();
+    assertThat(limitedInteractor.getQueueDepth()).isEqualTo(0);
+    subject.onNext("second");
+    second.assertValue("second");
+  }
+
+  @Test
+  public void shouldNotLimitCachedResponses() {
+    final SourceInteractor limitedInteractor = new SourceInteractor(just("value"));
+    limitedInteractor.setResultCache(LruResultCache.<String>builder()
+        .maxEntries(10)
+        .build());
+    limitedInteractor.setExecutionLimit(1, 0, QueueOverflow.REJECT);
+    limitedInteractor.execute(PARAM, TestSubscriber.create());
+
+    final TestSubscriber<String> cached = TestSubscriber.create();
+    limitedInteractor.execute(PARAM, cached);
+    cached.assertValue("value");
+  }
+
+  @Test
+  public void shouldCheckExecutionLimit() {
+    final SourceInteractor limitedInteractor = new SourceInteractor(just("value"));
+    assertThrows(IllegalArgumentException.class, () -> limitedInteractor.setExecutionLimit(0, 0, QueueOverflow.REJECT));
+    assertThrows(IllegalArgumentException.class, () -> limitedInteractor.setExecutionLimit(1, -1, QueueOverflow.REJECT));
+    assertThrows(IllegalArgumentException.class, () -> limitedInteractor.setExecutionLimit(1, 0, null));
+  }
+
+  @Test
+  public void shouldSwitchToLatestExecution() {
+    final PublishSubject<String> first = PublishSubject.create();
+    final PublishSubject<String> second = PublishSubject.create();
+    final List<Observable<String>> sources = new ArrayList<>(Arrays.asList(first, second));
+    final SourceInteractor latestInteractor = new SourceInteractor(Observable.defer(() -> sources.remove(0)));
+    latestInteractor.enableSwitchToLatest(false);
+
+    final TestSubscriber<String> firstSubscriber = TestSubscriber.create();
+    final TestSubscriber<String> secondSubscriber = TestSubscriber.create();
+    latestInteractor.execute(PARAM, firstSubscriber);
+    latestInteractor.execute(PARAM + 1, secondSubscriber);
+    assertThat(first.hasObservers()).isFalse();
+    assertThat(latestInteractor.getSupersededExecutions()).isEqualTo(1);
+
+    second.onNext("second");
+    second.onCompleted();
+    firstSubscriber.assertNoValues();
+    firstSubscriber.assertNotCompleted();
+    secondSubscriber.assertValue("second");
+
+    latestInteractor.disableSwitchToLatest();
+    assertThat(latestInteractor.getSupersededExecutions()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldSwitchToLatestExecutionByKey() {
+    final PublishSubject<String> subject = PublishSubject.create();
+    final SourceInteractor latestInteractor = new SourceInteractor(subject);
+    latestInteractor.enableSwitchToLatest(true);
+
+    final TestSubscriber<String> first = TestSubscriber.create();
+    final TestSubscriber<String> other = TestSubscriber.create();
+    final TestSubscriber<String> second = TestSubscriber.create();
+    latestInteractor.execute(PARAM, first);
+    latestInteractor.execute(PARAM + 1, other);
+    latestInteractor.execute(PARAM, second);
+    subject.onNext("value");
+
+    first.assertNoValues();
+    other.assertValue("value");
+    second.assertValue("value");
+  }
+
+  @Test
+  public void shouldPublishResponses() {
+    final SourceInteractor publishingInteractor = spy(new SourceInteractor(Observable.just("first", "second")));
+    final ReactiveStreamsTest.RecordingSubscriber<String> subscriber = new ReactiveStreamsTest.RecordingSubscriber<>();
+    final Publisher<String> publisher = publishingInteractor.asPublisher(PARAM);
+    verify(publishingInteractor, never()).createObservable(PARAM);
+
+    publisher.subscribe(subscriber);
+    subscriber.subscription.request(1);
+    assertThat(subscriber.values).containsExactly("first");
+    subscriber.subscription.request(1);
+    assertThat(subscriber.values).containsExactly("first", "second")
+        .inOrder();
+    assertThat(subscriber.completed).isTrue();
+    verify(publishingInteractor).createObservable(PARAM);
+  }
+
+  @Test
+  public void shouldCancelPublishedResponses() {
+    final PublishSubject<String> subject = PublishSubject.create();
+    final SourceInteractor publishingInteractor = new SourceInteractor(subject);
+    publishingInteractor.asPublisher(PARAM)
+        .subscribe(new ReactiveStreamsTest.RecordingSubscriber<>());
+    assertThat(subject.hasObservers()).isTrue();
+
+    publishingInteractor.unsubscribe();
+    assertThat(subject.hasObservers()).isFalse();
+  }
+
+  @Test
+  public void shouldObserveOnEqualSchedulers() {
+    final AtomicInteger tasks = new AtomicInteger();
+    final Scheduler scheduler = Schedulers.from(command -> {
+      tasks.incrementAndGet();
+      command.run();
+    });
+    final TestScheduler timerScheduler = new TestScheduler();
+    final SourceInteractor sameInteractor = new SourceInteractor(Observable.timer(1, TimeUnit.SECONDS, timerScheduler)
+        .map(tick -> "value"), scheduler, scheduler);
+    final TestSubscriber<String> subscriber = TestSubscriber.create();
+    sameInteractor.execute(PARAM, subscriber);
+    tasks.set(0);
+
+    timerScheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+    subscriber.assertValue("value");
+    subscriber.assertCompleted();
+    assertThat(tasks.get()).isGreaterThan(0);
+  }
+
+  @Test
+  public void shouldObserveOnDifferentSchedulers() {
+    final AtomicInteger tasks = new AtomicInteger();
+    final Executor executor = command -> {
+      tasks.incrementAndGet();
+      command.run();
+    };
+    final SourceInteractor differentInteractor = new SourceInteractor(Observable.fromCallable(() -> "value"), Schedulers.from(executor),
+        Schedulers.from(executor));
+    final TestSubscriber<String> subscriber = TestSubscriber.create();
+    differentInteractor.execute(PARAM, subscriber);
+
+    subscriber.assertValue("value");
+    assertThat(tasks.get()).isGreaterThan(1);
+  }
+
+  @Test
+  public void shouldDeliverCachedResponsesOnObserveScheduler() {
+    final AtomicInteger tasks = new AtomicInteger();
+    final Scheduler scheduler = Schedulers.from(command -> {
+      tasks.incrementAndGet();
+      command.run();
+    });
+    final SourceInteractor sameInteractor = new SourceInteractor(Observable.fromCallable(() -> "value"), scheduler, scheduler);
+    sameInteractor.setResultCache(LruResultCache.<String>builder()
+        .maxEntries(10)
+        .build());
+    sameInteractor.execute(PARAM, TestSubscriber.create());
+    tasks.set(0);
+
+    final TestSubscriber<String> cached = TestSubscriber.create();
+    sameInteractor.execute(PARAM, cached);
+    cached.assertValue("value");
+    assertThat(tasks.get()).isGreaterThan(0);
+  }
+
+  @Test
+  public void shouldDeliverOnSourceThread() {
+    final AtomicInteger observeTasks = new AtomicInteger();
+    final Scheduler observeScheduler = Schedulers.from(command -> {
+      observeTasks.incrementAndGet();
+      command.run();
+    });
+    final TestScheduler subscribeScheduler = new TestScheduler();
+    final SourceInteractor sameThreadInteractor = new SourceInteractor(Observable.fromCallable(() -> "value"), subscribeScheduler,
+        observeScheduler);
+    sameThreadInteractor.setSameThreadDelivery(true);
+    final TestSubscriber<String> subscriber = TestSubscriber.create();
+    sameThreadInteractor.execute(PARAM, subscriber);
+    subscriber.assertNoValues();
+
+    subscribeScheduler.triggerActions();
+    subscriber.assertValue("value");
+    assertThat(observeTasks.get()).isEqualTo(0);
+
+    sameThreadInteractor.setSameThreadDelivery(false);
+    sameThreadInteractor.execute(PARAM, TestSubscriber.create());
+    subscribeScheduler.triggerActions();
+    assertThat(observeTasks.get()).isGreaterThan(0);
+  }
+
+  static class SourceInteractor extends Interactor<Integer, String> {
+    private final Observable<String> source;
+
+    SourceInteractor(Observable<String> source) {
+      this(source, Schedulers.immediate());
+    }
+
+    SourceInteractor(Observable<String> source, Scheduler subscribeScheduler) {
+      this(source, subscribeScheduler, Schedulers.immediate());
+    }
+
+    SourceInteractor(Observable<String> source, Scheduler subscribeScheduler, Scheduler observeScheduler) {
+      super(subscribeScheduler, observeScheduler);
+      this.source = source;
+    }
+
+    @Override
+    protected Observable<String> createObservable(Integer integer) {
+      return source;
+    }
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.lang.reflect.Method;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-22, 11:20
+ */
+public final class InvokersTest {
+  @Rule public ExpectedException thrown = ExpectedException.none();
+
+  private TestViewCallbacks view;
+  private Method            doJob;
+
+  @Before
+  public void setUp() throws NoSuchMethodException {
+    view = mock(TestViewCallbacks.class);
+    doJob = TestViewCallbacks.class.getMethod("doJob");
+  }
+
+  @Test
+  public void shouldCacheInvokers() {
+    final Invokers invokers = new Invokers();
+    assertThat(invokers.get(doJob)).isSameAs(invokers.get(doJob));
+  }
+
+  @Test
+  public void shouldShareInvokersPerType() {
+    assertThat(Invokers.forType(TestViewCallbacks.class)).isSameAs(Invokers.forType(TestViewCallbacks.class));
+    assertThat(Invokers.forType(TestViewCallbacks.class)).isNotSameAs(Invokers.forType(TestRouter.class));
+  }
+
+  @Test
+  public void shouldSpinLambdaInvokers() {
+    assertThat(Invokers.create(doJob)).isInstanceOf(Invokers.LambdaInvokers.Invoker0.class);
+  }
+
+  @Test
+  public void shouldUseMethodHandlesForNonVoidMethods() throws NoSuchMethodException {
+    final Method method = RxViperTest.IHaveGetter.class.getMethod("getObject");
+    assertThat(Invokers.create(method)).isInstanceOf(Invokers.HandleInvoker.class);
+  }
+
+  @Test
+  public void shouldUseMethodHandlesForManyParameters() throws Throwable {
+    final ManyParameters target = mock(ManyParameters.class);
+    final Method method = ManyParameters.class.getMethod("call", int.class, long.class, String.class, Object.class);
+    final Invokers.Invoker invoker = Invokers.create(method);
+    assertThat(invoker).isInstanceOf(Invokers.HandleInvoker.class);
+
+    invoker.invoke(target, new Object[] { 1, 2L, "3", null });
+    verify(target).call(1, 2L, "3", null);
+  }
+
+  @Test
+  public void lambdaInvokerShouldUnboxArguments() throws Throwable {
+    final ManyParameters target = mock(ManyParameters.class);
+    final Method method = ManyParameters.class.getMethod("call", int.class, long.class, String.class);
+    final Invokers.Invoker invoker = Invokers.create(method);
+    assertThat(invoker).isInstanceOf(Invokers.LambdaInvokers.Invoker3.class);
+
+    invoker.invoke(target, new Object[] { 1, 2L, "3" });
+    verify(target).call(1, 2L, "3");
+  }
+
+  @Test
+  public void lambdaInvokerShouldNotWrapExceptions() throws Throwable {
+    doThrow(new IllegalStateException("job failed")).when(view)
+        .doJob();
+    thrown.expect(IllegalStateException.class);
+    thrown.expectMessage("job failed");
+    Invokers.create(doJob)
+        .invoke(view, null);
+  }
+
+  @Test
+  public void handleInvokerShouldAcceptNullArgs() throws Throwable {
+    new Invokers.HandleInvoker(doJob).invoke(view, null);
+    verify(view).doJob();
+  }
+
+  @Test
+  public void reflectiveInvokerShouldAcceptNullArgs() throws Throwable {
+    new Invokers.ReflectiveInvoker(doJob).invoke(view, null);
+    verify(view).doJob();
+  }
+
+  @Test
+  public void handleInvokerShouldNotWrapExceptions() throws Throwable {
+    doThrow(new IllegalStateException("job failed")).when(view)
+        .doJob();
+    thrown.expect(IllegalStateException.class);
+    thrown.expectMessage("job failed");
+    new Invokers.HandleInvoker(doJob).invoke(view, new Object[0]);
+  }
+
+  @Test
+  public void reflectiveInvokerShouldNotWrapExceptions() throws Throwable {
+    doThrow(new IllegalStateException("job failed")).when(view)
+        .doJob();
+    thrown.expect(IllegalStateException.class);
+    thrown.expectMessage("job failed");
+    new Invokers.ReflectiveInvoker(doJob).invoke(view, new Object[0]);
+  }
+
+  @Test
+  public void shouldPassArguments() throws Throwable {
+    final TestGeneratedViewCallbacks generatedView = mock(TestGeneratedViewCallbacks.class);
+    final Method method = TestGeneratedViewCallbacks.class.getMethod("doJob", String.class);
+    Invokers.create(method)
+        .invoke(generatedView, new Object[] { "job" });
+    verify(generatedView).doJob("job");
+  }
+
+  interface ManyParameters {
+    void call(int a, long b, String c);
+
+    void call(int a, long b, String c, Object d);
+  }
+}
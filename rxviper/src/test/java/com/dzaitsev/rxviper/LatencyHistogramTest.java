@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+import static com.dzaitsev.rxviper.TestUtil.checkIllegalArgumentException;
+import static com.google.common.truth.Truth.assertThat;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-29, 10:20
+ */
+public final class LatencyHistogramTest {
+  private final LatencyHistogram histogram = new LatencyHistogram();
+
+  @Test
+  public void shouldBeEmpty() {
+    assertThat(histogram.getCount()).isEqualTo(0);
+    assertThat(histogram.getMean(TimeUnit.NANOSECONDS)).isEqualTo(0);
+    assertThat(histogram.getMax(TimeUnit.NANOSECONDS)).isEqualTo(0);
+    assertThat(histogram.getPercentile(99, TimeUnit.NANOSECONDS)).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldRecordLatencies() {
+    for (int i = 1; i <= 100; i++) {
+      histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+    }
+    histogram.record(-1);
+
+    assertThat(histogram.getCount()).isEqualTo(100);
+    assertThat(histogram.getMean(TimeUnit.NANOSECONDS)).isEqualTo(50_500);
+    assertThat(histogram.getMax(TimeUnit.MICROSECONDS)).isEqualTo(100);
+    assertThat(histogram.getPercentile(100, TimeUnit.MICROSECONDS)).isEqualTo(100);
+  }
+
+  @Test
+  public void shouldReportPercentilesWithinBucket() {
+    for (int i = 0; i < 90; i++) {
+      histogram.record(1_000);
+    }
+    for (int i = 0; i < 10; i++) {
+      histogram.record(1_000_000);
+    }
+
+    // 1000 falls into [512, 1024), 1000000 into [524288, 1048576)
+    assertThat(histogram.getPercentile(50, TimeUnit.NANOSECONDS)).isEqualTo(1_023);
+    assertThat(histogram.getPercentile(90, TimeUnit.NANOSECONDS)).isEqualTo(1_023);
+    assertThat(histogram.getPercentile(95, TimeUnit.NANOSECONDS)).isEqualTo(1_000_000);
+    assertThat(histogram.getPercentile(0, TimeUnit.NANOSECONDS)).isEqualTo(1_023);
+  }
+
+  @Test
+  public void shouldRecordZero() {
+    histogram.record(0);
+    assertThat(histogram.getCount()).isEqualTo(1);
+    assertThat(histogram.getPercentile(50, TimeUnit.NANOSECONDS)).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldCheckArguments() {
+    checkIllegalArgumentException(() -> histogram.getPercentile(-1, TimeUnit.NANOSECONDS));
+    checkIllegalArgumentException(() -> histogram.getPercentile(101, TimeUnit.NANOSECONDS));
+    checkIllegalArgumentException(() -> histogram.getPercentile(Double.NaN, TimeUnit.NANOSECONDS));
+    checkIllegalArgumentException(() -> histogram.getPercentile(50, null));
+    checkIllegalArgumentException(() -> histogram.getMean(null));
+    checkIllegalArgumentException(() -> histogram.getMax(null));
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import org.junit.Test;
+import rx.observers.TestSubscriber;
+
+import static com.google.common.truth.Truth.assertThat;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-28, 10:15
+ */
+public final class LatestExecutionsTest {
+  @Test
+  public void shouldSupersedeByKey() {
+    final LatestExecutions latest = new LatestExecutions(true);
+    final TestSubscriber<String> first = TestSubscriber.create();
+    final TestSubscriber<String> other = TestSubscriber.create();
+    final TestSubscriber<String> second = TestSubscriber.create();
+    latest.supersede("key", first);
+    latest.supersede(null, other);
+    latest.supersede("key", second);
+
+    assertThat(first.isUnsubscribed()).isTrue();
+    assertThat(other.isUnsubscribed()).isFalse();
+    assertThat(second.isUnsubscribed()).isFalse();
+    assertThat(latest.superseded()).isEqualTo(1);
+    assertThat(latest.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldSupersedeAnyExecution() {
+    final LatestExecutions latest = new LatestExecutions(false);
+    final TestSubscriber<String> first = TestSubscriber.create();
+    final TestSubscriber<String> second = TestSubscriber.create();
+    latest.supersede("key", first);
+    latest.supersede("other", second);
+
+    assertThat(first.isUnsubscribed()).isTrue();
+    assertThat(latest.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldForgetFinishedExecutions() {
+    final LatestExecutions latest = new LatestExecutions(true);
+    final TestSubscriber<String> first = TestSubscriber.create();
+    latest.supersede("key", first);
+    first.unsubscribe();
+    assertThat(latest.size()).isEqualTo(0);
+
+    latest.supersede("key", TestSubscriber.create());
+    assertThat(latest.superseded()).isEqualTo(0);
+  }
+}
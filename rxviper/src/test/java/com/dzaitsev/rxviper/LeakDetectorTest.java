@@ -0,0 +1,161 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-25, 14:10
+ */
+public final class LeakDetectorTest {
+  private final BlockingQueue<List<Class<?>>> leaks = new LinkedBlockingQueue<>();
+  private       TestViewCallbacks             view;
+  private       TestRouter                    router;
+
+  @Before
+  public void setUp() {
+    view = new TestViewCallbacksImpl();
+    router = new TestRouter() {
+    };
+    RxViper.setLeakListener((presenterClass, targetClass) -> leaks.add(Arrays.<Class<?>>asList(presenterClass, targetClass)));
+  }
+
+  @After
+  public void tearDown() {
+    RxViper.setLeakListener(null);
+  }
+
+  @Test
+  public void shouldReportTargetsNeverDropped() throws InterruptedException {
+    take(view, router, true, false);
+    final List<Class<?>> first = awaitLeak();
+    final List<Class<?>> second = awaitLeak();
+    assertThat(Arrays.asList(first, second)).containsExactly(Arrays.asList(StrongPresenter.class, view.getClass()),
+        Arrays.asList(StrongPresenter.class, router.getClass()));
+  }
+
+  @Test
+  public void shouldNotReportDroppedTargetsStillReachable() throws InterruptedException {
+    // the view and the router outlive the presenter that has dropped them
+    take(view, router, true, true);
+    assertThat(awaitLeak()).isNull();
+  }
+
+  @Test
+  public void shouldReportLinkedViewNeverDropped() throws InterruptedException {
+    // the view references its presenter, and the presenter holds the view strongly
+    assertThat(awaitCleared(takeLinked(false))).isTrue();
+    assertThat(awaitLeak()).containsExactly(StrongPresenter.class, LinkedView.class)
+        .inOrder();
+  }
+
+  @Test
+  public void shouldNotReportLinkedViewDropped() throws InterruptedException {
+    assertThat(awaitCleared(takeLinked(true))).isTrue();
+    assertThat(awaitLeak()).isNull();
+  }
+
+  @Test
+  public void shouldNotWatchWeaklyHeldTargets() throws InterruptedException {
+    take(view, router, false, false);
+    assertThat(awaitLeak()).isNull();
+  }
+
+  @Test
+  public void shouldNotWatchWithoutListener() throws InterruptedException {
+    RxViper.setLeakListener(null);
+    assertThat(LeakDetector.isEnabled()).isFalse();
+
+    take(view, router, true, false);
+    assertThat(awaitLeak()).isNull();
+  }
+
+  private static void take(TestViewCallbacks view, TestRouter router, boolean strong, boolean drop) {
+    final StrongPresenter presenter = new StrongPresenter();
+    presenter.setStrongViewReference(strong);
+    presenter.setStrongRouterReference(strong);
+    presenter.takeView(view);
+    presenter.takeRouter(router);
+    if (drop) {
+      presenter.dropView(view);
+      presenter.dropRouter(router);
+    }
+  }
+
+  private static WeakReference<StrongPresenter> takeLinked(boolean drop) {
+    final StrongPresenter presenter = new StrongPresenter();
+    final LinkedView linkedView = new LinkedView(presenter);
+    presenter.setStrongViewReference(true);
+    presenter.takeView(linkedView);
+    if (drop) {
+      presenter.dropView(linkedView);
+    }
+    return new WeakReference<>(presenter);
+  }
+
+  private List<Class<?>> awaitLeak() throws InterruptedException {
+    for (int i = 0; i < 10; i++) {
+      System.gc();
+      final List<Class<?>> leak = leaks.poll(100, TimeUnit.MILLISECONDS);
+      if (leak != null) {
+        return leak;
+      }
+    }
+    return null;
+  }
+
+  private static boolean awaitCleared(WeakReference<?> reference) {
+    for (int i = 0; i < 10 && reference.get() != null; i++) {
+      System.gc();
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        Thread.currentThread()
+            .interrupt();
+      }
+    }
+    return reference.get() == null;
+  }
+
+  static final class StrongPresenter extends ViperPresenter<TestViewCallbacks, TestRouter> {
+  }
+
+  static final class LinkedView implements TestViewCallbacks {
+    final StrongPresenter presenter;
+
+    LinkedView(StrongPresenter presenter) {
+      this.presenter = presenter;
+    }
+
+    @Override
+    public void doJob() {
+    }
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import rx.schedulers.TestScheduler;
+
+import static com.dzaitsev.rxviper.TestUtil.assertThrows;
+import static com.dzaitsev.rxviper.TestUtil.checkIllegalArgumentException;
+import static com.google.common.truth.Truth.assertThat;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-26, 16:45
+ */
+public final class LruResultCacheTest {
+  private TestScheduler clock;
+
+  @Before
+  public void setUp() {
+    clock = new TestScheduler();
+  }
+
+  @Test
+  public void shouldCacheResponses() {
+    final LruResultCache<String> cache = LruResultCache.<String>builder()
+        .maxEntries(2)
+        .build();
+    cache.put("key", "value");
+    cache.put(null, "null");
+    assertThat(cache.get("key")).isEqualTo("value");
+    assertThat(cache.get(null)).isEqualTo("null");
+    assertThat(cache.get("other")).isNull();
+    assertThat(cache.hitCount()).isEqualTo(2);
+    assertThat(cache.missCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsed() {
+    final LruResultCache<String> cache = LruResultCache.<String>builder()
+        .maxEntries(2)
+        .build();
+    cache.put("1", "one");
+    cache.put("2", "two");
+    cache.get("1");
+    cache.put("3", "three");
+    assertThat(cache.get("2")).isNull();
+    assertThat(cache.get("1")).isEqualTo("one");
+    assertThat(cache.get("3")).isEqualTo("three");
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.evictionCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldBoundByWeight() {
+    final LruResultCache<String> cache = LruResultCache.<String>builder()
+        .maxWeight(5, String::length)
+        .build();
+    cache.put("1", "abc");
+    cache.put("2", "de");
+    cache.put("3", "f");
+    assertThat(cache.get("1")).isNull();
+    assertThat(cache.size()).isEqualTo(2);
+
+    cache.put("4", "too heavy");
+    assertThat(cache.get("4")).isNull();
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.evictionCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldExpireAfterWrite() {
+    final LruResultCache<String> cache = LruResultCache.<String>builder()
+        .maxEntries(2)
+        .expireAfterWrite(1, TimeUnit.MINUTES)
+        .clock(clock)
+        .build();
+    cache.put("key", "value");
+    clock.advanceTimeBy(59, TimeUnit.SECONDS);
+    assertThat(cache.get("key")).isEqualTo("value");
+
+    clock.advanceTimeBy(1, TimeUnit.SECONDS);
+    assertThat(cache.get("key")).isNull();
+    assertThat(cache.size()).isEqualTo(0);
+    assertThat(cache.evictionCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldInvalidate() {
+    final LruResultCache<String> cache = LruResultCache.<String>builder()
+        .maxEntries(3)
+        .build();
+    cache.put("1", "one");
+    cache.put("2", "two");
+    cache.put("3", "three");
+    cache.invalidate("1");
+    assertThat(cache.get("1")).isNull();
+    assertThat(cache.size()).isEqualTo(2);
+
+    cache.invalidateAll();
+    assertThat(cache.size()).isEqualTo(0);
+    assertThat(cache.evictionCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void builderShouldValidateArguments() {
+    final LruResultCache.Builder<String> builder = LruResultCache.builder();
+    checkIllegalArgumentException(() -> builder.maxEntries(0));
+    checkIllegalArgumentException(() -> builder.maxWeight(1, null));
+    checkIllegalArgumentException(() -> builder.expireAfterWrite(0, TimeUnit.SECONDS));
+    checkIllegalArgumentException(() -> builder.expireAfterWrite(1, null));
+    checkIllegalArgumentException(() -> builder.clock(null));
+    assertThrows(IllegalStateException.class, builder::build);
+
+    builder.maxEntries(1);
+    assertThrows(IllegalStateException.class, () -> builder.maxEntries(1));
+  }
+}
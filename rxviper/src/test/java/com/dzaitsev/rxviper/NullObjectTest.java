@@ -18,6 +18,9 @@ package com.dzaitsev.rxviper;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -74,6 +77,21 @@ public final class NullObjectTest {
     assertThat(nullObject.get()).isNull();
   }
 
+  @Test
+  public void shouldHaveStrongTarget() {
+    final NullObject<TestViewCallbacks> nullObject = new NullObject<>(null);
+    nullObject.strong(true);
+    nullObject.set(new TestViewCallbacksImpl());
+    System.gc();
+    assertThat(nullObject.get()).isNotNull();
+    assertThat(nullObject.strongTarget()).isSameAs(nullObject.get());
+
+    nullObject.strong(false);
+    nullObject.set(target);
+    assertThat(nullObject.get()).isSameAs(target);
+    assertThat(nullObject.strongTarget()).isNull();
+  }
+
   @Test
   public void shouldImplementInvocationHandler() {
     assertThat(NullObject.class).isAssignableTo(InvocationHandler.class);
@@ -104,4 +122,86 @@ public final class NullObjectTest {
     nullObject.set(null);
     assertThat(nullObject.get()).isNull();
   }
-}
\ No newline at end of file
+
+  @Test
+  public void shouldDropAfterTakeWhenDroppedWhileTaking() {
+    final NullObject<TestViewCallbacks> nullObject = new NullObject<>(null);
+    final List<String> events = new ArrayList<>();
+    nullObject.take(target, events, new RecordingLifecycle() {
+      @Override
+      public void onTake(@Nonnull List<String> owner, @Nonnull TestViewCallbacks view) {
+        super.onTake(owner, view);
+        nullObject.drop(view, owner, new RecordingLifecycle());
+        // dropping is postponed until taking is finished
+        assertThat(nullObject.get()).isSameAs(view);
+      }
+    });
+    assertThat(events).containsExactly("take", "drop")
+        .inOrder();
+    assertThat(nullObject.get()).isNull();
+  }
+
+  @Test
+  public void shouldCancelPendingDropWhenTakenAgain() {
+    final NullObject<TestViewCallbacks> nullObject = new NullObject<>(null);
+    final List<String> events = new ArrayList<>();
+    nullObject.take(target, events, new RecordingLifecycle() {
+      @Override
+      public void onTake(@Nonnull List<String> owner, @Nonnull TestViewCallbacks view) {
+        super.onTake(owner, view);
+        nullObject.drop(view, owner, new RecordingLifecycle());
+        nullObject.take(view, owner, new RecordingLifecycle());
+      }
+    });
+    assertThat(events).containsExactly("take");
+    assertThat(nullObject.get()).isSameAs(target);
+  }
+
+  @Test
+  public void shouldDropReplacedTarget() {
+    final NullObject<TestViewCallbacks> nullObject = new NullObject<>(null);
+    final List<String> events = new ArrayList<>();
+    nullObject.take(target, events, new RecordingLifecycle());
+    nullObject.take(new TestViewCallbacksImpl(), events, new RecordingLifecycle());
+    nullObject.drop(target, events, new RecordingLifecycle());
+    assertThat(events).containsExactly("take", "drop", "take")
+        .inOrder();
+  }
+
+  @Test
+  public void shouldDropReplacedTargetBeforeAttachingNewOne() {
+    final NullObject<TestViewCallbacks> nullObject = new NullObject<>(null);
+    final TestViewCallbacks newTarget = new TestViewCallbacksImpl();
+    final List<String> events = new ArrayList<>();
+    nullObject.take(target, events, new RecordingLifecycle());
+    nullObject.take(newTarget, events, new RecordingLifecycle() {
+      @Override
+      public void onTake(@Nonnull List<String> owner, @Nonnull TestViewCallbacks view) {
+        super.onTake(owner, view);
+        assertThat(nullObject.get()).isSameAs(newTarget);
+      }
+
+      @Override
+      public void onDrop(@Nonnull List<String> owner, @Nonnull TestViewCallbacks view) {
+        super.onDrop(owner, view);
+        assertThat(view).isSameAs(target);
+        assertThat(nullObject.get()).isSameAs(target);
+      }
+    });
+    assertThat(events).containsExactly("take", "drop", "take")
+        .inOrder();
+    assertThat(nullObject.get()).isSameAs(newTarget);
+  }
+
+  static class RecordingLifecycle implements NullObject.Lifecycle<List<String>, TestViewCallbacks> {
+    @Override
+    public void onTake(@Nonnull List<String> owner, @Nonnull TestViewCallbacks view) {
+      owner.add("take");
+    }
+
+    @Override
+    public void onDrop(@Nonnull List<String> owner, @Nonnull TestViewCallbacks view) {
+      owner.add("drop");
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-25, 09:30
+ */
+public final class PresenterStressTest {
+  private static final int VIEWS       = 3;
+  private static final int TAKERS      = 4;
+  private static final int DISPATCHERS = 2;
+  private static final int ITERATIONS  = 20_000;
+
+  private final List<TestViewCallbacks>               views  = new ArrayList<>();
+  private final Map<TestViewCallbacks, AtomicInteger> taken  = new ConcurrentHashMap<>();
+  private final AtomicBoolean                         failed = new AtomicBoolean();
+  private       ExecutorService                       executor;
+
+  @Before
+  public void setUp() {
+    for (int i = 0; i < VIEWS; i++) {
+      final TestViewCallbacks view = new TestViewCallbacksImpl();
+      views.add(view);
+      taken.put(view, new AtomicInteger());
+    }
+    executor = Executors.newFixedThreadPool(TAKERS + DISPATCHERS);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldKeepLifecycleConsistentUnderConcurrentTakeDropAndDispatch() throws Exception {
+    final StressPresenter presenter = new StressPresenter();
+    final CountDownLatch start = new CountDownLatch(1);
+    final AtomicBoolean done = new AtomicBoolean();
+    final List<Future<?>> takers = new ArrayList<>();
+    for (int i = 0; i < TAKERS; i++) {
+      final Random random = new Random(i);
+      takers.add(executor.submit(() -> {
+        start.await();
+        for (int j = 0; j < ITERATIONS; j++) {
+          final TestViewCallbacks view = views.get(random.nextInt(VIEWS));
+          if (random.nextBoolean()) {
+            presenter.takeView(view);
+          } else {
+            presenter.dropView(view);
+          }
+        }
+        return null;
+      }));
+    }
+    final List<Future<?>> dispatchers = new ArrayList<>();
+    for (int i = 0; i < DISPATCHERS; i++) {
+      dispatchers.add(executor.submit(() -> {
+        start.await();
+        while (!done.get()) {
+          presenter.getView()
+              .doJob();
+        }
+        return null;
+      }));
+    }
+
+    start.countDown();
+    for (Future<?> taker : takers) {
+      taker.get(1, TimeUnit.MINUTES);
+    }
+    done.set(true);
+    for (Future<?> dispatcher : dispatchers) {
+      dispatcher.get(1, TimeUnit.MINUTES);
+    }
+
+    assertThat(failed.get()).isFalse();
+    final TestViewCallbacks attached = RxViper.getProxy(presenter.getView())
+        .get();
+    for (TestViewCallbacks view : views) {
+      // every take is matched by exactly one drop, except for the view that stays attached
+      assertThat(taken.get(view)
+          .get()).isEqualTo(view == attached ? 1 : 0);
+    }
+  }
+
+  final class StressPresenter extends Presenter<TestViewCallbacks> {
+    @Override
+    protected void onTakeView(TestViewCallbacks view) {
+      taken.get(view)
+          .incrementAndGet();
+    }
+
+    @Override
+    protected void onDropView(TestViewCallbacks view) {
+      if (taken.get(view)
+          .decrementAndGet() < 0) {
+        // a view must never be dropped before it is taken
+        failed.set(true);
+      }
+    }
+  }
+}
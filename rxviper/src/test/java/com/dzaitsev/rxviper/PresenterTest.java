@@ -17,15 +17,26 @@
 package com.dzaitsev.rxviper;
 
 import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
+import rx.Scheduler;
+import rx.schedulers.Schedulers;
+import rx.schedulers.TestScheduler;
 
+import static com.dzaitsev.rxviper.TestUtil.assertThrows;
 import static com.dzaitsev.rxviper.TestUtil.checkIllegalArgumentException;
 import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
 /**
  * ~ ~ ~ ~ Description ~ ~ ~ ~
@@ -144,6 +155,36 @@ public final class PresenterTest {
     new TestPresenter(view);
   }
 
+  @Test
+  public void shouldUseExplicitViewClass() {
+    final GenericPresenter<TestViewCallbacks> genericPresenter = new GenericPresenter<>(TestViewCallbacks.class);
+    assertThat(genericPresenter.hasView()).isFalse();
+
+    genericPresenter.takeView(view);
+    genericPresenter.getView()
+        .doJob();
+    verify(view).doJob();
+  }
+
+  @Test
+  public void shouldUseExplicitViewClassWithView() {
+    final GenericPresenter<TestViewCallbacks> genericPresenter = new GenericPresenter<>(TestViewCallbacks.class, view);
+    assertThat(genericPresenter.hasView()).isTrue();
+    assertThat(genericPresenter.getView()).isEqualTo(view);
+  }
+
+  @Test
+  public void explicitViewClassShouldNotBeNull() {
+    checkIllegalArgumentException(() -> new GenericPresenter<>((Class<TestViewCallbacks>) null));
+    checkIllegalArgumentException(() -> new GenericPresenter<>(null, view));
+    checkIllegalArgumentException(() -> new GenericPresenter<>(TestViewCallbacks.class, null));
+  }
+
+  @Test
+  public void shouldNotResolveGenericViewClass() {
+    assertThrows(IllegalStateException.class, GenericPresenter::new);
+  }
+
   @Test
   public void shouldReturnProxyView() {
     presenter.takeView(view);
@@ -165,4 +206,208 @@ public final class PresenterTest {
     presenter.dropView(view);
     assertThat(nullObject.get()).isNull();
   }
+
+  @Test
+  public void shouldNotBufferByDefault() {
+    final CommandBufferTest.BufferedView bufferedView = mock(CommandBufferTest.BufferedView.class);
+    final BufferedPresenter bufferedPresenter = new BufferedPresenter();
+    bufferedPresenter.getView()
+        .showItem("1");
+
+    bufferedPresenter.takeView(bufferedView);
+    verifyZeroInteractions(bufferedView);
+  }
+
+  @Test
+  public void shouldReplayBufferedCallsAfterOnTakeView() {
+    final CommandBufferTest.BufferedView bufferedView = mock(CommandBufferTest.BufferedView.class);
+    final BufferedPresenter bufferedPresenter = spy(new BufferedPresenter());
+    bufferedPresenter.setViewBufferSize(10);
+    bufferedPresenter.getView()
+        .showProgress(true);
+    bufferedPresenter.getView()
+        .showItem("1");
+    bufferedPresenter.getView()
+        .showProgress(false);
+
+    bufferedPresenter.takeView(bufferedView);
+    final InOrder inOrder = inOrder(bufferedPresenter, bufferedView);
+    inOrder.verify(bufferedPresenter)
+        .onTakeView(bufferedView);
+    inOrder.verify(bufferedView)
+        .showItem("1");
+    inOrder.verify(bufferedView)
+        .showProgress(false);
+    verifyNoMoreInteractions(bufferedView);
+
+    // replayed calls are not delivered again
+    bufferedPresenter.dropView(bufferedView);
+    final CommandBufferTest.BufferedView newView = mock(CommandBufferTest.BufferedView.class);
+    bufferedPresenter.takeView(newView);
+    verifyZeroInteractions(newView);
+  }
+
+  @Test
+  public void shouldDiscardBufferedCallsWhenBufferingIsDisabled() {
+    final CommandBufferTest.BufferedView bufferedView = mock(CommandBufferTest.BufferedView.class);
+    final BufferedPresenter bufferedPresenter = new BufferedPresenter();
+    bufferedPresenter.setViewBufferSize(10);
+    bufferedPresenter.getView()
+        .showItem("1");
+    bufferedPresenter.setViewBufferSize(0);
+    bufferedPresenter.getView()
+        .showItem("2");
+
+    bufferedPresenter.takeView(bufferedView);
+    verifyZeroInteractions(bufferedView);
+  }
+
+  @Test
+  public void shouldCoalesceViewCalls() {
+    final TestScheduler scheduler = new TestScheduler();
+    final CommandBufferTest.BufferedView bufferedView = mock(CommandBufferTest.BufferedView.class);
+    final BufferedPresenter bufferedPresenter = new BufferedPresenter();
+    bufferedPresenter.takeView(bufferedView);
+    bufferedPresenter.coalesceViewCalls(0, TimeUnit.MILLISECONDS, scheduler);
+    bufferedPresenter.getView()
+        .showItem("1");
+    bufferedPresenter.getView()
+        .showItem("2");
+    verifyZeroInteractions(bufferedView);
+
+    scheduler.triggerActions();
+    verify(bufferedView).showItem("2");
+    verifyNoMoreInteractions(bufferedView);
+    assertThat(bufferedPresenter.getCollapsedViewCalls()).isEqualTo(1);
+
+    bufferedPresenter.stopCoalescingViewCalls();
+    assertThat(bufferedPresenter.getCollapsedViewCalls()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldDeliverViewCallsOnViewScheduler() {
+    final TestScheduler scheduler = new TestScheduler();
+    final CommandBufferTest.BufferedView bufferedView = mock(CommandBufferTest.BufferedView.class);
+    final BufferedPresenter bufferedPresenter = new BufferedPresenter();
+    bufferedPresenter.takeView(bufferedView);
+    bufferedPresenter.setViewScheduler(scheduler);
+    bufferedPresenter.getView()
+        .showItem("1");
+    verifyZeroInteractions(bufferedView);
+
+    scheduler.triggerActions();
+    verify(bufferedView).showItem("1");
+
+    bufferedPresenter.setViewScheduler(null);
+    bufferedPresenter.getView()
+        .showItem("2");
+    verify(bufferedView).showItem("2");
+  }
+
+  @Test
+  public void shouldRunBatchOnViewScheduler() {
+    final TestScheduler scheduler = new TestScheduler();
+    final CommandBufferTest.BufferedView bufferedView = mock(CommandBufferTest.BufferedView.class);
+    final BufferedPresenter bufferedPresenter = new BufferedPresenter();
+    bufferedPresenter.takeView(bufferedView);
+    bufferedPresenter.setViewScheduler(scheduler);
+    final List<CommandBufferTest.BufferedView> batchViews = new ArrayList<>();
+    bufferedPresenter.batchView(v -> {
+      batchViews.add(v);
+      v.showItem("1");
+      v.showProgress(false);
+    });
+    assertThat(batchViews).isEmpty();
+
+    scheduler.triggerActions();
+    assertThat(batchViews).containsExactly(bufferedView);
+    final InOrder inOrder = inOrder(bufferedView);
+    inOrder.verify(bufferedView)
+        .showItem("1");
+    inOrder.verify(bufferedView)
+        .showProgress(false);
+  }
+
+  @Test
+  public void shouldSkipBatchWithoutView() {
+    final TestScheduler scheduler = new TestScheduler();
+    final CommandBufferTest.BufferedView bufferedView = mock(CommandBufferTest.BufferedView.class);
+    final BufferedPresenter bufferedPresenter = new BufferedPresenter();
+    bufferedPresenter.setViewBufferSize(10);
+    bufferedPresenter.setViewScheduler(scheduler);
+    final List<CommandBufferTest.BufferedView> batchViews = new ArrayList<>();
+    bufferedPresenter.batchView(batchViews::add);
+    scheduler.triggerActions();
+    assertThat(batchViews).isEmpty();
+
+    bufferedPresenter.takeView(bufferedView);
+    scheduler.triggerActions();
+    verifyZeroInteractions(bufferedView);
+  }
+
+  @Test
+  public void shouldReleaseViewSchedulerWorkerWhenViewIsDropped() {
+    final TestScheduler scheduler = new TestScheduler();
+    final List<Scheduler.Worker> workers = new ArrayList<>();
+    final CommandBufferTest.BufferedView bufferedView = mock(CommandBufferTest.BufferedView.class);
+    final BufferedPresenter bufferedPresenter = new BufferedPresenter();
+    bufferedPresenter.takeView(bufferedView);
+    bufferedPresenter.setViewScheduler(new Scheduler() {
+      @Override
+      public Worker createWorker() {
+        final Worker worker = scheduler.createWorker();
+        workers.add(worker);
+        return worker;
+      }
+    });
+    bufferedPresenter.getView()
+        .showItem("1");
+    bufferedPresenter.dropView(bufferedView);
+    scheduler.triggerActions();
+    assertThat(workers).hasSize(1);
+    assertThat(workers.get(0)
+        .isUnsubscribed()).isTrue();
+
+    bufferedPresenter.takeView(bufferedView);
+    bufferedPresenter.getView()
+        .showItem("2");
+    scheduler.triggerActions();
+    verify(bufferedView).showItem("2");
+    assertThat(workers).hasSize(2);
+  }
+
+  @Test
+  public void batchShouldNotBeNull() {
+    checkIllegalArgumentException(() -> new BufferedPresenter().batchView(null));
+  }
+
+  @Test
+  public void coalescingArgumentsShouldBeValid() {
+    final BufferedPresenter bufferedPresenter = new BufferedPresenter();
+    checkIllegalArgumentException(() -> bufferedPresenter.coalesceViewCalls(-1, TimeUnit.MILLISECONDS, Schedulers.immediate()));
+    checkIllegalArgumentException(() -> bufferedPresenter.coalesceViewCalls(1, null, Schedulers.immediate()));
+    checkIllegalArgumentException(() -> bufferedPresenter.coalesceViewCalls(1, TimeUnit.MILLISECONDS, null));
+  }
+
+  @Test
+  public void viewBufferSizeShouldNotBeNegative() {
+    checkIllegalArgumentException(() -> new BufferedPresenter().setViewBufferSize(-1));
+  }
+
+  static class BufferedPresenter extends Presenter<CommandBufferTest.BufferedView> {
+  }
+
+  static final class GenericPresenter<V extends ViewCallbacks> extends Presenter<V> {
+    GenericPresenter(Class<V> viewClass, V view) {
+      super(viewClass, view);
+    }
+
+    GenericPresenter(Class<V> viewClass) {
+      super(viewClass);
+    }
+
+    GenericPresenter() {
+      super();
+    }
+  }
 }
\ No newline at end of file
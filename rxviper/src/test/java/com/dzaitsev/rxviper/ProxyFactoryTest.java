@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.lang.reflect.Proxy;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static com.google.common.truth.Truth.assertThat;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-23, 10:40
+ */
+public final class ProxyFactoryTest {
+  @Rule public ExpectedException thrown = ExpectedException.none();
+
+  @Test
+  public void shouldCreateDynamicProxy() {
+    final TestViewCallbacks view = new TestViewCallbacksImpl();
+    final TestViewCallbacks proxy = new ProxyFactory(TestViewCallbacks.class).create(view);
+    assertThat(Proxy.isProxyClass(proxy.getClass())).isTrue();
+    assertThat(RxViper.getProxy(proxy)
+        .get()).isSameAs(view);
+  }
+
+  @Test
+  public void shouldCreateGeneratedProxy() {
+    final TestGeneratedViewCallbacks proxy = new ProxyFactory(TestGeneratedViewCallbacks.class).create(null);
+    assertThat(proxy).isInstanceOf(TestGeneratedViewCallbacks_Proxy.class);
+    assertThat(RxViper.getProxy(proxy)
+        .get()).isNull();
+  }
+
+  @Test
+  public void shouldCreateNewProxies() {
+    final ProxyFactory factory = new ProxyFactory(TestViewCallbacks.class);
+    final TestViewCallbacks proxy1 = factory.create(null);
+    final TestViewCallbacks proxy2 = factory.create(null);
+    assertThat(proxy1).isNotSameAs(proxy2);
+  }
+
+  @Test
+  public void shouldRejectClasses() {
+    thrown.expect(IllegalStateException.class);
+    thrown.expectMessage("must be an interface.");
+    new ProxyFactory(TestViewCallbacksImpl.class);
+  }
+
+  @Test
+  public void shouldRejectGetters() {
+    thrown.expect(IllegalStateException.class);
+    thrown.expectMessage("Method getObject must be void, but returns Object.");
+    new ProxyFactory(RxViperTest.IHaveGetter.class);
+  }
+
+  @Test
+  public void shouldResolveFactoryOncePerPresenterClass() {
+    final TestViewCallbacks view1 = RxViper.createView(null, TestPresenter.class);
+    final TestViewCallbacks view2 = RxViper.createView(null, TestPresenter.class);
+    final TestViewCallbacks view3 = RxViper.createProxy(null, TestViewCallbacks.class);
+    assertThat(view1).isNotSameAs(view2);
+    assertThat(view1.getClass()).isSameAs(view2.getClass());
+    assertThat(view1.getClass()).isSameAs(view3.getClass());
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import rx.observers.TestSubscriber;
+import rx.schedulers.Schedulers;
+
+import static com.google.common.truth.Truth.assertThat;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-30, 11:25
+ */
+public final class PublisherInteractorTest {
+  private final ReactiveStreamsTest.RangePublisher publisher = new ReactiveStreamsTest.RangePublisher(5);
+
+  private final PublisherInteractor<Integer, Integer> interactor = new PublisherInteractor<Integer, Integer>(Schedulers.immediate(),
+      Schedulers.immediate()) {
+    @Override
+    protected Publisher<Integer> createPublisher(Integer integer) {
+      return publisher;
+    }
+  };
+
+  @Test
+  public void shouldExecutePublisher() {
+    final TestSubscriber<Integer> subscriber = TestSubscriber.create(1);
+    interactor.execute(subscriber);
+    subscriber.assertValue(0);
+    assertThat(publisher.requests).doesNotContain(Long.MAX_VALUE);
+
+    subscriber.requestMore(Long.MAX_VALUE);
+    subscriber.assertValues(0, 1, 2, 3, 4);
+    subscriber.assertCompleted();
+  }
+
+  @Test
+  public void shouldCancelPublisher() {
+    interactor.execute(TestSubscriber.create(1));
+    interactor.unsubscribe();
+    assertThat(publisher.cancelled).isTrue();
+  }
+
+  @Test
+  public void shouldRepublish() {
+    final ReactiveStreamsTest.RecordingSubscriber<Integer> subscriber = new ReactiveStreamsTest.RecordingSubscriber<>();
+    interactor.asPublisher(null)
+        .subscribe(subscriber);
+    subscriber.subscription.request(2);
+    assertThat(subscriber.values).containsExactly(0, 1)
+        .inOrder();
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import rx.Observable;
+import rx.observers.TestSubscriber;
+
+import static com.dzaitsev.rxviper.TestUtil.assertThrows;
+import static com.google.common.truth.Truth.assertThat;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-30, 10:40
+ */
+public final class ReactiveStreamsTest {
+  private final SubscriptionTracker subscriptions = new SubscriptionTracker();
+
+  @Test
+  public void shouldPublishOnDemand() {
+    final List<Long> requests = new ArrayList<>();
+    final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+    ReactiveStreams.toPublisher(Observable.range(1, 10)
+        .doOnRequest(requests::add), subscriptions)
+        .subscribe(subscriber);
+    assertThat(subscriber.values).isEmpty();
+
+    subscriber.subscription.request(3);
+    assertThat(subscriber.values).containsExactly(1, 2, 3)
+        .inOrder();
+    subscriber.subscription.request(Long.MAX_VALUE);
+    assertThat(subscriber.values).hasSize(10);
+    assertThat(subscriber.completed).isTrue();
+    assertThat(requests).containsAllOf(3L, Long.MAX_VALUE)
+        .inOrder();
+    assertThat(subscriptions.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldCancel() {
+    final List<String> events = new ArrayList<>();
+    final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+    final Observable<Integer> never = Observable.<Integer>never().doOnUnsubscribe(() -> events.add("unsubscribe"));
+    ReactiveStreams.toPublisher(never, subscriptions)
+        .subscribe(subscriber);
+
+    subscriber.subscription.cancel();
+    assertThat(events).containsExactly("unsubscribe");
+    assertThat(subscriber.error).isNull();
+  }
+
+  @Test
+  public void shouldCancelWithComposite() {
+    final List<String> events = new ArrayList<>();
+    final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+    final Observable<Integer> never = Observable.<Integer>never().doOnUnsubscribe(() -> events.add("unsubscribe"));
+    ReactiveStreams.toPublisher(never, subscriptions)
+        .subscribe(subscriber);
+
+    subscriptions.clear();
+    assertThat(events).containsExactly("unsubscribe");
+  }
+
+  @Test
+  public void shouldSignalErrorOnNonPositiveRequest() {
+    final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+    ReactiveStreams.toPublisher(Observable.range(1, 10), subscriptions)
+        .subscribe(subscriber);
+
+    subscriber.subscription.request(0);
+    assertThat(subscriber.error).isInstanceOf(IllegalArgumentException.class);
+    subscriber.subscription.request(1);
+    assertThat(subscriber.values).isEmpty();
+  }
+
+  @Test
+  public void shouldRejectNullSubscriber() {
+    final Publisher<Integer> publisher = ReactiveStreams.toPublisher(Observable.range(1, 10), subscriptions);
+    assertThrows(NullPointerException.class, () -> publisher.subscribe(null));
+  }
+
+  @Test
+  public void shouldObservePublisher() {
+    final RangePublisher publisher = new RangePublisher(10);
+    final TestSubscriber<Integer> subscriber = TestSubscriber.create(2);
+    ReactiveStreams.toObservable(publisher)
+        .subscribe(subscriber);
+    subscriber.assertValues(0, 1);
+
+    subscriber.requestMore(Long.MAX_VALUE);
+    subscriber.assertValueCount(10);
+    subscriber.assertCompleted();
+    assertThat(publisher.requests).containsExactly(2L, Long.MAX_VALUE)
+        .inOrder();
+  }
+
+  @Test
+  public void shouldCancelPublisher() {
+    final RangePublisher publisher = new RangePublisher(10);
+    final TestSubscriber<Integer> subscriber = TestSubscriber.create(2);
+    ReactiveStreams.toObservable(publisher)
+        .subscribe(subscriber);
+
+    subscriber.unsubscribe();
+    assertThat(publisher.cancelled).isTrue();
+  }
+
+  static final class RecordingSubscriber<T> implements Subscriber<T> {
+    final List<T> values = new ArrayList<>();
+    Subscription subscription;
+    Throwable    error;
+    boolean      completed;
+
+    @Override
+    public void onSubscribe(Subscription s) {
+      subscription = s;
+    }
+
+    @Override
+    public void onNext(T t) {
+      values.add(t);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      error = t;
+    }
+
+    @Override
+    public void onComplete() {
+      completed = true;
+    }
+  }
+
+  /**
+   * Synchronous publisher of integers from {@code 0}.
+   */
+  static final class RangePublisher implements Publisher<Integer> {
+    final List<Long> requests = new ArrayList<>();
+    private final int count;
+    boolean cancelled;
+
+    RangePublisher(int count) {
+      this.count = count;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super Integer> subscriber) {
+      subscriber.onSubscribe(new Subscription() {
+        private int next;
+        private boolean emitting;
+        private long requested;
+
+        @Override
+        public void request(long n) {
+          requests.add(n);
+          requested = requested + n < 0 ? Long.MAX_VALUE : requested + n;
+          if (emitting) {
+            return;
+          }
+          emitting = true;
+          while (requested > 0 && next < count && !cancelled) {
+            requested--;
+            subscriber.onNext(next++);
+          }
+          if (next == count && !cancelled) {
+            cancelled = true;
+            subscriber.onComplete();
+          }
+          emitting = false;
+        }
+
+        @Override
+        public void cancel() {
+          cancelled = true;
+        }
+      });
+    }
+  }
+}
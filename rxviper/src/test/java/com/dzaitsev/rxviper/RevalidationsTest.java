@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-27, 11:30
+ */
+public final class RevalidationsTest {
+  private final Revalidations revalidations = new Revalidations(1000);
+
+  @Test
+  public void shouldKeepRevalidationsApart() {
+    assertThat(revalidations.tryStart("key", 0)).isTrue();
+    assertThat(revalidations.tryStart("key", 999)).isFalse();
+    assertThat(revalidations.tryStart(null, 999)).isTrue();
+    assertThat(revalidations.tryStart("key", 1000)).isTrue();
+    assertThat(revalidations.tryStart("key", 1999)).isFalse();
+  }
+
+  @Test
+  public void shouldReset() {
+    revalidations.tryStart("key", 0);
+    revalidations.reset("key");
+    assertThat(revalidations.tryStart("key", 1)).isTrue();
+
+    revalidations.resetAll();
+    assertThat(revalidations.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldPruneOutdatedRecords() {
+    // nothing to prune yet, the threshold doubles
+    for (int i = 0; i < 17; i++) {
+      revalidations.tryStart(i, 0);
+    }
+    assertThat(revalidations.size()).isEqualTo(17);
+
+    for (int i = 0; i < 18; i++) {
+      revalidations.tryStart("key" + i, 1000);
+    }
+    assertThat(revalidations.size()).isEqualTo(18);
+  }
+}
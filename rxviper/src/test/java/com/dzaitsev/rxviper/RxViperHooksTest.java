@@ -0,0 +1,202 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.junit.After;
+import org.junit.Test;
+import rx.Observable;
+import rx.Subscription;
+import rx.observers.TestSubscriber;
+import rx.schedulers.Schedulers;
+
+import static com.dzaitsev.rxviper.TestUtil.checkIllegalArgumentException;
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-29, 15:30
+ */
+public final class RxViperHooksTest {
+  private final List<String> events = new ArrayList<>();
+
+  @After
+  public void tearDown() {
+    RxViperHooks.reset();
+  }
+
+  @Test
+  public void shouldHaveNoHooksByDefault() {
+    assertThat(RxViperHooks.hooks()).isNull();
+  }
+
+  @Test
+  public void shouldObserveInteractor() {
+    RxViperHooks.register(new RecordingHook("hook"));
+    final HookedInteractor interactor = new HookedInteractor();
+    interactor.execute(42, TestSubscriber.create());
+    interactor.unsubscribe();
+
+    assertThat(events).containsExactly("hook:execute 42", "hook:create 42", "hook:unsubscribe")
+        .inOrder();
+  }
+
+  @Test
+  public void shouldWrapCreatedObservables() {
+    final Subscription first = RxViperHooks.register(new RxViperHook() {
+      @Nonnull
+      @Override
+      public <RequestModel, ResponseModel> Observable<ResponseModel> onCreateObservable(
+          @Nonnull Interactor<RequestModel, ResponseModel> interactor, @Nullable RequestModel requestModel,
+          @Nonnull Observable<ResponseModel> observable) {
+        return observable.doOnNext(value -> events.add("first " + value));
+      }
+    });
+    RxViperHooks.register(new RxViperHook() {
+      @Nonnull
+      @Override
+      public <RequestModel, ResponseModel> Observable<ResponseModel> onCreateObservable(
+          @Nonnull Interactor<RequestModel, ResponseModel> interactor, @Nullable RequestModel requestModel,
+          @Nonnull Observable<ResponseModel> observable) {
+        return observable.doOnNext(value -> events.add("second " + value));
+      }
+    });
+    final TestSubscriber<String> subscriber = TestSubscriber.create();
+    new HookedInteractor().execute(1, subscriber);
+
+    subscriber.assertValue("response 1");
+    assertThat(events).containsExactly("first response 1", "second response 1")
+        .inOrder();
+
+    first.unsubscribe();
+    events.clear();
+    new HookedInteractor().execute(2, TestSubscriber.create());
+    assertThat(events).containsExactly("second response 2");
+  }
+
+  @Test
+  public void shouldUnregisterHooks() {
+    final Subscription first = RxViperHooks.register(new RecordingHook("first"));
+    final Subscription second = RxViperHooks.register(new RecordingHook("second"));
+    new HookedInteractor().unsubscribe();
+    assertThat(events).containsExactly("first:unsubscribe", "second:unsubscribe")
+        .inOrder();
+
+    first.unsubscribe();
+    events.clear();
+    new HookedInteractor().unsubscribe();
+    assertThat(events).containsExactly("second:unsubscribe");
+
+    second.unsubscribe();
+    assertThat(RxViperHooks.hooks()).isNull();
+  }
+
+  @Test
+  public void shouldObservePresenter() {
+    RxViperHooks.register(new RecordingHook("hook"));
+    final TestViewCallbacks view = new TestViewCallbacksImpl();
+    final TestPresenter presenter = new TestPresenter();
+    presenter.takeView(view);
+    presenter.getView()
+        .doJob();
+    presenter.dropView(view);
+    presenter.getView()
+        .doJob();
+
+    assertThat(events).containsExactly("hook:take", "hook:dispatch doJob", "hook:drop")
+        .inOrder();
+  }
+
+  @Test
+  public void shouldObserveGeneratedProxyDispatch() {
+    final TestGeneratedViewCallbacks view = mock(TestGeneratedViewCallbacks.class);
+    final GeneratedProxyTest.GeneratedPresenter presenter = new GeneratedProxyTest.GeneratedPresenter();
+    presenter.takeView(view);
+    RxViperHooks.register(new RecordingHook("hook"));
+    presenter.getView()
+        .doJob("job");
+
+    verify(view).doJob("job");
+    assertThat(events).containsExactly("hook:dispatch doJob");
+  }
+
+  @Test
+  public void shouldNotRegisterNull() {
+    checkIllegalArgumentException(() -> RxViperHooks.register(null));
+  }
+
+  final class RecordingHook extends RxViperHook {
+    private final String name;
+
+    RecordingHook(String name) {
+      this.name = name;
+    }
+
+    @Nonnull
+    @Override
+    public <RequestModel, ResponseModel> Observable<ResponseModel> onCreateObservable(
+        @Nonnull Interactor<RequestModel, ResponseModel> interactor, @Nullable RequestModel requestModel,
+        @Nonnull Observable<ResponseModel> observable) {
+      events.add(name + ":create " + requestModel);
+      return observable;
+    }
+
+    @Override
+    public void onExecute(@Nonnull Interactor<?, ?> interactor, @Nullable Object requestModel) {
+      events.add(name + ":execute " + requestModel);
+    }
+
+    @Override
+    public void onUnsubscribe(@Nonnull Interactor<?, ?> interactor) {
+      events.add(name + ":unsubscribe");
+    }
+
+    @Override
+    public void onTakeView(@Nonnull Presenter<?> presenter, @Nonnull ViewCallbacks view) {
+      events.add(name + ":take");
+    }
+
+    @Override
+    public void onDropView(@Nonnull Presenter<?> presenter, @Nonnull ViewCallbacks view) {
+      events.add(name + ":drop");
+    }
+
+    @Override
+    public void onDispatch(@Nonnull Object target, @Nonnull Method method, @Nullable Object[] args) {
+      events.add(name + ":dispatch " + method.getName());
+    }
+  }
+
+  static final class HookedInteractor extends Interactor<Integer, String> {
+    HookedInteractor() {
+      super(Schedulers.immediate(), Schedulers.immediate());
+    }
+
+    @Override
+    protected Observable<String> createObservable(Integer requestModel) {
+      return Observable.just("response " + requestModel);
+    }
+  }
+}
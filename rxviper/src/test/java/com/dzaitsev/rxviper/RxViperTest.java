@@ -27,6 +27,7 @@ import java.util.Set;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import rx.Completable;
 
 import static com.google.common.truth.Truth.assertThat;
 
@@ -141,6 +142,28 @@ public final class RxViperTest {
     assertThat(RxViper.getGenericParameterClass(classG, ClassE.class, 0)).isSameAs(Double.class);
   }
 
+  @Test
+  public void shouldPreloadPresenters() {
+    final Throwable error = RxViper.preload(TestPresenter.class, TestViperPresenter.class)
+        .get();
+    assertThat(error).isNull();
+  }
+
+  @Test
+  public void shouldPreloadLazily() {
+    final Completable preload = RxViper.preload(InvalidPresenter.class);
+    final Throwable error = preload.get();
+    assertThat(error).isInstanceOf(IllegalStateException.class);
+    assertThat(error).hasMessageThat()
+        .contains("must be an interface.");
+  }
+
+  @Test
+  public void preloadedClassesShouldNotBeNull() {
+    thrown.expect(IllegalArgumentException.class);
+    RxViper.preload(TestPresenter.class, null);
+  }
+
   @Test
   public void shouldNotHaveGetters() {
     RxViper.checkNoPublicGetters(IDontHaveGetters.class);
@@ -160,6 +183,8 @@ public final class RxViperTest {
     RxViper.checkNoPublicGetters(IHaveInheritedGetter.class);
   }
 
+  static final class InvalidPresenter extends Presenter<TestViewCallbacksImpl> {}
+
   interface InterfaceA<I> {} /*Integer*/
 
   interface InterfaceB<D, I> extends InterfaceA<I> {} /*Double, Integer*/
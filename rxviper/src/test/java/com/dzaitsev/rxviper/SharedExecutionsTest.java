@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import rx.Observable;
+import rx.Subscription;
+import rx.observers.TestSubscriber;
+import rx.subjects.PublishSubject;
+
+import static com.google.common.truth.Truth.assertThat;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-26, 10:05
+ */
+public final class SharedExecutionsTest {
+  private final SharedExecutions<String> executions    = new SharedExecutions<>();
+  private final PublishSubject<String>   subject       = PublishSubject.create();
+  private final AtomicInteger            subscriptions = new AtomicInteger();
+  private final Observable<String>       source        = subject.doOnSubscribe(subscriptions::incrementAndGet);
+
+  @Test
+  public void shouldShareExecutionInFlight() {
+    final TestSubscriber<String> first = TestSubscriber.create();
+    final TestSubscriber<String> second = TestSubscriber.create();
+    executions.share("key", source)
+        .subscribe(first);
+    final Observable<String> shared = executions.get("key");
+    assertThat(shared).isNotNull();
+    shared.subscribe(second);
+
+    subject.onNext("value");
+    subject.onCompleted();
+    first.assertValue("value");
+    second.assertValue("value");
+    second.assertCompleted();
+    assertThat(subscriptions.get()).isEqualTo(1);
+    assertThat(executions.coalesced()).isEqualTo(1);
+    assertThat(executions.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldReplayResponsesToLateJoiner() {
+    final TestSubscriber<String> first = TestSubscriber.create();
+    final TestSubscriber<String> late = TestSubscriber.create();
+    executions.share("key", source)
+        .subscribe(first);
+    subject.onNext("value");
+
+    executions.get("key")
+        .subscribe(late);
+    late.assertValue("value");
+    late.assertNotCompleted();
+
+    subject.onCompleted();
+    first.assertValue("value");
+    late.assertValue("value");
+    late.assertCompleted();
+    assertThat(subscriptions.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRemoveExecutionWhenLastSubscriberUnsubscribes() {
+    final Subscription first = executions.share(null, source)
+        .subscribe();
+    final Subscription second = executions.get(null)
+        .subscribe();
+
+    first.unsubscribe();
+    assertThat(subject.hasObservers()).isTrue();
+    assertThat(executions.size()).isEqualTo(1);
+
+    second.unsubscribe();
+    assertThat(subject.hasObservers()).isFalse();
+    assertThat(executions.size()).isEqualTo(0);
+    assertThat(executions.get(null)).isNull();
+  }
+
+  @Test
+  public void shouldReturnExistingExecution() {
+    final Observable<String> first = executions.share("key", source);
+    final Observable<String> second = executions.share("key", Observable.just("other"));
+    assertThat(second).isSameAs(first);
+    assertThat(executions.coalesced()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotShareDifferentKeys() {
+    executions.share("key", source);
+    assertThat(executions.get("other")).isNull();
+    assertThat(executions.coalesced()).isEqualTo(0);
+  }
+}
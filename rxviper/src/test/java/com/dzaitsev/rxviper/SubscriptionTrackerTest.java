@@ -0,0 +1,127 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+import rx.exceptions.CompositeException;
+import rx.observers.TestSubscriber;
+import rx.subscriptions.Subscriptions;
+
+import static com.dzaitsev.rxviper.TestUtil.assertThrows;
+import static com.google.common.truth.Truth.assertThat;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-28, 11:15
+ */
+public final class SubscriptionTrackerTest {
+  private final SubscriptionTracker tracker = new SubscriptionTracker();
+
+  @Test
+  public void shouldStopTrackingUnsubscribedSubscriber() {
+    final TestSubscriber<String> subscriber = TestSubscriber.create();
+    tracker.track(subscriber);
+    assertThat(tracker.isEmpty()).isFalse();
+
+    subscriber.unsubscribe();
+    assertThat(tracker.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldNotTrackUnsubscribedSubscriber() {
+    final TestSubscriber<String> subscriber = TestSubscriber.create();
+    subscriber.unsubscribe();
+    tracker.track(subscriber);
+    assertThat(tracker.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldUnsubscribeTrackedSubscribers() {
+    final TestSubscriber<String> first = TestSubscriber.create();
+    final TestSubscriber<String> second = TestSubscriber.create();
+    tracker.track(first);
+    tracker.track(second);
+
+    tracker.clear();
+    first.assertUnsubscribed();
+    second.assertUnsubscribed();
+    assertThat(tracker.isEmpty()).isTrue();
+
+    final TestSubscriber<String> third = TestSubscriber.create();
+    tracker.track(third);
+    assertThat(third.isUnsubscribed()).isFalse();
+    assertThat(tracker.isEmpty()).isFalse();
+  }
+
+  @Test
+  public void shouldUnsubscribeAllSubscribersWhenSomeFail() {
+    final TestSubscriber<String> first = TestSubscriber.create();
+    final TestSubscriber<String> second = TestSubscriber.create();
+    final TestSubscriber<String> third = TestSubscriber.create();
+    first.add(Subscriptions.create(() -> {
+      throw new IllegalStateException();
+    }));
+    second.add(Subscriptions.create(() -> {
+      throw new IllegalStateException();
+    }));
+    tracker.track(first);
+    tracker.track(second);
+    tracker.track(third);
+
+    assertThrows(CompositeException.class, tracker::clear);
+    first.assertUnsubscribed();
+    second.assertUnsubscribed();
+    third.assertUnsubscribed();
+    assertThat(tracker.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldTrackConcurrently() throws Exception {
+    final int threads = 8;
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      final CountDownLatch start = new CountDownLatch(1);
+      final List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          for (int j = 0; j < 10_000; j++) {
+            final TestSubscriber<String> subscriber = TestSubscriber.create();
+            tracker.track(subscriber);
+            subscriber.unsubscribe();
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get();
+      }
+      assertThat(tracker.isEmpty()).isTrue();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+/**
+ * Mirrors the output of {@code rxviper-compiler} for {@link TestGeneratedViewCallbacks}.
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-21, 18:42
+ */
+final class TestGeneratedViewCallbacks_Proxy extends GeneratedProxy<TestGeneratedViewCallbacks> implements TestGeneratedViewCallbacks {
+  private static final Method METHOD_0 = method(TestGeneratedViewCallbacks.class, "doJob", String.class);
+
+  private static final Method METHOD_1 = method(TestGeneratedViewCallbacks.class, "save", String.class);
+
+  @Override
+  public void doJob(String job) {
+    final TestGeneratedViewCallbacks target = target();
+    if (target != null) {
+      target.doJob(job);
+    } else {
+      dispatch(METHOD_0, new Object[] { job });
+    }
+  }
+
+  @Override
+  public void save(String job) throws IOException {
+    final TestGeneratedViewCallbacks target = target();
+    if (target != null) {
+      target.save(job);
+    } else {
+      dispatch(METHOD_1, new Object[] { job });
+    }
+  }
+}
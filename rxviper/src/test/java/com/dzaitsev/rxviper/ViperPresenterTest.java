@@ -155,6 +155,35 @@ public final class ViperPresenterTest {
     assertNotThrows(IllegalArgumentException.class, () -> new TestViperPresenter(mock(TestViewCallbacks.class), router));
   }
 
+  @Test
+  public void shouldUseExplicitClasses() {
+    final GenericViperPresenter<TestViewCallbacks, TestRouter> genericPresenter =
+        new GenericViperPresenter<>(TestViewCallbacks.class, TestRouter.class);
+    assertThat(genericPresenter.hasView()).isFalse();
+    assertThat(genericPresenter.hasRouter()).isFalse();
+
+    genericPresenter.takeRouter(router);
+    assertThat(genericPresenter.getRouter()).isEqualTo(router);
+  }
+
+  @Test
+  public void shouldUseExplicitClassesWithArgs() {
+    final TestViewCallbacks view = mock(TestViewCallbacks.class);
+    final GenericViperPresenter<TestViewCallbacks, TestRouter> genericPresenter =
+        new GenericViperPresenter<>(TestViewCallbacks.class, TestRouter.class, view, router);
+    assertThat(genericPresenter.getView()).isEqualTo(view);
+    assertThat(genericPresenter.getRouter()).isEqualTo(router);
+  }
+
+  @Test
+  public void explicitClassesShouldNotBeNull() {
+    final TestViewCallbacks view = mock(TestViewCallbacks.class);
+    checkIllegalArgumentException(() -> new GenericViperPresenter<>(TestViewCallbacks.class, null));
+    checkIllegalArgumentException(() -> new GenericViperPresenter<>(null, TestRouter.class));
+    checkIllegalArgumentException(() -> new GenericViperPresenter<>(TestViewCallbacks.class, null, view, router));
+    checkIllegalArgumentException(() -> new GenericViperPresenter<>(TestViewCallbacks.class, TestRouter.class, view, null));
+  }
+
   @Test
   public void shouldReturnProxyRouter() {
     presenter.takeRouter(router);
@@ -176,4 +205,14 @@ public final class ViperPresenterTest {
     presenter.dropRouter(router);
     assertThat(nullObject.get()).isNull();
   }
+
+  static final class GenericViperPresenter<V extends ViewCallbacks, R extends Router> extends ViperPresenter<V, R> {
+    GenericViperPresenter(Class<V> viewClass, Class<R> routerClass, V view, R router) {
+      super(viewClass, routerClass, view, router);
+    }
+
+    GenericViperPresenter(Class<V> viewClass, Class<R> routerClass) {
+      super(viewClass, routerClass);
+    }
+  }
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper3;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the overhead of {@code execute} of the RxJava 3 based {@link Interactor} against the RxJava 1 based one. Both use trampoline
+ * schedulers, so the benchmarks measure assembly and subscription of the {@code subscribeOn}/{@code observeOn} chain rather than thread
+ * hops. Every execution is disposed right away to keep the tracked subscriptions from growing.
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-29, 17:30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecuteBenchmark {
+  @Param({ "1", "100" }) public int count;
+
+  private com.dzaitsev.rxviper.Interactor<Integer, Integer> rxJava1;
+  private Interactor<Integer, Integer>                      rxJava3;
+
+  @Setup
+  public void setUp() {
+    rxJava1 = new com.dzaitsev.rxviper.Interactor<Integer, Integer>(rx.schedulers.Schedulers.trampoline(),
+        rx.schedulers.Schedulers.trampoline()) {
+      @Override
+      protected rx.Observable<Integer> createObservable(Integer count) {
+        return rx.Observable.range(0, count);
+      }
+    };
+    rxJava3 = new Interactor<Integer, Integer>(Schedulers.trampoline(), Schedulers.trampoline()) {
+      @Override
+      protected Observable<Integer> createObservable(Integer count) {
+        return Observable.range(0, count);
+      }
+    };
+  }
+
+  @Benchmark
+  public void rxJava1(Blackhole blackhole) {
+    rxJava1.execute(count, blackhole::consume);
+    rxJava1.unsubscribe();
+  }
+
+  @Benchmark
+  public void rxJava3(Blackhole blackhole) {
+    rxJava3.execute(count, blackhole::consume);
+    rxJava3.dispose();
+  }
+}
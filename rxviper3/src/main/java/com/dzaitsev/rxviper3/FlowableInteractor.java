@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper3;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.subscribers.DisposableSubscriber;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static com.dzaitsev.rxviper3.RxViper.requireNotNull;
+
+/**
+ * Contains the business logic of a use case that streams responses with backpressure.
+ * <p>
+ * Unlike {@link Interactor}, responses are requested by the {@code Subscriber}, so a fast source can't overwhelm a slow consumer.
+ *
+ * @param <RequestModel> the type of request message
+ * @param <ResponseModel> the type of response message
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+public abstract class FlowableInteractor<RequestModel, ResponseModel> implements Disposable {
+  @Nonnull private final Scheduler           subscribeScheduler;
+  @Nonnull private final Scheduler           observeScheduler;
+  @Nonnull private final CompositeDisposable disposables;
+
+  /**
+   * @param subscribeScheduler the {@code Scheduler} that modifies source {@code Flowable} returned from {@link #createFlowable} to
+   *     perform its emissions on.
+   * @param observeScheduler the {@code Scheduler} that modifies source {@code Flowable} returned from {@link #createFlowable} to notify
+   *     its {@code Subscriber}s on.
+   *
+   * @since 1.0.0
+   */
+  protected FlowableInteractor(@Nonnull Scheduler subscribeScheduler, @Nonnull Scheduler observeScheduler) {
+    requireNotNull(subscribeScheduler);
+    requireNotNull(observeScheduler);
+
+    this.subscribeScheduler = subscribeScheduler;
+    this.observeScheduler = observeScheduler;
+    disposables = new CompositeDisposable();
+  }
+
+  /**
+   * Subscribes to a {@code Flowable} and provides a {@code Subscriber} that requests and handles the items it emits and any error or
+   * completion notification it issues.
+   *
+   * @param subscriber the {@code DisposableSubscriber} that will handle emissions and notifications from the {@code Flowable}
+   *
+   * @see #execute(Object, DisposableSubscriber)
+   * @since 1.0.0
+   */
+  public final void execute(@Nonnull DisposableSubscriber<? super ResponseModel> subscriber) {
+    execute(null, subscriber);
+  }
+
+  /**
+   * Subscribes to a {@code Flowable} and provides a {@code Subscriber} that requests and handles the items it emits and any error or
+   * completion notification it issues.
+   *
+   * @param requestModel the request message to a replier system which receives and processes the request
+   * @param subscriber the {@code DisposableSubscriber} that will handle emissions and notifications from the {@code Flowable}
+   *
+   * @throws IllegalArgumentException if {@code subscriber} is {@code null}
+   * @see #execute(DisposableSubscriber)
+   * @since 1.0.0
+   */
+  public final void execute(@Nullable RequestModel requestModel, @Nonnull DisposableSubscriber<? super ResponseModel> subscriber) {
+    requireNotNull(subscriber);
+
+    disposables.add(subscriber);
+    createFlowable(requestModel).subscribeOn(subscribeScheduler)
+        .observeOn(observeScheduler)
+        .subscribe(subscriber);
+  }
+
+  /**
+   * Disposes the {@code Subscriber}s that were registered.
+   *
+   * @since 1.0.0
+   */
+  @Override
+  public final void dispose() {
+    // call clear() instead of dispose() to be able to manage new subscriptions
+    disposables.clear();
+  }
+
+  /**
+   * Indicates whether this {@code FlowableInteractor} has no executions to dispose.
+   *
+   * @return {@code true} if this {@code FlowableInteractor} is currently disposed, {@code false} otherwise
+   *
+   * @since 1.0.0
+   */
+  @Override
+  public final boolean isDisposed() {
+    return disposables.size() == 0;
+  }
+
+  /**
+   * Provides source {@code Flowable} that will execute the specified parameter when {@code execute()} method is called.
+   * <p>
+   * It will use schedulers provided in {@link #FlowableInteractor(Scheduler, Scheduler) the constructor}.
+   *
+   * @param requestModel the request message to a replier system which receives and processes the request
+   *
+   * @return source {@code Flowable}
+   *
+   * @see #execute(DisposableSubscriber)
+   * @see #execute(Object, DisposableSubscriber)
+   * @since 1.0.0
+   */
+  @Nonnull
+  protected abstract Flowable<ResponseModel> createFlowable(@Nullable RequestModel requestModel);
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper3;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.functions.Action;
+import io.reactivex.rxjava3.functions.Consumer;
+import io.reactivex.rxjava3.observers.DisposableObserver;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static com.dzaitsev.rxviper3.RxViper.requireNotNull;
+
+/**
+ * Contains the business logic as specified by a use case.
+ *
+ * @param <RequestModel> the type of request message
+ * @param <ResponseModel> the type of response message
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+public abstract class Interactor<RequestModel, ResponseModel> implements Disposable {
+  @Nonnull private final Scheduler           subscribeScheduler;
+  @Nonnull private final Scheduler           observeScheduler;
+  @Nonnull private final CompositeDisposable disposables;
+
+  /**
+   * @param subscribeScheduler the {@code Scheduler} that modifies source {@code Observable} returned from {@link #createObservable}
+   *     to perform its emissions on.
+   * @param observeScheduler the {@code Scheduler} that modifies source {@code Observable} returned from {@link #createObservable} to
+   *     notify its {@code Observer}s on.
+   *
+   * @since 1.0.0
+   */
+  protected Interactor(@Nonnull Scheduler subscribeScheduler, @Nonnull Scheduler observeScheduler) {
+    requireNotNull(subscribeScheduler);
+    requireNotNull(observeScheduler);
+
+    this.subscribeScheduler = subscribeScheduler;
+    this.observeScheduler = observeScheduler;
+    disposables = new CompositeDisposable();
+  }
+
+  /**
+   * Subscribes to an {@code Observable} and provides a callback to handle the items it emits.
+   *
+   * @param onNext the {@code Consumer<ResponseModel>} you have designed to accept emissions from the {@code Observable}
+   *
+   * @throws IllegalArgumentException if {@code onNext} is {@code null}
+   * @see #execute(Object, Consumer)
+   * @since 1.0.0
+   */
+  public final void execute(@Nonnull Consumer<? super ResponseModel> onNext) {
+    execute(null, onNext);
+  }
+
+  /**
+   * Subscribes to an {@code Observable} and provides a callback to handle the items it emits.
+   *
+   * @param requestModel the request message to a replier system which receives and processes the request
+   * @param onNext the {@code Consumer<ResponseModel>} you have designed to accept emissions from the {@code Observable}
+   *
+   * @throws IllegalArgumentException if {@code onNext} is {@code null}
+   * @see #execute(Consumer)
+   * @since 1.0.0
+   */
+  public final void execute(@Nullable RequestModel requestModel, @Nonnull Consumer<? super ResponseModel> onNext) {
+    requireNotNull(onNext);
+
+    disposables.add(execution(requestModel).subscribe(onNext));
+  }
+
+  /**
+   * Subscribes to an {@code Observable} and provides callbacks to handle the items it emits and any error notification it issues.
+   *
+   * @param onNext the {@code Consumer<ResponseModel>} you have designed to accept emissions from the {@code Observable}
+   * @param onError the {@code Consumer<Throwable>} you have designed to accept any error notification from the {@code Observable}
+   *
+   * @throws IllegalArgumentException if {@code onNext} is {@code null}, or if {@code onError} is {@code null}
+   * @see #execute(Object, Consumer, Consumer)
+   * @since 1.0.0
+   */
+  public final void execute(@Nonnull Consumer<? super ResponseModel> onNext, @Nonnull Consumer<? super Throwable> onError) {
+    execute(null, onNext, onError);
+  }
+
+  /**
+   * Subscribes to an {@code Observable} and provides callbacks to handle the items it emits and any error notification it issues.
+   *
+   * @param requestModel the request message to a replier system which receives and processes the request
+   * @param onNext the {@code Consumer<ResponseModel>} you have designed to accept emissions from the {@code Observable}
+   * @param onError the {@code Consumer<Throwable>} you have designed to accept any error notification from the {@code Observable}
+   *
+   * @throws IllegalArgumentException if {@code onNext} is {@code null}, or if {@code onError} is {@code null}
+   * @see #execute(Consumer, Consumer)
+   * @since 1.0.0
+   */
+  public final void execute(@Nullable RequestModel requestModel, @Nonnull Consumer<? super ResponseModel> onNext,
+      @Nonnull Consumer<? super Throwable> onError) {
+    requireNotNull(onNext);
+    requireNotNull(onError);
+
+    disposables.add(execution(requestModel).subscribe(onNext, onError));
+  }
+
+  /**
+   * Subscribes to an {@code Observable} and provides callbacks to handle the items it emits and any error or completion notification it
+   * issues.
+   *
+   * @param onNext the {@code Consumer<ResponseModel>} you have designed to accept emissions from the {@code Observable}
+   * @param onError the {@code Consumer<Throwable>} you have designed to accept any error notification from the {@code Observable}
+   * @param onComplete the {@code Action} you have designed to accept a completion notification from the {@code Observable}
+   *
+   * @throws IllegalArgumentException if {@code onNext} is {@code null}, or if {@code onError} is {@code null}, or if {@code
+   *     onComplete} is {@code null}
+   * @see #execute(Object, Consumer, Consumer, Action)
+   * @since 1.0.0
+   */
+  public final void execute(@Nonnull Consumer<? super ResponseModel> onNext, @Nonnull Consumer<? super Throwable> onError,
+      @Nonnull Action onComplete) {
+    execute(null, onNext, onError, onComplete);
+  }
+
+  /**
+   * Subscribes to an {@code Observable} and provides callbacks to handle the items it emits and any error or completion notification it
+   * issues.
+   *
+   * @param requestModel the request message to a replier system which receives and processes the request
+   * @param onNext the {@code Consumer<ResponseModel>} you have designed to accept emissions from the {@code Observable}
+   * @param onError the {@code Consumer<Throwable>} you have designed to accept any error notification from the {@code Observable}
+   * @param onComplete the {@code Action} you have designed to accept a completion notification from the {@code Observable}
+   *
+   * @throws IllegalArgumentException if {@code onNext} is {@code null}, or if {@code onError} is {@code null}, or if {@code
+   *     onComplete} is {@code null}
+   * @see #execute(Consumer, Consumer, Action)
+   * @since 1.0.0
+   */
+  public final void execute(@Nullable RequestModel requestModel, @Nonnull Consumer<? super ResponseModel> onNext,
+      @Nonnull Consumer<? super Throwable> onError, @Nonnull Action onComplete) {
+    requireNotNull(onNext);
+    requireNotNull(onError);
+    requireNotNull(onComplete);
+
+    disposables.add(execution(requestModel).subscribe(onNext, onError, onComplete));
+  }
+
+  /**
+   * Subscribes to an {@code Observable} and provides an {@code Observer} that implements functions to handle the items the {@code
+   * Observable} emits and any error or completion notification it issues.
+   *
+   * @param observer the {@code DisposableObserver} that will handle emissions and notifications from the {@code Observable}
+   *
+   * @see #execute(Object, DisposableObserver)
+   * @since 1.0.0
+   */
+  public final void execute(@Nonnull DisposableObserver<? super ResponseModel> observer) {
+    execute(null, observer);
+  }
+
+  /**
+   * Subscribes to an {@code Observable} and provides an {@code Observer} that implements functions to handle the items the {@code
+   * Observable} emits and any error or completion notification it issues.
+   *
+   * @param requestModel the request message to a replier system which receives and processes the request
+   * @param observer the {@code DisposableObserver} that will handle emissions and notifications from the {@code Observable}
+   *
+   * @throws IllegalArgumentException if {@code observer} is {@code null}
+   * @see #execute(DisposableObserver)
+   * @since 1.0.0
+   */
+  public final void execute(@Nullable RequestModel requestModel, @Nonnull DisposableObserver<? super ResponseModel> observer) {
+    requireNotNull(observer);
+
+    disposables.add(observer);
+    execution(requestModel).subscribe(observer);
+  }
+
+  /**
+   * Disposes the {@code Observer}s that were registered.
+   * <p>
+   * This allows unregistering executed {@code Observer}s before they have finished receiving all events.
+   *
+   * @since 1.0.0
+   */
+  @Override
+  public final void dispose() {
+    // call clear() instead of dispose() to be able to manage new subscriptions
+    disposables.clear();
+  }
+
+  /**
+   * Indicates whether this {@code Interactor} has no executions to dispose.
+   *
+   * @return {@code true} if this {@code Interactor} is currently disposed, {@code false} otherwise
+   *
+   * @since 1.0.0
+   */
+  @Override
+  public final boolean isDisposed() {
+    return disposables.size() == 0;
+  }
+
+  /**
+   * Provides source {@code Observable} that will execute the specified parameter when {@code execute()} method is called.
+   * <p>
+   * It will use schedulers provided in {@link #Interactor(Scheduler, Scheduler) the constructor}.
+   *
+   * @param requestModel the request message to a replier system which receives and processes the request
+   *
+   * @return source {@code Observable}
+   *
+   * @see #execute(DisposableObserver)
+   * @see #execute(Object, DisposableObserver)
+   * @see #execute(Consumer)
+   * @see #execute(Object, Consumer)
+   * @see #execute(Consumer, Consumer)
+   * @see #execute(Object, Consumer, Consumer)
+   * @see #execute(Consumer, Consumer, Action)
+   * @see #execute(Object, Consumer, Consumer, Action)
+   * @since 1.0.0
+   */
+  @Nonnull
+  protected abstract Observable<ResponseModel> createObservable(@Nullable RequestModel requestModel);
+
+  @Nonnull
+  private Observable<ResponseModel> execution(@Nullable RequestModel requestModel) {
+    return createObservable(requestModel).subscribeOn(subscribeScheduler)
+        .observeOn(observeScheduler);
+  }
+}
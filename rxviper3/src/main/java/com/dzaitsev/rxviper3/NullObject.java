@@ -0,0 +1,69 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper3;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import javax.annotation.Nullable;
+
+/**
+ * Implementation of <a href="https://en.wikipedia.org/wiki/Null_Object_pattern">Null Object pattern</a>.
+ * <p>
+ * Calls made while no target is attached are ignored.
+ *
+ * @author Dmytro Zaitsev
+ * @since 1.0.0
+ */
+final class NullObject<T> implements InvocationHandler {
+  private volatile WeakReference<T> targetRef;
+
+  NullObject(@Nullable T target) {
+    set(target);
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    final T target = get();
+    if (target == null) {
+      return null;
+    }
+    if (!method.isAccessible()) {
+      method.setAccessible(true);
+    }
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  void clear() {
+    targetRef = null;
+  }
+
+  @Nullable
+  T get() {
+    final WeakReference<T> ref = targetRef;
+    return ref == null ? null : ref.get();
+  }
+
+  void set(@Nullable T target) {
+    targetRef = target == null ? null : new WeakReference<>(target);
+  }
+}
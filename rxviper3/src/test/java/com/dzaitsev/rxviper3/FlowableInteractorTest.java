@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper3;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subscribers.DisposableSubscriber;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+import static com.dzaitsev.rxviper3.TestUtil.checkIllegalArgumentException;
+import static com.google.common.truth.Truth.assertThat;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-29, 16:05
+ */
+public final class FlowableInteractorTest {
+  private final List<Long> requests = new ArrayList<>();
+
+  private final FlowableInteractor<Integer, Integer> interactor = new FlowableInteractor<Integer, Integer>(Schedulers.trampoline(),
+      Schedulers.trampoline()) {
+    @Override
+    protected Flowable<Integer> createFlowable(Integer count) {
+      return Flowable.range(1, count)
+          .doOnRequest(requests::add);
+    }
+  };
+
+  @Test
+  public void shouldRequestOnDemand() {
+    final OneByOneSubscriber subscriber = new OneByOneSubscriber();
+    interactor.execute(100, subscriber);
+
+    assertThat(subscriber.values).isEmpty();
+    subscriber.requestMore(2);
+    assertThat(subscriber.values).containsExactly(1, 2)
+        .inOrder();
+    // bounded by the prefetch of observeOn
+    assertThat(requests).doesNotContain(Long.MAX_VALUE);
+  }
+
+  @Test
+  public void shouldDispose() {
+    final OneByOneSubscriber subscriber = new OneByOneSubscriber();
+    interactor.execute(100, subscriber);
+    assertThat(interactor.isDisposed()).isFalse();
+
+    interactor.dispose();
+    assertThat(subscriber.isDisposed()).isTrue();
+    assertThat(interactor.isDisposed()).isTrue();
+  }
+
+  @Test
+  public void subscriberShouldNotBeNull() {
+    checkIllegalArgumentException(() -> interactor.execute(null));
+  }
+
+  static final class OneByOneSubscriber extends DisposableSubscriber<Integer> {
+    final List<Integer> values = new ArrayList<>();
+
+    @Override
+    protected void onStart() {
+      // request nothing until asked to
+    }
+
+    @Override
+    public void onNext(Integer value) {
+      values.add(value);
+    }
+
+    @Override
+    public void onError(Throwable e) {
+      throw new AssertionError(e);
+    }
+
+    @Override
+    public void onComplete() {
+    }
+
+    void requestMore(long n) {
+      request(n);
+    }
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper3;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.functions.Action;
+import io.reactivex.rxjava3.functions.Consumer;
+import io.reactivex.rxjava3.observers.DisposableObserver;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.dzaitsev.rxviper3.TestUtil.checkIllegalArgumentException;
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-29, 15:20
+ */
+public final class InteractorTest {
+  private static final int                PARAM       = 1;
+  private static final Consumer<String>   ON_NEXT     = value -> {
+  };
+  private static final Consumer<Throwable> ON_ERROR   = error -> {
+  };
+  private static final Action             ON_COMPLETE = () -> {
+  };
+
+  private final PublishSubject<String> subject = PublishSubject.create();
+  private       Interactor<Integer, String> interactor;
+
+  @Before
+  public void setUp() {
+    interactor = spy(new Interactor<Integer, String>(Schedulers.trampoline(), Schedulers.trampoline()) {
+      @Override
+      protected Observable<String> createObservable(Integer integer) {
+        return subject;
+      }
+    });
+  }
+
+  @Test
+  public void shouldPassRequestModel() {
+    interactor.execute(PARAM, ON_NEXT);
+    verify(interactor).createObservable(PARAM);
+  }
+
+  @Test
+  public void shouldPassNullRequestModel() {
+    interactor.execute(ON_NEXT, ON_ERROR, ON_COMPLETE);
+    verify(interactor).createObservable(null);
+  }
+
+  @Test
+  public void shouldDeliverNotifications() {
+    final List<String> values = new ArrayList<>();
+    final boolean[] completed = new boolean[1];
+    interactor.execute(PARAM, values::add, ON_ERROR, () -> completed[0] = true);
+    subject.onNext("value");
+    subject.onComplete();
+
+    assertThat(values).containsExactly("value");
+    assertThat(completed[0]).isTrue();
+  }
+
+  @Test
+  public void shouldDeliverErrors() {
+    final List<Throwable> errors = new ArrayList<>();
+    interactor.execute(ON_NEXT, errors::add);
+    final IllegalStateException error = new IllegalStateException();
+    subject.onError(error);
+
+    assertThat(errors).containsExactly(error);
+  }
+
+  @Test
+  public void shouldSubscribeOnScheduler() {
+    final TestScheduler scheduler = new TestScheduler();
+    final Interactor<Integer, String> scheduled = new Interactor<Integer, String>(scheduler, Schedulers.trampoline()) {
+      @Override
+      protected Observable<String> createObservable(Integer integer) {
+        return subject;
+      }
+    };
+    scheduled.execute(PARAM, ON_NEXT);
+    assertThat(subject.hasObservers()).isFalse();
+
+    scheduler.triggerActions();
+    assertThat(subject.hasObservers()).isTrue();
+  }
+
+  @Test
+  public void shouldDispose() {
+    final DisposableObserver<String> observer = new EmptyObserver();
+    interactor.execute(PARAM, observer);
+    interactor.execute(ON_NEXT);
+    assertThat(interactor.isDisposed()).isFalse();
+    assertThat(subject.hasObservers()).isTrue();
+
+    interactor.dispose();
+    assertThat(interactor.isDisposed()).isTrue();
+    assertThat(observer.isDisposed()).isTrue();
+    assertThat(subject.hasObservers()).isFalse();
+  }
+
+  @Test
+  public void shouldExecuteAfterDispose() {
+    interactor.dispose();
+    interactor.execute(new EmptyObserver());
+    assertThat(interactor.isDisposed()).isFalse();
+  }
+
+  @Test
+  public void argumentsShouldNotBeNull() {
+    checkIllegalArgumentException(() -> interactor.execute((Consumer<String>) null));
+    checkIllegalArgumentException(() -> interactor.execute(ON_NEXT, null));
+    checkIllegalArgumentException(() -> interactor.execute(ON_NEXT, ON_ERROR, null));
+    checkIllegalArgumentException(() -> interactor.execute((DisposableObserver<String>) null));
+    checkIllegalArgumentException(() -> new Interactor<Integer, String>(null, Schedulers.trampoline()) {
+      @Override
+      protected Observable<String> createObservable(Integer integer) {
+        return subject;
+      }
+    });
+  }
+
+  static final class EmptyObserver extends DisposableObserver<String> {
+    @Override
+    public void onNext(String value) {
+    }
+
+    @Override
+    public void onError(Throwable e) {
+    }
+
+    @Override
+    public void onComplete() {
+    }
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 Dmytro Zaitsev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dzaitsev.rxviper3;
+
+import java.util.Collection;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.dzaitsev.rxviper3.TestUtil.checkIllegalArgumentException;
+import static java.util.Arrays.asList;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * ~ ~ ~ ~ Description ~ ~ ~ ~
+ *
+ * @author Dmytro Zaitsev
+ * @since 2018-Apr-29, 13:32
+ */
+public final class MapperTest {
+
+  private Mapper<Integer, String> mapper;
+
+  @Before
+  public void setUp() {
+    mapper = spy(new Mapper<Integer, String>() {
+      @Override
+      public String map(final Integer entity) {
+        return String.valueOf(entity);
+      }
+    });
+  }
+
+  @Test
+  public void shouldCallOverloadedMethod() {
+    mapper.map(asList(1, 2, 3));
+
+    verify(mapper).map(1);
+    verify(mapper).map(2);
+    verify(mapper).map(3);
+  }
+
+  @Test
+  public void shouldCallMap() {
+    mapper.apply(42);
+
+    verify(mapper).map(42);
+  }
+
+  @Test
+  public void callShouldNotRespectNulls() {
+    checkIllegalArgumentException(() -> mapper.apply(null));
+  }
+
+  @Test
+  public void shouldNotRespectNullCollections() {
+    checkIllegalArgumentException(() -> mapper.map((Collection<Integer>) null));
+  }
+}
\ No newline at end of file
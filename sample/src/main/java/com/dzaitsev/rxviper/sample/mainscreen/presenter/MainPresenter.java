@@ -66,14 +66,16 @@ public final class MainPresenter extends ViperPresenter<MainViewCallbacks, MainR
         // onNext
         cheeses -> {
           cachedData = cheeses;
-          getView().onNewCheeses(cheeses);
-          getView().hideProgress();
+          batchView(view -> {
+            view.onNewCheeses(cheeses);
+            view.hideProgress();
+          });
         },
         // onError
-        throwable -> {
-          getView().showError();
-          getView().hideProgress();
-        }
+        throwable -> batchView(view -> {
+          view.showError();
+          view.hideProgress();
+        })
     );
   }
 
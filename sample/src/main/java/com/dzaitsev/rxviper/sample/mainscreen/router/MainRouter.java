@@ -16,6 +16,7 @@
 
 package com.dzaitsev.rxviper.sample.mainscreen.router;
 
+import com.dzaitsev.rxviper.GenerateProxy;
 import com.dzaitsev.rxviper.Router;
 import com.dzaitsev.rxviper.sample.mainscreen.domain.CheeseViewModel;
 
@@ -25,6 +26,7 @@ import com.dzaitsev.rxviper.sample.mainscreen.domain.CheeseViewModel;
  * @author Dmytro Zaitsev
  * @since 2016-Jun-07, 14:39
  */
+@GenerateProxy
 public interface MainRouter extends Router {
   void navigateToDetails(CheeseViewModel model);
 }
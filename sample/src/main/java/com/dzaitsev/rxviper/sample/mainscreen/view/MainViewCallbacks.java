@@ -16,6 +16,7 @@
 
 package com.dzaitsev.rxviper.sample.mainscreen.view;
 
+import com.dzaitsev.rxviper.GenerateProxy;
 import com.dzaitsev.rxviper.ViewCallbacks;
 import java.util.Collection;
 import com.dzaitsev.rxviper.sample.mainscreen.domain.CheeseViewModel;
@@ -26,6 +27,7 @@ import com.dzaitsev.rxviper.sample.mainscreen.domain.CheeseViewModel;
  * @author Dmytro Zaitsev
  * @since 2016-Jun-07, 10:35
  */
+@GenerateProxy
 public interface MainViewCallbacks extends ViewCallbacks {
   void hideProgress();
 